@@ -0,0 +1,134 @@
+#!/bin/bash
+
+# Script to compare the servlet service (server/) with the reactive read module
+# (reactive-read/) on the read endpoints. For each stack it starts the server,
+# warms it up, then drives each endpoint with `hey` at increasing concurrency and
+# reports throughput and latency percentiles. Concurrency above Tomcat's 200 worker
+# threads is where the blocking stack starts to queue requests.
+#
+# Prerequisites:
+#   - A reachable PostgreSQL database with patients (DB_URL, DB_USERNAME, DB_PASSWORD;
+#     the reactive module derives its r2dbc URL from DB_R2DBC_URL)
+#   - PII_ENCRYPTION_KEY, the key the patients were written with (used by both services)
+#   - hey (https://github.com/rakyll/hey) on the path
+#   - ./mvnw -DskipTests package in both server/ and reactive-read/
+#
+# Usage: ./benchmark-read-stacks.sh [duration] [concurrency...]
+#   e.g. ./benchmark-read-stacks.sh 30s 50 200 800
+# Set POOL_SIZE (default 20) to change the connection pool size of both stacks.
+set -e  # Exit on any error
+
+SCRIPT_DIR="$( cd "$( dirname "${BASH_SOURCE[0]}" )" && pwd )"
+WORK_DIR="${SCRIPT_DIR}/reactive-read/target/read-benchmark"
+SERVLET_PORT="${SERVLET_PORT:-8083}"
+REACTIVE_PORT="${REACTIVE_PORT:-8084}"
+# Both stacks get the same maximum number of database connections
+POOL_SIZE="${POOL_SIZE:-20}"
+DURATION="${1:-20s}"
+shift || true
+CONCURRENCY=("$@")
+if [ ${#CONCURRENCY[@]} -eq 0 ]; then
+    CONCURRENCY=(50 200 800)
+fi
+PATIENT_ID="${PATIENT_ID:-1}"
+ENDPOINTS=("page?page=0&size=20" "page?page=0&size=100" "id")
+
+if ! command -v hey &> /dev/null; then
+    echo "❌ Error: hey not found (go install github.com/rakyll/hey@latest)"
+    exit 1
+fi
+
+find_jar() {
+    find "$1/target" -maxdepth 1 -name "*.jar" ! -name "*-sources.jar" ! -name "*-javadoc.jar" | head -n 1
+}
+
+SERVLET_JAR=$(find_jar "${SCRIPT_DIR}/server")
+REACTIVE_JAR=$(find_jar "${SCRIPT_DIR}/reactive-read")
+if [ -z "${SERVLET_JAR}" ] || [ -z "${REACTIVE_JAR}" ]; then
+    echo "❌ Error: JAR files not found, run ./mvnw -DskipTests package in server/ and reactive-read/"
+    exit 1
+fi
+
+mkdir -p "${WORK_DIR}"
+
+url_for() {
+    local port="$1"
+    local endpoint="$2"
+    case "${endpoint}" in
+        id)
+            echo "http://localhost:${port}/api/patient/${PATIENT_ID}"
+            ;;
+        page*)
+            echo "http://localhost:${port}/api/patient${endpoint#page}"
+            ;;
+    esac
+}
+
+start_stack() {
+    local stack="$1"
+    local jar="$2"
+    local port="$3"
+    shift 3
+    local log="${WORK_DIR}/${stack}.log"
+    java -jar "${jar}" --server.port="${port}" "$@" > "${log}" 2>&1 &
+    STACK_PID=$!
+    until curl -sf -o /dev/null "http://localhost:${port}/api/patient?page=0&size=1"; do
+        if ! kill -0 "${STACK_PID}" 2> /dev/null; then
+            echo "❌ Error: ${stack} server exited during startup, see ${log}" >&2
+            exit 1
+        fi
+        sleep 0.2
+    done
+}
+
+stop_stack() {
+    kill "${STACK_PID}"
+    wait "${STACK_PID}" 2> /dev/null || true
+}
+
+# Prints "<requests/sec> <p50 ms> <p99 ms> <non-200 responses>" for one run.
+measure() {
+    local url="$1"
+    local concurrency="$2"
+    local output
+    output=$(hey -z "${DURATION}" -c "${concurrency}" "${url}")
+    local rps p50 p99 errors
+    rps=$(echo "${output}" | awk '/Requests\/sec/ { printf "%d", $2 }')
+    p50=$(echo "${output}" | awk '/50% in/ { printf "%.1f", $3 * 1000 }')
+    p99=$(echo "${output}" | awk '/99% in/ { printf "%.1f", $3 * 1000 }')
+    errors=$(echo "${output}" | awk '/^  \[[0-9]+\]/ && $1 != "[200]" { sum += $2 } END { print sum + 0 }')
+    echo "${rps:-?} ${p50:-?} ${p99:-?} ${errors}"
+}
+
+echo "🚀 Comparing read stacks for ${DURATION} per run at concurrency ${CONCURRENCY[*]}"
+echo ""
+printf "%-10s %-22s %-6s %-10s %-10s %-10s %-8s\n" "stack" "endpoint" "conc" "req/s" "p50 (ms)" "p99 (ms)" "errors"
+
+for stack in servlet reactive; do
+    if [ "${stack}" = "servlet" ]; then
+        start_stack servlet "${SERVLET_JAR}" "${SERVLET_PORT}" \
+            --spring.datasource.hikari.maximum-pool-size="${POOL_SIZE}"
+        port="${SERVLET_PORT}"
+    else
+        start_stack reactive "${REACTIVE_JAR}" "${REACTIVE_PORT}" \
+            --spring.r2dbc.pool.max-size="${POOL_SIZE}"
+        port="${REACTIVE_PORT}"
+    fi
+
+    # Warm up JIT and connection pools before measuring
+    for endpoint in "${ENDPOINTS[@]}"; do
+        hey -z 5s -c 50 "$(url_for "${port}" "${endpoint}")" > /dev/null
+    done
+
+    for endpoint in "${ENDPOINTS[@]}"; do
+        for concurrency in "${CONCURRENCY[@]}"; do
+            read -r rps p50 p99 errors <<< "$(measure "$(url_for "${port}" "${endpoint}")" "${concurrency}")"
+            printf "%-10s %-22s %-6s %-10s %-10s %-10s %-8s\n" "${stack}" "${endpoint}" "${concurrency}" "${rps}" "${p50}" "${p99}" "${errors}"
+        done
+    done
+
+    stop_stack
+done
+
+echo ""
+echo "🎉 Read benchmark completed. Server logs are in ${WORK_DIR}"
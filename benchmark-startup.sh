@@ -0,0 +1,141 @@
+#!/bin/bash
+
+# Script to compare startup time of the JVM, Spring AOT, CDS (AppCDS) and native
+# image builds. For each mode it launches the server, measures the time until
+# Spring reports the application as started and until the readiness probe passes
+# (after the startup warm-up), then times the first API request and stops the server.
+# Set WARMUP_ENABLED=false to time a cold first request instead.
+#
+# Prerequisites:
+#   - A reachable PostgreSQL database (DB_URL, DB_USERNAME, DB_PASSWORD) and PII_ENCRYPTION_KEY
+#   - jvm, aot, cds: ./build-cds.sh (builds the AOT-processed jar and the CDS archive)
+#   - native:        ./mvnw -Pnative -DskipTests native:compile in server/
+#
+# Usage: ./benchmark-startup.sh [runs] [modes...]
+#   e.g. ./benchmark-startup.sh 5 jvm aot cds native
+set -e  # Exit on any error
+
+SCRIPT_DIR="$( cd "$( dirname "${BASH_SOURCE[0]}" )" && pwd )"
+SERVER_DIR="${SCRIPT_DIR}/server"
+CDS_DIR="${SERVER_DIR}/target/cds"
+WORK_DIR="${SERVER_DIR}/target/startup-benchmark"
+PORT="${PORT:-8083}"
+URL="http://localhost:${PORT}/api/patient?page=0&size=10"
+READINESS_URL="http://localhost:${PORT}/actuator/health/readiness"
+RUNS="${1:-3}"
+shift || true
+MODES=("$@")
+if [ ${#MODES[@]} -eq 0 ]; then
+    MODES=(jvm aot cds native)
+fi
+
+JAR_FILE=$(find "${SERVER_DIR}/target" -maxdepth 1 -name "*.jar" ! -name "*-sources.jar" ! -name "*-javadoc.jar" | head -n 1)
+NATIVE_BINARY="${SERVER_DIR}/target/patient-service"
+
+mkdir -p "${WORK_DIR}"
+
+now_ms() {
+    echo $(( $(date +%s%N) / 1000000 ))
+}
+
+start_command() {
+    case "$1" in
+        jvm)
+            echo "java -jar ${JAR_FILE}"
+            ;;
+        aot)
+            echo "java -Dspring.aot.enabled=true -jar ${JAR_FILE}"
+            ;;
+        cds)
+            echo "java -XX:SharedArchiveFile=${CDS_DIR}/application.jsa -Dspring.aot.enabled=true -jar ${CDS_DIR}/$(basename "${JAR_FILE}")"
+            ;;
+        native)
+            echo "${NATIVE_BINARY}"
+            ;;
+    esac
+}
+
+# Prints "<ms until started> <spring reported seconds> <ms until ready> <first request ms>" for one run.
+# Runs in a command substitution, so it returns 1 on failure and the caller exits.
+measure() {
+    local mode="$1"
+    local log="${WORK_DIR}/${mode}.log"
+    local start
+    start=$(now_ms)
+    $(start_command "${mode}") --server.port="${PORT}" > "${log}" 2>&1 &
+    local pid=$!
+
+    until grep -q "Started PatientServiceApplication" "${log}"; do
+        if ! kill -0 "${pid}" 2> /dev/null; then
+            echo "❌ Error: ${mode} server exited during startup, see ${log}" >&2
+            return 1
+        fi
+        sleep 0.02
+    done
+    local started=$(( $(now_ms) - start ))
+
+    until curl -sf -o /dev/null "${READINESS_URL}"; do
+        if ! kill -0 "${pid}" 2> /dev/null; then
+            echo "❌ Error: ${mode} server exited during warm-up, see ${log}" >&2
+            return 1
+        fi
+        sleep 0.02
+    done
+    local ready=$(( $(now_ms) - start ))
+
+    local first_request
+    first_request=$(curl -sf -o /dev/null -w "%{time_total}" "${URL}" | awk '{ printf "%d", $1 * 1000 }')
+
+    kill "${pid}"
+    wait "${pid}" 2> /dev/null || true
+
+    local reported
+    reported=$(grep -o "Started PatientServiceApplication in [0-9.]* seconds" "${log}" | grep -o "[0-9.]*" | head -n 1)
+    echo "${started} ${reported:-?} ${ready} ${first_request:-?}"
+}
+
+echo "🚀 Measuring startup over ${RUNS} run(s) per mode: ${MODES[*]}"
+echo ""
+printf "%-8s %-6s %-14s %-20s %-12s %-18s\n" "mode" "run" "started (ms)" "spring reported (s)" "ready (ms)" "first request (ms)"
+
+for mode in "${MODES[@]}"; do
+    case "${mode}" in
+        jvm|aot|cds)
+            if [ -z "${JAR_FILE}" ]; then
+                echo "❌ Error: JAR file not found, build it with ./build-cds.sh first"
+                exit 1
+            fi
+            if [ "${mode}" = "cds" ] && [ ! -f "${CDS_DIR}/application.jsa" ]; then
+                echo "⚠️  Skipping cds: archive not found (./build-cds.sh)"
+                continue
+            fi
+            ;;
+        native)
+            if [ ! -x "${NATIVE_BINARY}" ]; then
+                echo "⚠️  Skipping native: ${NATIVE_BINARY} not found (./mvnw -Pnative -DskipTests native:compile)"
+                continue
+            fi
+            ;;
+        *)
+            echo "❌ Error: unknown mode ${mode}"
+            exit 1
+            ;;
+    esac
+
+    total_started=0
+    total_ready=0
+    total_first_request=0
+    for run in $(seq 1 "${RUNS}"); do
+        result=$(measure "${mode}") || exit 1
+        read -r started reported ready first_request <<< "${result}"
+        printf "%-8s %-6s %-14s %-20s %-12s %-18s\n" "${mode}" "${run}" "${started}" "${reported}" "${ready}" "${first_request}"
+        total_started=$(( total_started + started ))
+        total_ready=$(( total_ready + ready ))
+        total_first_request=$(( total_first_request + ${first_request//\?/0} ))
+    done
+    printf "%-8s %-6s %-14s %-20s %-12s %-18s\n" "${mode}" "avg" "$(( total_started / RUNS ))" "" "$(( total_ready / RUNS ))" \
+        "$(( total_first_request / RUNS ))"
+done
+
+echo ""
+echo "🎉 Startup benchmark completed. Server logs are in ${WORK_DIR}"
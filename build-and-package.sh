@@ -45,6 +45,20 @@ cp -r "${CLIENT_DIR}/dist/"* "${DASHBOARD_DIR}/"
 
 echo "✅ Client files copied to server resources"
 
+# Step 3b: Precompress text assets so the server can send .br/.gz variants
+echo "🗜️  Precompressing dashboard assets..."
+if ! command -v brotli &> /dev/null; then
+    echo "brotli not found, creating gzip variants only..."
+fi
+find "${DASHBOARD_DIR}" -type f \( -name "*.js" -o -name "*.css" -o -name "*.html" -o -name "*.svg" -o -name "*.json" \) | while read -r file; do
+    gzip -9 -k -f "${file}"
+    if command -v brotli &> /dev/null; then
+        brotli -q 11 -k -f "${file}"
+    fi
+done
+
+echo "✅ Dashboard assets precompressed"
+
 # Step 4: Build the JAR file
 echo "🔨 Building JAR file..."
 cd "${SERVER_DIR}"
@@ -0,0 +1,68 @@
+#!/bin/bash
+
+# Script to build the server with Spring AOT and create an AppCDS archive for faster
+# JVM startup. The archive is recorded during a training run that starts the
+# application context and exits, so a reachable database is required
+# (DB_URL, DB_USERNAME, DB_PASSWORD) and PII_ENCRYPTION_KEY.
+#
+# Run ./build-and-package.sh first if the dashboard should be bundled; this script
+# only rebuilds the server.
+set -e  # Exit on any error
+
+echo "🚀 Starting CDS build process..."
+
+SCRIPT_DIR="$( cd "$( dirname "${BASH_SOURCE[0]}" )" && pwd )"
+SERVER_DIR="${SCRIPT_DIR}/server"
+CDS_DIR="${SERVER_DIR}/target/cds"
+
+# Step 1: Build the JAR with Spring AOT processing
+echo "🔨 Building JAR file with Spring AOT..."
+cd "${SERVER_DIR}"
+
+if [ -f "./mvnw" ]; then
+    echo "Using Maven wrapper..."
+    chmod +x ./mvnw
+    ./mvnw clean package -Paot -DskipTests
+else
+    echo "Maven wrapper not found, using system maven..."
+    mvn clean package -Paot -DskipTests
+fi
+
+JAR_FILE=$(find "${SERVER_DIR}/target" -maxdepth 1 -name "*.jar" ! -name "*-sources.jar" ! -name "*-javadoc.jar" | head -n 1)
+
+if [ -z "$JAR_FILE" ]; then
+    echo "❌ Error: JAR file not found after build"
+    exit 1
+fi
+
+echo "✅ JAR file created successfully: ${JAR_FILE}"
+
+# Step 2: Extract the JAR into the layout CDS needs (classpath of plain jars)
+echo "📋 Extracting JAR for CDS..."
+rm -rf "${CDS_DIR}"
+java -Djarmode=tools -jar "${JAR_FILE}" extract --destination "${CDS_DIR}"
+APP_JAR="${CDS_DIR}/$(basename "${JAR_FILE}")"
+
+# Step 3: Training run - start the context, then exit and dump the loaded classes
+echo "🏋️  Recording CDS archive (training run)..."
+cd "${CDS_DIR}"
+java -XX:ArchiveClassesAtExit=application.jsa \
+    -Dspring.aot.enabled=true \
+    -Dspring.context.exit=onRefresh \
+    -jar "${APP_JAR}"
+
+if [ ! -f "${CDS_DIR}/application.jsa" ]; then
+    echo "❌ Error: CDS archive was not created"
+    exit 1
+fi
+
+echo "✅ CDS archive created successfully: ${CDS_DIR}/application.jsa"
+
+echo ""
+echo "🎉 CDS build process completed successfully!"
+echo ""
+echo "To run the application with CDS and Spring AOT, use:"
+echo "  java -XX:SharedArchiveFile=${CDS_DIR}/application.jsa -Dspring.aot.enabled=true -jar ${APP_JAR}"
+echo ""
+echo "To compare startup and first-request latency against the plain JVM, use:"
+echo "  ./benchmark-startup.sh 5 jvm aot cds"
@@ -1,13 +1,15 @@
-import { useState, useEffect, useCallback } from 'react';
+import { useState, useEffect, useCallback, useMemo, useRef } from 'react';
 import {
   DataGrid,
   GridActionsCellItem,
   GridRowModes,
   GridToolbar,
   type GridColDef,
+  type GridFilterModel,
   type GridRowId,
   type GridRowModel,
   type GridRowModesModel,
+  type GridSortModel,
 } from '@mui/x-data-grid';
 import {
   Box,
@@ -28,7 +30,12 @@ import {
   Add as AddIcon,
 } from '@mui/icons-material';
 import type { Patient } from '../types/patient';
-import { patientService } from '../services/patientService';
+import {
+  patientService,
+  type PatientPageQuery,
+} from '../services/patientService';
+
+const SEARCH_DEBOUNCE_MS = 300;
 
 export default function PatientTable() {
   const [patients, setPatients] = useState<Patient[]>([]);
@@ -42,6 +49,13 @@ export default function PatientTable() {
     pageSize: 10,
   });
   const [totalRows, setTotalRows] = useState<number>(0);
+  const [sortModel, setSortModel] = useState<GridSortModel>([]);
+  const [filterModel, setFilterModel] = useState<GridFilterModel>({
+    items: [],
+  });
+  const [search, setSearch] = useState('');
+  const searchTimer = useRef<number | undefined>(undefined);
+  const latestRequest = useRef(0);
   const [snackbar, setSnackbar] = useState<{
     open: boolean;
     message: string;
@@ -68,26 +82,65 @@ export default function PatientTable() {
     []
   );
 
-  const loadPatients = useCallback(async (page: number, size: number) => {
+  const query = useMemo<PatientPageQuery>(() => {
+    const sortItem = sortModel[0];
+    return {
+      page: paginationModel.page,
+      size: paginationModel.pageSize,
+      sort: sortItem?.sort
+        ? { field: sortItem.field, direction: sortItem.sort }
+        : undefined,
+      q: search || undefined,
+    };
+  }, [paginationModel.page, paginationModel.pageSize, sortModel, search]);
+
+  const loadPatients = useCallback(async (pageQuery: PatientPageQuery) => {
+    // Only the latest request may update the table; earlier ones can finish later
+    const request = ++latestRequest.current;
     try {
       setLoading(true);
-      const response = await patientService.getAll(page, size);
+      const response = await patientService.getPage(pageQuery);
+      if (request !== latestRequest.current) return;
       setPatients(response.content);
       setTotalRows(response.totalElements);
+      if (!response.last) {
+        patientService.prefetchPage({ ...pageQuery, page: pageQuery.page + 1 });
+      }
     } catch {
+      if (request !== latestRequest.current) return;
       setSnackbar({
         open: true,
         message: 'Failed to load patients',
         severity: 'error',
       });
     } finally {
-      setLoading(false);
+      if (request === latestRequest.current) {
+        setLoading(false);
+      }
     }
   }, []);
 
   useEffect(() => {
-    loadPatients(paginationModel.page, paginationModel.pageSize);
-  }, [paginationModel.page, paginationModel.pageSize, loadPatients]);
+    loadPatients(query);
+  }, [query, loadPatients]);
+
+  useEffect(() => () => window.clearTimeout(searchTimer.current), []);
+
+  const handleSortModelChange = (model: GridSortModel) => {
+    setSortModel(model);
+    setPaginationModel((current) => ({ ...current, page: 0 }));
+  };
+
+  const handleFilterModelChange = (model: GridFilterModel) => {
+    setFilterModel(model);
+    const value = (model.quickFilterValues ?? []).join(' ').trim();
+    window.clearTimeout(searchTimer.current);
+    searchTimer.current = window.setTimeout(() => {
+      // Both updates render together, so the search is requested once, for page 0
+      setSearch(value);
+      setPaginationModel((current) => ({ ...current, page: 0 }));
+    }, SEARCH_DEBOUNCE_MS);
+  };
 
   const handleRowEditStart = (params: { id: GridRowId }) => {
     const originalRow = patients.find((row) => row.id === params.id);
@@ -185,7 +238,7 @@ export default function PatientTable() {
         }
 
         const updated = await patientService.patch(rowId, changedFields);
-        await loadPatients(paginationModel.page, paginationModel.pageSize);
+        await loadPatients(query);
         originalRows.delete(rowId);
         showSnackbar('Patient updated successfully', 'success');
         return updated;
@@ -202,7 +255,7 @@ export default function PatientTable() {
         };
 
         const created = await patientService.create(patientData);
-        await loadPatients(paginationModel.page, paginationModel.pageSize);
+        await loadPatients(query);
         showSnackbar('Patient created successfully', 'success');
         return created;
       }
@@ -231,8 +284,16 @@ export default function PatientTable() {
     if (!deleteDialog.patientId) return;
 
     try {
-      await patientService.delete(deleteDialog.patientId as number);
-      await loadPatients(paginationModel.page, paginationModel.pageSize);
+      const deletedId = deleteDialog.patientId;
+      await patientService.delete(deletedId as number);
+      setPatients((rows) => rows.filter((row) => row.id !== deletedId));
+      setTotalRows((count) => Math.max(0, count - 1));
+      if (patients.length === 1 && paginationModel.page > 0) {
+        // The page is now empty; the page change loads the previous one
+        setPaginationModel((current) => ({ ...current, page: current.page - 1 }));
+      } else {
+        await loadPatients(query);
+      }
       showSnackbar('Patient deleted successfully', 'success');
       setDeleteDialog({ open: false, patientId: null, patientName: '' });
     } catch {
@@ -281,6 +342,7 @@ export default function PatientTable() {
     },
     {
       field: 'address',
+      sortable: false,
       headerName: 'Address',
       width: 200,
       editable: true,
@@ -288,6 +350,7 @@ export default function PatientTable() {
     },
     {
       field: 'city',
+      sortable: false,
       headerName: 'City',
       width: 120,
       editable: true,
@@ -295,6 +358,7 @@ export default function PatientTable() {
     },
     {
       field: 'state',
+      sortable: false,
       headerName: 'State',
       width: 120,
       editable: true,
@@ -302,6 +366,7 @@ export default function PatientTable() {
     },
     {
       field: 'zipCode',
+      sortable: false,
       headerName: 'Zip Code',
       width: 120,
       editable: true,
@@ -309,6 +374,7 @@ export default function PatientTable() {
     },
     {
       field: 'phoneNumber',
+      sortable: false,
       headerName: 'Phone',
       width: 150,
       editable: true,
@@ -316,6 +382,7 @@ export default function PatientTable() {
     },
     {
       field: 'email',
+      sortable: false,
       headerName: 'Email',
       width: 200,
       editable: true,
@@ -397,10 +464,17 @@ export default function PatientTable() {
         loading={loading}
         getRowId={(row) => row.id || `temp-${Math.random()}`}
         paginationMode="server"
+        sortingMode="server"
+        filterMode="server"
         rowCount={totalRows}
         paginationModel={paginationModel}
         onPaginationModelChange={setPaginationModel}
-        pageSizeOptions={[5, 10, 25, 50]}
+        sortModel={sortModel}
+        onSortModelChange={handleSortModelChange}
+        filterModel={filterModel}
+        onFilterModelChange={handleFilterModelChange}
+        disableColumnFilter
+        pageSizeOptions={[5, 10, 25, 50, 100]}
         disableRowSelectionOnClick
         slots={{
           toolbar: GridToolbar,
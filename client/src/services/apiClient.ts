@@ -14,9 +14,10 @@ apiClient.interceptors.response.use(
   (response) => response,
   (error) => {
     if (axios.isAxiosError(error)) {
+      // The server answers errors with RFC 7807 problem details
       const errorMessage =
-        error.response?.data?.message ||
-        error.response?.data?.error ||
+        error.response?.data?.detail ||
+        error.response?.data?.title ||
         error.message ||
         'An error occurred';
       return Promise.reject(new Error(errorMessage));
@@ -0,0 +1,48 @@
+import type { PageResponse } from '../types/pageResponse';
+
+const TTL_MS = 30_000;
+const MAX_ENTRIES = 50;
+
+interface Entry<T> {
+  expiresAt: number;
+  promise: Promise<PageResponse<T>>;
+}
+
+/**
+ * Short-lived client-side cache of list pages. Requests for a page that is cached or
+ * already loading share the same promise, so prefetching the next page and then
+ * navigating to it costs one request. Cleared on every mutation.
+ */
+export class PageCache<T> {
+  private entries = new Map<string, Entry<T>>();
+
+  get(key: string, load: () => Promise<PageResponse<T>>): Promise<PageResponse<T>> {
+    const now = Date.now();
+    const cached = this.entries.get(key);
+    if (cached && cached.expiresAt > now) {
+      // Re-insert to keep the map in least-recently-used order
+      this.entries.delete(key);
+      this.entries.set(key, cached);
+      return cached.promise;
+    }
+
+    const entry: Entry<T> = { expiresAt: now + TTL_MS, promise: load() };
+    this.entries.set(key, entry);
+    entry.promise.catch(() => {
+      if (this.entries.get(key) === entry) {
+        this.entries.delete(key);
+      }
+    });
+    while (this.entries.size > MAX_ENTRIES) {
+      const oldest = this.entries.keys().next().value;
+      if (oldest === undefined) break;
+      this.entries.delete(oldest);
+    }
+    return entry.promise;
+  }
+
+  /** Drops every page, including pages still loading; their callers still get them. */
+  invalidate(): void {
+    this.entries.clear();
+  }
+}
@@ -1,13 +1,63 @@
 import type { Patient } from '../types/patient';
 import type { PageResponse } from '../types/pageResponse';
 import { apiClient } from './apiClient';
+import { PageCache } from './pageCache';
+
+export type SortDirection = 'asc' | 'desc';
+
+export interface PatientPageQuery {
+  page: number;
+  size: number;
+  /** Only index-backed orders are accepted: id, lastName, firstName, createdAt. */
+  sort?: { field: string; direction: SortDirection };
+  /** First or last name prefix, matched by the server ignoring case. */
+  q?: string;
+}
+
+const pageCache = new PageCache<Patient>();
+
+const pageKey = (query: PatientPageQuery): string =>
+  JSON.stringify([
+    query.page,
+    query.size,
+    query.sort?.field ?? null,
+    query.sort?.direction ?? null,
+    query.q ?? '',
+  ]);
+
+async function fetchPage(query: PatientPageQuery): Promise<PageResponse<Patient>> {
+  const response = await apiClient.get<PageResponse<Patient>>('/patient', {
+    params: {
+      page: query.page,
+      size: query.size,
+      sort: query.sort ? `${query.sort.field},${query.sort.direction}` : undefined,
+      q: query.q || undefined,
+    },
+  });
+  return response.data;
+}
+
+async function mutate<T>(request: Promise<T>): Promise<T> {
+  try {
+    return await request;
+  } finally {
+    // Even a failed request may have changed data, so never serve pages read before it
+    pageCache.invalidate();
+  }
+}
 
 export const patientService = {
-  async getAll(page: number = 0, size: number = 10): Promise<PageResponse<Patient>> {
-    const response = await apiClient.get<PageResponse<Patient>>('/patient', {
-      params: { page, size },
-    });
-    return response.data;
+  getPage(query: PatientPageQuery): Promise<PageResponse<Patient>> {
+    return pageCache.get(pageKey(query), () => fetchPage(query));
+  },
+
+  /** Loads a page into the cache in the background; errors are ignored. */
+  prefetchPage(query: PatientPageQuery): void {
+    patientService.getPage(query).catch(() => undefined);
+  },
+
+  getAll(page: number = 0, size: number = 10): Promise<PageResponse<Patient>> {
+    return patientService.getPage({ page, size });
   },
 
   async getById(id: number): Promise<Patient> {
@@ -16,21 +66,21 @@ export const patientService = {
   },
 
   async create(patient: Patient): Promise<Patient> {
-    const response = await apiClient.post<Patient>('/patient', patient);
+    const response = await mutate(apiClient.post<Patient>('/patient', patient));
     return response.data;
   },
 
   async update(id: number, patient: Patient): Promise<Patient> {
-    const response = await apiClient.put<Patient>(`/patient/${id}`, patient);
+    const response = await mutate(apiClient.put<Patient>(`/patient/${id}`, patient));
     return response.data;
   },
 
   async patch(id: number, patient: Partial<Patient>): Promise<Patient> {
-    const response = await apiClient.patch<Patient>(`/patient/${id}`, patient);
+    const response = await mutate(apiClient.patch<Patient>(`/patient/${id}`, patient));
     return response.data;
   },
 
   async delete(id: number): Promise<void> {
-    await apiClient.delete(`/patient/${id}`);
+    await mutate(apiClient.delete(`/patient/${id}`));
   },
 };
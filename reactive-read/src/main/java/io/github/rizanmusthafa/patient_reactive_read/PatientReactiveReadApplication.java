@@ -0,0 +1,15 @@
+package io.github.rizanmusthafa.patient_reactive_read;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+
+@SpringBootApplication
+@ConfigurationPropertiesScan
+public class PatientReactiveReadApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(PatientReactiveReadApplication.class, args);
+	}
+
+}
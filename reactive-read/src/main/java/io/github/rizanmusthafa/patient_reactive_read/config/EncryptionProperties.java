@@ -0,0 +1,21 @@
+package io.github.rizanmusthafa.patient_reactive_read.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keys for decrypting patient PII columns. Must contain every key configured for
+ * {@code server/} ({@code patient.encryption.keys} there).
+ */
+@Data
+@ConfigurationProperties(prefix = "patient.encryption")
+public class EncryptionProperties {
+
+    /**
+     * Base64-encoded 256-bit keys by id.
+     */
+    private Map<String, String> keys = new LinkedHashMap<>();
+}
@@ -0,0 +1,40 @@
+package io.github.rizanmusthafa.patient_reactive_read.controller;
+
+import io.github.rizanmusthafa.patient_reactive_read.dto.PageResponse;
+import io.github.rizanmusthafa.patient_reactive_read.dto.PatientDto;
+import io.github.rizanmusthafa.patient_reactive_read.service.PatientReadService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/patient")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class PatientReadController {
+
+        private final PatientReadService patientReadService;
+
+        @GetMapping
+        public Mono<PageResponse<PatientDto>> getAllPatients(
+                        @RequestParam(defaultValue = "0") int page,
+                        @RequestParam(defaultValue = "10") int size) {
+                return patientReadService.findAll(page, size);
+        }
+
+        /**
+         * All live patients as newline-delimited JSON, written as they are read. Demand from
+         * the connection drives the database reads.
+         */
+        @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+        public Flux<PatientDto> streamPatients() {
+                return patientReadService.streamAll();
+        }
+
+        @GetMapping("/{id}")
+        public Mono<PatientDto> getPatientById(@PathVariable Long id) {
+                return patientReadService.findById(id);
+        }
+}
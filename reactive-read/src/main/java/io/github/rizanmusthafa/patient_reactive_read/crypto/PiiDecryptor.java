@@ -0,0 +1,108 @@
+package io.github.rizanmusthafa.patient_reactive_read.crypto;
+
+import io.github.rizanmusthafa.patient_reactive_read.config.EncryptionProperties;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Decrypts the address, phone number and email columns that {@code server/} encrypts
+ * ({@code crypto.PiiCipher} there): {@code enc:<keyId>:<base64url(iv | ciphertext | tag)>},
+ * AES-256-GCM. Values without the {@code enc:} prefix are returned unchanged.
+ * <p>
+ * Keys are derived once and each thread reuses its own {@link Cipher}, which matters on
+ * the event loop where one thread decrypts every row of many responses.
+ */
+@Component
+public class PiiDecryptor {
+
+    private static final String PREFIX = "enc:";
+    private static final int KEY_BYTES = 32;
+    private static final int IV_BYTES = 12;
+    private static final int TAG_BITS = 128;
+    private static final String CIPHER = "AES/GCM/NoPadding";
+    private static final String MAC = "HmacSHA256";
+
+    private final Map<String, SecretKeySpec> keys;
+    private final ThreadLocal<Cipher> ciphers = ThreadLocal.withInitial(PiiDecryptor::newCipher);
+
+    public PiiDecryptor(EncryptionProperties properties) {
+        if (properties.getKeys().isEmpty()) {
+            throw new IllegalStateException("No PII encryption keys configured (patient.encryption.keys)");
+        }
+        Map<String, SecretKeySpec> derived = new HashMap<>();
+        properties.getKeys().forEach((keyId, encoded) -> derived.put(keyId, deriveEncryptionKey(keyId, encoded)));
+        this.keys = Map.copyOf(derived);
+    }
+
+    public String decrypt(String value) {
+        if (value == null || !value.startsWith(PREFIX)) {
+            return value;
+        }
+        int separator = value.indexOf(':', PREFIX.length());
+        if (separator < 0) {
+            throw new IllegalStateException("Malformed encrypted value");
+        }
+        String keyId = value.substring(PREFIX.length(), separator);
+        SecretKeySpec key = keys.get(keyId);
+        if (key == null) {
+            throw new IllegalStateException("No PII key configured for key id '" + keyId + "'");
+        }
+        byte[] payload = Base64.getUrlDecoder().decode(value.substring(separator + 1));
+        if (payload.length < IV_BYTES + TAG_BITS / 8) {
+            throw new IllegalStateException("Malformed encrypted value");
+        }
+        try {
+            Cipher cipher = ciphers.get();
+            cipher.init(Cipher.DECRYPT_MODE, key, new GCMParameterSpec(TAG_BITS, payload, 0, IV_BYTES));
+            return new String(cipher.doFinal(payload, IV_BYTES, payload.length - IV_BYTES), StandardCharsets.UTF_8);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not decrypt value with key '" + keyId + "'", e);
+        }
+    }
+
+    /**
+     * Same derivation as the server: the configured key is only used to derive the
+     * encryption key (and, there, the key for deterministic IVs).
+     */
+    private static SecretKeySpec deriveEncryptionKey(String keyId, String encoded) {
+        if (encoded == null || encoded.isBlank()) {
+            throw new IllegalStateException("PII key '" + keyId + "' is not set (PII_ENCRYPTION_KEY for 'v1')");
+        }
+        byte[] key;
+        try {
+            key = Base64.getDecoder().decode(encoded);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("PII key '" + keyId + "' is not valid Base64", e);
+        }
+        if (key.length != KEY_BYTES) {
+            throw new IllegalStateException("PII key '" + keyId + "' must be " + KEY_BYTES + " bytes");
+        }
+        try {
+            Mac mac = Mac.getInstance(MAC);
+            mac.init(new SecretKeySpec(key, MAC));
+            return new SecretKeySpec(mac.doFinal("patient-pii-encryption".getBytes(StandardCharsets.UTF_8)), "AES");
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not derive PII keys", e);
+        } finally {
+            Arrays.fill(key, (byte) 0);
+        }
+    }
+
+    private static Cipher newCipher() {
+        try {
+            return Cipher.getInstance(CIPHER);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(CIPHER + " is not available", e);
+        }
+    }
+}
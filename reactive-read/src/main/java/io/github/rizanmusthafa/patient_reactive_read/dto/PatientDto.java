@@ -0,0 +1,28 @@
+package io.github.rizanmusthafa.patient_reactive_read.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Same JSON shape as {@code PatientDto} in the servlet service, so clients can switch
+ * between the two.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatientDto {
+    private Long id;
+    private String firstName;
+    private String lastName;
+    private String address;
+    private String city;
+    private String state;
+    private String zipCode;
+    private String phoneNumber;
+    private String email;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,37 @@
+package io.github.rizanmusthafa.patient_reactive_read.exception;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.reactive.result.method.annotation.ResponseEntityExceptionHandler;
+
+/**
+ * Maps exceptions to RFC 7807 {@code application/problem+json} responses with the same
+ * {@code type}, {@code title}, {@code status}, {@code detail} and {@code instance} as
+ * {@code server/}.
+ * <p>
+ * WebFlux's own exceptions (unconvertible parameters, unsupported media type, unknown
+ * resource, ...) are handled by {@link ResponseEntityExceptionHandler} and keep their 4xx
+ * status. Anything else is logged and answered with a 500 that does not reveal the cause.
+ */
+@Slf4j
+@RestControllerAdvice
+public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
+
+    @ExceptionHandler(PatientNotFoundException.class)
+    public ProblemDetail handlePatientNotFoundException(PatientNotFoundException ex) {
+        return ProblemType.PATIENT_NOT_FOUND.create(ex.getMessage());
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ProblemDetail handleIllegalArgumentException(IllegalArgumentException ex) {
+        return ProblemType.INVALID_PARAMETER.create(ex.getMessage());
+    }
+
+    @ExceptionHandler(Exception.class)
+    public ProblemDetail handleGenericException(Exception ex) {
+        log.error("Unhandled exception", ex);
+        return ProblemType.INTERNAL_ERROR.create("An unexpected error occurred");
+    }
+}
@@ -0,0 +1,11 @@
+package io.github.rizanmusthafa.patient_reactive_read.exception;
+
+/**
+ * Thrown for an unknown or deleted patient id. Like the server's domain exceptions it
+ * captures no stack trace: it is an expected outcome, answered with a 404 and never logged.
+ */
+public class PatientNotFoundException extends RuntimeException {
+    public PatientNotFoundException(String message) {
+        super(message, null, false, false);
+    }
+}
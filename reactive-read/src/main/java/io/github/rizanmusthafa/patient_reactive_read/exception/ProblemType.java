@@ -0,0 +1,35 @@
+package io.github.rizanmusthafa.patient_reactive_read.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+
+import java.net.URI;
+
+/**
+ * RFC 7807 problem types returned by {@link GlobalExceptionHandler}. Types and titles match
+ * the ones {@code server/} returns for the same errors.
+ */
+enum ProblemType {
+    PATIENT_NOT_FOUND(HttpStatus.NOT_FOUND, "patient-not-found", "Patient Not Found"),
+    INVALID_PARAMETER(HttpStatus.BAD_REQUEST, "invalid-parameter", "Invalid Parameter"),
+    INTERNAL_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "internal-error", "Internal Server Error");
+
+    private static final String TYPE_PREFIX = "urn:patient-service:problem:";
+
+    private final HttpStatus status;
+    private final URI type;
+    private final String title;
+
+    ProblemType(HttpStatus status, String name, String title) {
+        this.status = status;
+        this.type = URI.create(TYPE_PREFIX + name);
+        this.title = title;
+    }
+
+    ProblemDetail create(String detail) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(status, detail);
+        problem.setType(type);
+        problem.setTitle(title);
+        return problem;
+    }
+}
@@ -0,0 +1,35 @@
+package io.github.rizanmusthafa.patient_reactive_read.mapper;
+
+import io.github.rizanmusthafa.patient_reactive_read.crypto.PiiDecryptor;
+import io.github.rizanmusthafa.patient_reactive_read.dto.PatientDto;
+import io.github.rizanmusthafa.patient_reactive_read.model.Patient;
+import org.springframework.stereotype.Component;
+
+@Component
+public class PatientMapper {
+
+    private final PiiDecryptor piiDecryptor;
+
+    public PatientMapper(PiiDecryptor piiDecryptor) {
+        this.piiDecryptor = piiDecryptor;
+    }
+
+    public PatientDto toDto(Patient patient) {
+        if (patient == null) {
+            return null;
+        }
+        return new PatientDto(
+                patient.getId(),
+                patient.getFirstName(),
+                patient.getLastName(),
+                piiDecryptor.decrypt(patient.getAddress()),
+                patient.getCity(),
+                patient.getState(),
+                patient.getZipCode(),
+                piiDecryptor.decrypt(patient.getPhoneNumber()),
+                piiDecryptor.decrypt(patient.getEmail()),
+                patient.getCreatedAt(),
+                patient.getUpdatedAt()
+        );
+    }
+}
@@ -0,0 +1,55 @@
+package io.github.rizanmusthafa.patient_reactive_read.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only mapping of the {@code patients} table. The schema is owned and migrated by
+ * the servlet service in {@code server/}.
+ */
+@Data
+@NoArgsConstructor
+@Table("patients")
+public class Patient {
+
+  @Id
+  private Long id;
+
+  @Column("first_name")
+  private String firstName;
+
+  @Column("last_name")
+  private String lastName;
+
+  @Column("address")
+  private String address;
+
+  @Column("city")
+  private String city;
+
+  @Column("state")
+  private String state;
+
+  @Column("zip_code")
+  private String zipCode;
+
+  @Column("phone_number")
+  private String phoneNumber;
+
+  @Column("email")
+  private String email;
+
+  @Column("created_at")
+  private LocalDateTime createdAt;
+
+  @Column("updated_at")
+  private LocalDateTime updatedAt;
+
+  @Column("deleted_at")
+  private LocalDateTime deletedAt;
+}
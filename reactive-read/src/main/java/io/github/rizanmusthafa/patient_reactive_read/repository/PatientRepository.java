@@ -0,0 +1,31 @@
+package io.github.rizanmusthafa.patient_reactive_read.repository;
+
+import io.github.rizanmusthafa.patient_reactive_read.model.Patient;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Every query filters {@code deleted_at IS NULL} explicitly: soft-deleted patients are
+ * hidden by a Hibernate restriction in the servlet service, which does not apply here.
+ */
+@Repository
+public interface PatientRepository extends ReactiveCrudRepository<Patient, Long> {
+
+    Mono<Patient> findByIdAndDeletedAtIsNull(Long id);
+
+    @Query("SELECT * FROM patients WHERE deleted_at IS NULL ORDER BY id LIMIT :limit OFFSET :offset")
+    Flux<Patient> findPage(long offset, int limit);
+
+    @Query("SELECT COUNT(*) FROM patients WHERE deleted_at IS NULL")
+    Mono<Long> countLive();
+
+    /**
+     * Keyset batch for streaming: each batch is an index range scan on the primary key,
+     * however far into the table it starts.
+     */
+    @Query("SELECT * FROM patients WHERE deleted_at IS NULL AND id > :afterId ORDER BY id LIMIT :limit")
+    Flux<Patient> findBatchAfter(long afterId, int limit);
+}
@@ -0,0 +1,14 @@
+package io.github.rizanmusthafa.patient_reactive_read.service;
+
+import io.github.rizanmusthafa.patient_reactive_read.dto.PageResponse;
+import io.github.rizanmusthafa.patient_reactive_read.dto.PatientDto;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface PatientReadService {
+    Mono<PageResponse<PatientDto>> findAll(int page, int size);
+
+    Mono<PatientDto> findById(Long id);
+
+    Flux<PatientDto> streamAll();
+}
@@ -0,0 +1,86 @@
+package io.github.rizanmusthafa.patient_reactive_read.service.impl;
+
+import io.github.rizanmusthafa.patient_reactive_read.dto.PageResponse;
+import io.github.rizanmusthafa.patient_reactive_read.dto.PatientDto;
+import io.github.rizanmusthafa.patient_reactive_read.exception.PatientNotFoundException;
+import io.github.rizanmusthafa.patient_reactive_read.mapper.PatientMapper;
+import io.github.rizanmusthafa.patient_reactive_read.model.Patient;
+import io.github.rizanmusthafa.patient_reactive_read.repository.PatientRepository;
+import io.github.rizanmusthafa.patient_reactive_read.service.PatientReadService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@Service
+public class PatientReadServiceImpl implements PatientReadService {
+
+    private final PatientRepository patientRepository;
+    private final PatientMapper patientMapper;
+    private final int streamBatchSize;
+
+    public PatientReadServiceImpl(PatientRepository patientRepository, PatientMapper patientMapper,
+                                  @Value("${patient.read.stream-batch-size:500}") int streamBatchSize) {
+        this.patientRepository = patientRepository;
+        this.patientMapper = patientMapper;
+        this.streamBatchSize = streamBatchSize;
+    }
+
+    @Override
+    public Mono<PageResponse<PatientDto>> findAll(int page, int size) {
+        if (page < 0) {
+            return Mono.error(new IllegalArgumentException("Page index must not be less than zero"));
+        }
+        if (size < 1) {
+            return Mono.error(new IllegalArgumentException("Page size must not be less than one"));
+        }
+        // Page and count run concurrently on separate connections
+        Mono<List<PatientDto>> content = patientRepository.findPage((long) page * size, size)
+                .map(patientMapper::toDto)
+                .collectList();
+        return Mono.zip(content, patientRepository.countLive())
+                .map(result -> toPage(result.getT1(), page, size, result.getT2()));
+    }
+
+    @Override
+    public Mono<PatientDto> findById(Long id) {
+        return patientRepository.findByIdAndDeletedAtIsNull(id)
+                .map(patientMapper::toDto)
+                .switchIfEmpty(Mono.error(() -> new PatientNotFoundException("Patient not found with id: " + id)));
+    }
+
+    /**
+     * Streams every live patient in id order. Rows are read in keyset batches, each on a
+     * connection that is released as soon as the batch is read. At most one batch is read
+     * ahead of what the client has consumed, so a slow client holds no connection and
+     * bounded memory.
+     */
+    @Override
+    public Flux<PatientDto> streamAll() {
+        return fetchBatchAfter(0L)
+                .expand(batch -> batch.size() < streamBatchSize
+                        ? Mono.empty()
+                        : fetchBatchAfter(batch.get(batch.size() - 1).getId()))
+                .concatMapIterable(batch -> batch, 1)
+                .map(patientMapper::toDto);
+    }
+
+    private Mono<List<Patient>> fetchBatchAfter(long afterId) {
+        return patientRepository.findBatchAfter(afterId, streamBatchSize).collectList();
+    }
+
+    private static PageResponse<PatientDto> toPage(List<PatientDto> content, int page, int size, long total) {
+        int totalPages = (int) Math.ceil((double) total / size);
+        return new PageResponse<>(
+                content,
+                page,
+                size,
+                total,
+                totalPages,
+                page == 0,
+                page + 1 >= totalPages
+        );
+    }
+}
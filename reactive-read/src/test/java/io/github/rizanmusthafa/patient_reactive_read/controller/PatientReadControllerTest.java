@@ -0,0 +1,97 @@
+package io.github.rizanmusthafa.patient_reactive_read.controller;
+
+import io.github.rizanmusthafa.patient_reactive_read.dto.PageResponse;
+import io.github.rizanmusthafa.patient_reactive_read.dto.PatientDto;
+import io.github.rizanmusthafa.patient_reactive_read.exception.PatientNotFoundException;
+import io.github.rizanmusthafa.patient_reactive_read.service.PatientReadService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+
+@WebFluxTest(PatientReadController.class)
+class PatientReadControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @MockBean
+    private PatientReadService patientReadService;
+
+    private PatientDto patientDto;
+
+    @BeforeEach
+    void setUp() {
+        patientDto = new PatientDto(1L, "John", "Doe", "123 Main St", "New York", "NY", "10001",
+                "+1234567890", "john.doe@example.com", LocalDateTime.now(), LocalDateTime.now());
+    }
+
+    @Test
+    void getAllPatients_ReturnsPage() {
+        when(patientReadService.findAll(0, 10))
+                .thenReturn(Mono.just(new PageResponse<>(List.of(patientDto), 0, 10, 1, 1, true, true)));
+
+        webTestClient.get().uri("/api/patient")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content[0].id").isEqualTo(1)
+                .jsonPath("$.totalElements").isEqualTo(1)
+                .jsonPath("$.last").isEqualTo(true);
+    }
+
+    @Test
+    void getPatientById_WhenNotFound_Returns404() {
+        when(patientReadService.findById(99L))
+                .thenReturn(Mono.error(new PatientNotFoundException("Patient not found with id: 99")));
+
+        webTestClient.get().uri("/api/patient/99")
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON)
+                .expectBody()
+                .jsonPath("$.type").isEqualTo("urn:patient-service:problem:patient-not-found")
+                .jsonPath("$.title").isEqualTo("Patient Not Found")
+                .jsonPath("$.status").isEqualTo(404)
+                .jsonPath("$.detail").isEqualTo("Patient not found with id: 99")
+                .jsonPath("$.instance").isEqualTo("/api/patient/99");
+    }
+
+    @Test
+    void getAllPatients_WithNegativePage_Returns400() {
+        when(patientReadService.findAll(-1, 10))
+                .thenReturn(Mono.error(new IllegalArgumentException("Page index must not be less than zero")));
+
+        webTestClient.get().uri("/api/patient?page=-1")
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.type").isEqualTo("urn:patient-service:problem:invalid-parameter")
+                .jsonPath("$.detail").isEqualTo("Page index must not be less than zero");
+    }
+
+    @Test
+    void streamPatients_WritesNdjson() {
+        PatientDto second = new PatientDto(2L, "Jane", "Roe", null, null, null, null,
+                null, "jane@example.com", null, null);
+        when(patientReadService.streamAll()).thenReturn(Flux.just(patientDto, second));
+
+        webTestClient.get().uri("/api/patient/stream")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(PatientDto.class)
+                .hasSize(2);
+    }
+}
@@ -0,0 +1,59 @@
+package io.github.rizanmusthafa.patient_reactive_read.crypto;
+
+import io.github.rizanmusthafa.patient_reactive_read.config.EncryptionProperties;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PiiDecryptorTest {
+
+    // Written by server/'s PiiCipher; PiiCipherTest there asserts the same vector
+    private static final String VECTOR_KEY = "HyAhIiMkJSYnKCkqKywtLi8wMTIzNDU2Nzg5Ojs8PT4=";
+    private static final String VECTOR_PLAINTEXT = "john.doe@example.com";
+    private static final String VECTOR_CIPHERTEXT = "enc:v1:8IRWdQe2iD_fNDdC0zlltx2i9CUV94BL09HQbqWR-GZATspFHoD8NnWi-JzBLyBN";
+
+    private final PiiDecryptor decryptor = decryptor("v1", VECTOR_KEY);
+
+    @Test
+    void decrypt_ShouldDecryptTheSharedTestVector() {
+        assertEquals(VECTOR_PLAINTEXT, decryptor.decrypt(VECTOR_CIPHERTEXT));
+    }
+
+    @Test
+    void decrypt_WithPlaintext_ShouldReturnItUnchanged() {
+        assertEquals("john.doe@example.com", decryptor.decrypt("john.doe@example.com"));
+        assertNull(decryptor.decrypt(null));
+    }
+
+    @Test
+    void decrypt_WithTamperedCiphertext_ShouldFail() {
+        int position = "enc:v1:".length();
+        char flipped = VECTOR_CIPHERTEXT.charAt(position) == 'A' ? 'B' : 'A';
+        String tampered = VECTOR_CIPHERTEXT.substring(0, position) + flipped
+                + VECTOR_CIPHERTEXT.substring(position + 1);
+
+        assertThrows(IllegalStateException.class, () -> decryptor.decrypt(tampered));
+    }
+
+    @Test
+    void decrypt_WithUnknownKeyId_ShouldFail() {
+        String underOtherKeyId = VECTOR_CIPHERTEXT.replace("enc:v1:", "enc:v2:");
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class, () -> decryptor.decrypt(underOtherKeyId));
+        assertTrue(ex.getMessage().contains("'v2'"));
+    }
+
+    @Test
+    void constructor_WithInvalidConfiguration_ShouldFailFast() {
+        assertThrows(IllegalStateException.class, () -> new PiiDecryptor(new EncryptionProperties()));
+        assertThrows(IllegalStateException.class, () -> decryptor("v1", ""));
+        assertThrows(IllegalStateException.class, () -> decryptor("v1", "c2hvcnQ="));
+        assertThrows(IllegalStateException.class, () -> decryptor("v1", "not base64!"));
+    }
+
+    private static PiiDecryptor decryptor(String keyId, String key) {
+        EncryptionProperties properties = new EncryptionProperties();
+        properties.getKeys().put(keyId, key);
+        return new PiiDecryptor(properties);
+    }
+}
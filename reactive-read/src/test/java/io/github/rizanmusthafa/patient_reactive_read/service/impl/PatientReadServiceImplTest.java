@@ -0,0 +1,103 @@
+package io.github.rizanmusthafa.patient_reactive_read.service.impl;
+
+import io.github.rizanmusthafa.patient_reactive_read.config.EncryptionProperties;
+import io.github.rizanmusthafa.patient_reactive_read.crypto.PiiDecryptor;
+import io.github.rizanmusthafa.patient_reactive_read.dto.PatientDto;
+import io.github.rizanmusthafa.patient_reactive_read.exception.PatientNotFoundException;
+import io.github.rizanmusthafa.patient_reactive_read.mapper.PatientMapper;
+import io.github.rizanmusthafa.patient_reactive_read.model.Patient;
+import io.github.rizanmusthafa.patient_reactive_read.repository.PatientRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PatientReadServiceImplTest {
+
+    private static final int BATCH_SIZE = 2;
+
+    @Mock
+    private PatientRepository patientRepository;
+
+    private PatientReadServiceImpl patientReadService;
+
+    @BeforeEach
+    void setUp() {
+        EncryptionProperties encryption = new EncryptionProperties();
+        encryption.getKeys().put("v1", "AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA=");
+        patientReadService = new PatientReadServiceImpl(patientRepository,
+                new PatientMapper(new PiiDecryptor(encryption)), BATCH_SIZE);
+    }
+
+    @Test
+    void findAll_CombinesPageAndCount() {
+        when(patientRepository.findPage(20L, 10)).thenReturn(Flux.just(patient(21L), patient(22L)));
+        when(patientRepository.countLive()).thenReturn(Mono.just(22L));
+
+        StepVerifier.create(patientReadService.findAll(2, 10))
+                .assertNext(page -> {
+                    assertEquals(2, page.getContent().size());
+                    assertEquals(3, page.getTotalPages());
+                    assertTrue(page.isLast());
+                    assertFalse(page.isFirst());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void findAll_WithNegativePage_ErrorsWithoutQuerying() {
+        StepVerifier.create(patientReadService.findAll(-1, 10))
+                .expectError(IllegalArgumentException.class)
+                .verify();
+        verifyNoInteractions(patientRepository);
+    }
+
+    @Test
+    void findById_WhenMissing_ErrorsWithNotFound() {
+        when(patientRepository.findByIdAndDeletedAtIsNull(99L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(patientReadService.findById(99L))
+                .expectError(PatientNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void streamAll_ReadsKeysetBatchesUntilAShortBatch() {
+        when(patientRepository.findBatchAfter(0L, BATCH_SIZE)).thenReturn(Flux.just(patient(1L), patient(2L)));
+        when(patientRepository.findBatchAfter(2L, BATCH_SIZE)).thenReturn(Flux.just(patient(5L), patient(7L)));
+        when(patientRepository.findBatchAfter(7L, BATCH_SIZE)).thenReturn(Flux.just(patient(9L)));
+
+        StepVerifier.create(patientReadService.streamAll().map(PatientDto::getId))
+                .expectNext(1L, 2L, 5L, 7L, 9L)
+                .verifyComplete();
+        verify(patientRepository, times(3)).findBatchAfter(anyLong(), eq(BATCH_SIZE));
+    }
+
+    @Test
+    void streamAll_ReadsAtMostOneBatchAheadOfDemand() {
+        when(patientRepository.findBatchAfter(0L, BATCH_SIZE)).thenReturn(Flux.just(patient(1L), patient(2L)));
+        lenient().when(patientRepository.findBatchAfter(2L, BATCH_SIZE)).thenReturn(Flux.just(patient(5L), patient(7L)));
+
+        StepVerifier.create(patientReadService.streamAll(), 1)
+                .expectNextCount(1)
+                .thenCancel()
+                .verify();
+        verify(patientRepository, never()).findBatchAfter(eq(7L), anyInt());
+    }
+
+    private static Patient patient(long id) {
+        Patient patient = new Patient();
+        patient.setId(id);
+        patient.setFirstName("First" + id);
+        patient.setLastName("Last" + id);
+        return patient;
+    }
+}
@@ -0,0 +1,35 @@
+package io.github.rizanmusthafa.patient_service.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for moving soft-deleted patients out of the hot table.
+ */
+@Data
+@ConfigurationProperties(prefix = "patient.archive")
+public class ArchiveProperties {
+
+    /**
+     * Whether the archive job runs.
+     */
+    private boolean enabled = true;
+
+    /**
+     * How long a deleted patient stays in the patients table, and can be restored,
+     * before it is moved to patients_archive.
+     */
+    private Duration retention = Duration.ofDays(30);
+
+    /**
+     * Number of patients moved per transaction.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Upper bound on batches per run, so one run cannot monopolize the database.
+     */
+    private int maxBatchesPerRun = 200;
+}
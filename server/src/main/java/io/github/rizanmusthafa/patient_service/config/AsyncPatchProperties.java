@@ -0,0 +1,33 @@
+package io.github.rizanmusthafa.patient_service.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Settings for the write-behind queue used by asynchronous PATCH requests.
+ */
+@Data
+@ConfigurationProperties(prefix = "patient.async-patch")
+public class AsyncPatchProperties {
+
+    /**
+     * Whether clients may opt in to asynchronous patching. When disabled, the
+     * {@code Prefer: respond-async} header is ignored and patches are applied inline.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Maximum number of distinct patients with a pending patch.
+     */
+    private int capacity = 10_000;
+
+    /**
+     * Maximum number of patients written per flush transaction.
+     */
+    private int batchSize = 200;
+
+    /**
+     * Delay between the end of one flush and the start of the next, in milliseconds.
+     */
+    private long flushIntervalMs = 500;
+}
@@ -0,0 +1,27 @@
+package io.github.rizanmusthafa.patient_service.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keys for encrypting patient PII columns (see {@code crypto.PiiCipher}).
+ */
+@Data
+@ConfigurationProperties(prefix = "patient.encryption")
+public class EncryptionProperties {
+
+    /**
+     * Id of the key new values are encrypted with. Must be one of {@link #keys}.
+     */
+    private String activeKeyId = "v1";
+
+    /**
+     * Base64-encoded 256-bit keys by id. Keep retired keys here until every value
+     * encrypted with them has been rewritten; they are still used to decrypt and to look
+     * patients up by email or phone number.
+     */
+    private Map<String, String> keys = new LinkedHashMap<>();
+}
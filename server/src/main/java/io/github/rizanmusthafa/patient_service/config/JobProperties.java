@@ -0,0 +1,59 @@
+package io.github.rizanmusthafa.patient_service.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Settings for import and export jobs.
+ */
+@Data
+@ConfigurationProperties(prefix = "patient.jobs")
+public class JobProperties {
+
+    /**
+     * Maximum number of chunks processed at the same time, across all jobs. Each running
+     * chunk holds one database connection, so keep it below the pool size.
+     */
+    private int parallelism = 4;
+
+    /**
+     * Width of the id range exported per chunk.
+     */
+    private int exportChunkSize = 10_000;
+
+    /**
+     * Number of patients imported per chunk (and per transaction).
+     */
+    private int importChunkSize = 500;
+
+    /**
+     * Maximum number of patients in one import request.
+     */
+    private int maxImportPatients = 100_000;
+
+    /**
+     * Directory for export part files. Local to the instance that ran the job. The files
+     * hold decrypted PII, so it should not be a directory other users can list, such as
+     * {@code /tmp}; job directories and files are created owner-only.
+     */
+    private Path exportDir = Path.of(System.getProperty("user.home"), ".patient-service", "exports");
+
+    /**
+     * Export part files older than this are deleted, together with their job directory.
+     */
+    private Duration exportRetention = Duration.ofHours(24);
+
+    /**
+     * How often running jobs record a heartbeat. Keep it well below {@link #resumeStaleAfter}.
+     */
+    private Duration heartbeatInterval = Duration.ofMinutes(1);
+
+    /**
+     * A RUNNING job without a heartbeat for this long is considered abandoned (for example
+     * after a crash) and can be resumed.
+     */
+    private Duration resumeStaleAfter = Duration.ofMinutes(5);
+}
@@ -0,0 +1,42 @@
+package io.github.rizanmusthafa.patient_service.config;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Defers creation of the springdoc/Swagger UI beans until the API docs are first
+ * requested. Their controllers are still mapped at startup, so the endpoints keep
+ * working; only the first call to {@code /v3/api-docs} or the Swagger UI pays the
+ * initialization cost instead of every replica at boot.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "patient.startup.lazy-api-docs", havingValue = "true", matchIfMissing = true)
+public class LazyApiDocsConfig {
+
+    private static final String SPRINGDOC_PACKAGE = "org.springdoc.";
+
+    @Bean
+    static BeanFactoryPostProcessor lazyApiDocsBeanFactoryPostProcessor() {
+        return beanFactory -> {
+            for (String beanName : beanFactory.getBeanDefinitionNames()) {
+                BeanDefinition definition = beanFactory.getBeanDefinition(beanName);
+                if (!(definition instanceof AbstractBeanDefinition beanDefinition)
+                        || beanDefinition.getLazyInit() != null
+                        || beanDefinition.getRole() == BeanDefinition.ROLE_INFRASTRUCTURE) {
+                    continue;
+                }
+                Class<?> type = beanFactory.getType(beanName, false);
+                if (type != null
+                        && type.getName().startsWith(SPRINGDOC_PACKAGE)
+                        && !SmartInitializingSingleton.class.isAssignableFrom(type)) {
+                    beanDefinition.setLazyInit(true);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,90 @@
+package io.github.rizanmusthafa.patient_service.config;
+
+import io.github.rizanmusthafa.patient_service.crypto.DeterministicEncryptedStringConverter;
+import io.github.rizanmusthafa.patient_service.crypto.EncryptedStringConverter;
+import io.github.rizanmusthafa.patient_service.dto.BulkCreateRequest;
+import io.github.rizanmusthafa.patient_service.dto.BulkDeleteRequest;
+import io.github.rizanmusthafa.patient_service.dto.BulkOperationResponse;
+import io.github.rizanmusthafa.patient_service.dto.BulkPatchChanges;
+import io.github.rizanmusthafa.patient_service.dto.BulkPatchRequest;
+import io.github.rizanmusthafa.patient_service.dto.DailyCount;
+import io.github.rizanmusthafa.patient_service.dto.ItemValidationError;
+import io.github.rizanmusthafa.patient_service.dto.LocationCount;
+import io.github.rizanmusthafa.patient_service.dto.PageResponse;
+import io.github.rizanmusthafa.patient_service.dto.PatchQueueStatus;
+import io.github.rizanmusthafa.patient_service.dto.PatientDto;
+import io.github.rizanmusthafa.patient_service.dto.PatientFilter;
+import io.github.rizanmusthafa.patient_service.dto.PatientImportRequest;
+import io.github.rizanmusthafa.patient_service.dto.PatientJobResponse;
+import io.github.rizanmusthafa.patient_service.dto.PatientLookupRequest;
+import io.github.rizanmusthafa.patient_service.dto.PatientLookupResponse;
+import io.github.rizanmusthafa.patient_service.dto.PatientStatsResponse;
+import io.github.rizanmusthafa.patient_service.validation.BulkTargetRequiredValidator;
+import io.github.rizanmusthafa.patient_service.validation.PhoneOrEmailRequiredValidator;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+/**
+ * Reflection hints for the native image build. Only consulted by Spring AOT; has no
+ * effect when running on the JVM.
+ */
+@Configuration(proxyBeanMethods = false)
+@ImportRuntimeHints({NativeHintsConfig.ValidationHints.class, NativeHintsConfig.ConverterHints.class})
+@RegisterReflectionForBinding({
+        PatientDto.class,
+        PageResponse.class,
+        PatchQueueStatus.class,
+        PatientLookupRequest.class,
+        PatientLookupResponse.class,
+        PatientFilter.class,
+        BulkCreateRequest.class,
+        ItemValidationError.class,
+        BulkDeleteRequest.class,
+        BulkPatchRequest.class,
+        BulkPatchChanges.class,
+        BulkOperationResponse.class,
+        PatientStatsResponse.class,
+        LocationCount.class,
+        DailyCount.class,
+        PatientImportRequest.class,
+        PatientJobResponse.class
+})
+public class NativeHintsConfig {
+
+    /**
+     * Hibernate Validator instantiates constraint validators reflectively, which AOT
+     * cannot discover from the {@code @Constraint} annotation on its own.
+     */
+    static class ValidationHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            hints.reflection().registerType(PhoneOrEmailRequiredValidator.class,
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS);
+            hints.reflection().registerType(BulkTargetRequiredValidator.class,
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+    }
+
+    /**
+     * Hibernate reads the attribute types of {@code @Convert} converters reflectively.
+     */
+    static class ConverterHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            hints.reflection().registerType(EncryptedStringConverter.class,
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS);
+            hints.reflection().registerType(DeterministicEncryptedStringConverter.class,
+                    MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS,
+                    MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+    }
+}
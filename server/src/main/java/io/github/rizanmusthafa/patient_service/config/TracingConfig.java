@@ -0,0 +1,33 @@
+package io.github.rizanmusthafa.patient_service.config;
+
+import io.github.rizanmusthafa.patient_service.tracing.OtlpJsonFileSpanExporter;
+import io.github.rizanmusthafa.patient_service.tracing.SlowObservationLogger;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+
+/**
+ * Spans come from Micrometer observations bridged to OpenTelemetry: the HTTP request
+ * (Spring MVC), PatientService calls ({@code @Observed}) and JDBC connections, statements
+ * and result sets (datasource-micrometer). Boot registers the handler and exporter beans
+ * below with the observation registry and the OpenTelemetry SDK.
+ */
+@Configuration(proxyBeanMethods = false)
+public class TracingConfig {
+
+    @Bean
+    SlowObservationLogger slowObservationLogger(TracingProperties properties) {
+        return new SlowObservationLogger(properties);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "patient.tracing.file-export.enabled", havingValue = "true")
+    SpanExporter otlpJsonFileSpanExporter(TracingProperties properties) throws IOException {
+        TracingProperties.FileExport fileExport = properties.getFileExport();
+        return new OtlpJsonFileSpanExporter(fileExport.getDirectory(), fileExport.getMaxFileSize().toBytes(),
+                fileExport.getMaxFiles());
+    }
+}
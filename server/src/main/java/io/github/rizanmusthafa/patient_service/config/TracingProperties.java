@@ -0,0 +1,55 @@
+package io.github.rizanmusthafa.patient_service.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Slow-operation logging and local span export.
+ */
+@Data
+@ConfigurationProperties(prefix = "patient.tracing")
+public class TracingProperties {
+
+    /**
+     * HTTP requests taking at least this long are logged.
+     */
+    private Duration slowRequestThreshold = Duration.ofMillis(500);
+
+    /**
+     * PatientService calls taking at least this long are logged.
+     */
+    private Duration slowServiceThreshold = Duration.ofMillis(300);
+
+    /**
+     * JDBC statements (execution, or reading their result set) taking at least this long
+     * are logged.
+     */
+    private Duration slowQueryThreshold = Duration.ofMillis(100);
+
+    private FileExport fileExport = new FileExport();
+
+    @Data
+    public static class FileExport {
+
+        /**
+         * Whether sampled spans are written to local files as OTLP JSON.
+         */
+        private boolean enabled = false;
+
+        private Path directory = Path.of("traces");
+
+        /**
+         * Size at which a span file is rotated.
+         */
+        private DataSize maxFileSize = DataSize.ofMegabytes(50);
+
+        /**
+         * Number of rotated span files kept.
+         */
+        private int maxFiles = 5;
+    }
+}
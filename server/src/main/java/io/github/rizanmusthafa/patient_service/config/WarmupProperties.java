@@ -0,0 +1,42 @@
+package io.github.rizanmusthafa.patient_service.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Settings for the warm-up that runs before the application reports itself ready.
+ */
+@Data
+@ConfigurationProperties(prefix = "patient.warmup")
+public class WarmupProperties {
+
+    /**
+     * Whether the warm-up runs. When disabled the application is ready as soon as it has started.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Upper bound on the whole warm-up. Remaining steps are skipped once it is exceeded,
+     * so a slow database delays readiness by at most this much.
+     */
+    private Duration timeout = Duration.ofSeconds(30);
+
+    /**
+     * Rounds of mapping, validating and serializing a page of patients, enough for the
+     * JIT to compile those paths before the first request.
+     */
+    private int iterations = 2_000;
+
+    /**
+     * Rounds of the main read queries (listing, sorted listing, name search, by id, stats).
+     */
+    private int queryIterations = 20;
+
+    /**
+     * Number of most recently registered patients read in one page, so their rows are in
+     * the database buffer cache. 0 disables it.
+     */
+    private int preloadPatients = 100;
+}
@@ -1,17 +1,34 @@
 package io.github.rizanmusthafa.patient_service.config;
 
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+
+import java.time.Duration;
 
 @Configuration
 public class WebMvcConfig implements WebMvcConfigurer {
 
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        // Serve static files under /dashboard/**
-        // This includes index.html, JS, CSS, images, and other assets
+        // Vite emits content-hashed file names under assets/, so a changed file always
+        // gets a new URL and these can be cached forever without revalidation.
+        // EncodedResourceResolver serves the .br/.gz files created by build-and-package.sh
+        // when the client accepts them; resourceChain(true) caches the resolved variants.
+        registry.addResourceHandler("/dashboard/assets/**")
+                .addResourceLocations("classpath:/static/dashboard/assets/")
+                .setCacheControl(CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable())
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver());
+
+        // Serve the remaining static files under /dashboard/** (index.html, favicon, ...)
+        // Their names are stable, so clients must revalidate them on every use.
         registry.addResourceHandler("/dashboard/**")
-                .addResourceLocations("classpath:/static/dashboard/");
+                .addResourceLocations("classpath:/static/dashboard/")
+                .setCacheControl(CacheControl.noCache())
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver());
     }
 }
@@ -2,44 +2,121 @@ package io.github.rizanmusthafa.patient_service.controller;
 
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
+import org.springframework.util.DigestUtils;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 @Controller
 public class DashboardController {
 
+    private static final String INDEX_HTML = "static/dashboard/index.html";
+
+    // Precompressed variants written by build-and-package.sh, in order of preference
+    private static final List<String[]> ENCODINGS = List.of(
+            new String[] {"br", ".br"},
+            new String[] {"gzip", ".gz"});
+
+    private volatile CachedIndex cachedIndex;
+
     /**
-     * Serves index.html for /dashboard route
+     * Serves index.html for the /dashboard and /dashboard/ routes.
+     * The file and its precompressed variants are read from the classpath once and kept
+     * in memory; the smallest variant the client accepts is sent. Clients revalidate it
+     * with its ETag and get a 304 when the dashboard has not been redeployed.
      */
-    @GetMapping("/dashboard")
-    public ResponseEntity<Resource> dashboard() throws IOException {
-        Resource resource = new ClassPathResource("static/dashboard/index.html");
-        if (!resource.exists()) {
+    @GetMapping({"/dashboard", "/dashboard/"})
+    public ResponseEntity<byte[]> dashboard(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding)
+            throws IOException {
+        CachedIndex index = loadIndex();
+        if (index == null) {
             return ResponseEntity.notFound().build();
         }
-        return ResponseEntity.ok()
+        Variant variant = index.select(acceptEncoding);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
                 .contentType(MediaType.TEXT_HTML)
-                .header(HttpHeaders.CACHE_CONTROL, "no-cache")
-                .body(resource);
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .eTag(variant.etag());
+        if (variant.encoding() != null) {
+            response.header(HttpHeaders.CONTENT_ENCODING, variant.encoding());
+        }
+        return response.body(variant.content());
+    }
+
+    private CachedIndex loadIndex() throws IOException {
+        CachedIndex index = cachedIndex;
+        if (index == null) {
+            Resource resource = new ClassPathResource(INDEX_HTML);
+            if (!resource.exists()) {
+                return null;
+            }
+            byte[] content = resource.getContentAsByteArray();
+            String hash = DigestUtils.md5DigestAsHex(content);
+            List<Variant> encoded = new ArrayList<>(ENCODINGS.size());
+            for (String[] encoding : ENCODINGS) {
+                Resource compressed = new ClassPathResource(INDEX_HTML + encoding[1]);
+                if (compressed.exists()) {
+                    // Each representation needs its own strong ETag
+                    encoded.add(new Variant(encoding[0], compressed.getContentAsByteArray(),
+                            "\"" + hash + "-" + encoding[0] + "\""));
+                }
+            }
+            index = new CachedIndex(new Variant(null, content, "\"" + hash + "\""), List.copyOf(encoded));
+            cachedIndex = index;
+        }
+        return index;
     }
 
     /**
-     * Serves index.html for /dashboard/ route
+     * Whether an Accept-Encoding header accepts {@code coding}, i.e. lists it without
+     * {@code q=0}.
      */
-    @GetMapping("/dashboard/")
-    public ResponseEntity<Resource> dashboardWithSlash() throws IOException {
-        Resource resource = new ClassPathResource("static/dashboard/index.html");
-        if (!resource.exists()) {
-            return ResponseEntity.notFound().build();
+    static boolean accepts(String acceptEncoding, String coding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parameters = entry.split(";");
+            if (!parameters[0].trim().equalsIgnoreCase(coding)) {
+                continue;
+            }
+            for (int i = 1; i < parameters.length; i++) {
+                String parameter = parameters[i].trim();
+                if (parameter.startsWith("q=")) {
+                    try {
+                        return Double.parseDouble(parameter.substring(2)) > 0;
+                    } catch (NumberFormatException ex) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+
+    private record Variant(String encoding, byte[] content, String etag) {
+    }
+
+    private record CachedIndex(Variant identity, List<Variant> encoded) {
+
+        Variant select(String acceptEncoding) {
+            for (Variant variant : encoded) {
+                if (accepts(acceptEncoding, variant.encoding())) {
+                    return variant;
+                }
+            }
+            return identity;
         }
-        return ResponseEntity.ok()
-                .contentType(MediaType.TEXT_HTML)
-                .header(HttpHeaders.CACHE_CONTROL, "no-cache")
-                .body(resource);
     }
 }
@@ -1,10 +1,19 @@
 package io.github.rizanmusthafa.patient_service.controller;
 
+import io.github.rizanmusthafa.patient_service.dto.BulkCreateRequest;
+import io.github.rizanmusthafa.patient_service.dto.BulkDeleteRequest;
+import io.github.rizanmusthafa.patient_service.dto.BulkOperationResponse;
+import io.github.rizanmusthafa.patient_service.dto.BulkPatchRequest;
 import io.github.rizanmusthafa.patient_service.dto.PageResponse;
+import io.github.rizanmusthafa.patient_service.dto.PatchQueueStatus;
 import io.github.rizanmusthafa.patient_service.dto.PatientDto;
+import io.github.rizanmusthafa.patient_service.dto.PatientLookupRequest;
+import io.github.rizanmusthafa.patient_service.dto.PatientLookupResponse;
+import io.github.rizanmusthafa.patient_service.service.PatientPatchQueue;
 import io.github.rizanmusthafa.patient_service.service.PatientService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -12,10 +21,14 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/patient")
 @RequiredArgsConstructor
@@ -23,18 +36,29 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "Patient", description = "Patient management API endpoints")
 public class PatientController {
 
+        private static final String RESPOND_ASYNC = "respond-async";
+
         private final PatientService patientService;
+        private final PatientPatchQueue patientPatchQueue;
 
-        @Operation(summary = "Get all patients", description = "Retrieve a paginated list of all patients. Supports pagination with page and size parameters.")
+        @Operation(summary = "Get all patients", description = "Retrieve a paginated list of all patients. Supports pagination with page and size parameters, "
+                        + "index-backed sorting with repeatable sort=property,direction parameters, and a case-insensitive "
+                        + "first or last name prefix search with q.")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "Successfully retrieved list of patients", content = @Content(schema = @Schema(implementation = PageResponse.class))),
+                        @ApiResponse(responseCode = "400", description = "Unsupported sort order", content = @Content),
                         @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)
         })
         @GetMapping
         public ResponseEntity<PageResponse<PatientDto>> getAllPatients(
                         @Parameter(description = "Page number (0-indexed)", example = "0") @RequestParam(defaultValue = "0") int page,
-                        @Parameter(description = "Number of items per page", example = "10") @RequestParam(defaultValue = "10") int size) {
-                PageResponse<PatientDto> patients = patientService.findAll(page, size);
+                        @Parameter(description = "Number of items per page", example = "10") @RequestParam(defaultValue = "10") int size,
+                        @Parameter(description = "Sort order as property,direction. Supported orders (all in the same direction): "
+                                        + "id; lastName[,firstName]; firstName; createdAt", array = @ArraySchema(schema = @Schema(type = "string", example = "lastName,asc"))) Sort sort,
+                        @Parameter(description = "First or last name prefix, ignoring case", example = "smi") @RequestParam(required = false) String q) {
+                PageResponse<PatientDto> patients = q == null || q.isBlank()
+                                ? patientService.findAll(page, size, sort)
+                                : patientService.search(q, page, size, sort);
                 return ResponseEntity.ok(patients);
         }
 
@@ -51,6 +75,46 @@ public class PatientController {
                 return ResponseEntity.ok(patient);
         }
 
+        @Operation(summary = "Get many patients by ID", description = "Resolve up to " + PatientLookupRequest.MAX_IDS + " patient identifiers in one call. "
+                        + "Results keep the requested order and ids without a matching patient are reported in missingIds.")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Successfully resolved patients", content = @Content(schema = @Schema(implementation = PatientLookupResponse.class))),
+                        @ApiResponse(responseCode = "400", description = "Validation error - empty or oversized id list", content = @Content),
+                        @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)
+        })
+        @PostMapping("/lookup")
+        public ResponseEntity<PatientLookupResponse> lookupPatients(
+                        @Parameter(description = "Patient ids to resolve", required = true) @Valid @RequestBody PatientLookupRequest request) {
+                PatientLookupResponse response = patientService.findAllById(request.getIds());
+                return ResponseEntity.ok(response);
+        }
+
+        @Operation(summary = "Find patients by email", description = "Patients with exactly this email address. Emails are stored encrypted, "
+                        + "so the match is exact and case-sensitive.")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Matching patients, possibly none", content = @Content(array = @ArraySchema(schema = @Schema(implementation = PatientDto.class)))),
+                        @ApiResponse(responseCode = "400", description = "Missing email parameter", content = @Content),
+                        @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)
+        })
+        @GetMapping("/by-email")
+        public ResponseEntity<List<PatientDto>> getPatientsByEmail(
+                        @Parameter(description = "Email address", required = true, example = "john.doe@example.com") @RequestParam String email) {
+                return ResponseEntity.ok(patientService.findByEmail(email));
+        }
+
+        @Operation(summary = "Find patients by phone number", description = "Patients with exactly this phone number, as it was stored. "
+                        + "Phone numbers are stored encrypted, so the match is exact.")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Matching patients, possibly none", content = @Content(array = @ArraySchema(schema = @Schema(implementation = PatientDto.class)))),
+                        @ApiResponse(responseCode = "400", description = "Missing phoneNumber parameter", content = @Content),
+                        @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)
+        })
+        @GetMapping("/by-phone")
+        public ResponseEntity<List<PatientDto>> getPatientsByPhoneNumber(
+                        @Parameter(description = "Phone number", required = true, example = "+1234567890") @RequestParam String phoneNumber) {
+                return ResponseEntity.ok(patientService.findByPhoneNumber(phoneNumber));
+        }
+
         @Operation(summary = "Create a new patient", description = "Create a new patient record. First name, last name, and either phone number or email are required.")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "201", description = "Patient successfully created", content = @Content(schema = @Schema(implementation = PatientDto.class))),
@@ -64,6 +128,20 @@ public class PatientController {
                 return ResponseEntity.status(HttpStatus.CREATED).body(createdPatient);
         }
 
+        @Operation(summary = "Create patients in bulk", description = "Create up to 1000 patients in one transaction. "
+                        + "Every item is validated first and all violations are returned with their item index; nothing is created if any item is invalid.")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "201", description = "Patients successfully created, in request order", content = @Content(array = @ArraySchema(schema = @Schema(implementation = PatientDto.class)))),
+                        @ApiResponse(responseCode = "400", description = "Validation error - empty or oversized list, or invalid items", content = @Content),
+                        @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)
+        })
+        @PostMapping("/bulk-create")
+        public ResponseEntity<List<PatientDto>> bulkCreatePatients(
+                        @Parameter(description = "Patients to create", required = true) @Valid @RequestBody BulkCreateRequest request) {
+                List<PatientDto> createdPatients = patientService.createAll(request.getPatients());
+                return ResponseEntity.status(HttpStatus.CREATED).body(createdPatients);
+        }
+
         @Operation(summary = "Update patient", description = "Update an existing patient record. All fields must be provided (full update).")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "Patient successfully updated", content = @Content(schema = @Schema(implementation = PatientDto.class))),
@@ -75,25 +153,48 @@ public class PatientController {
         public ResponseEntity<PatientDto> updatePatient(
                         @Parameter(description = "Patient ID", required = true, example = "1") @PathVariable Long id,
                         @Parameter(description = "Updated patient data", required = true) @Valid @RequestBody PatientDto patientDto) {
+                patientPatchQueue.discard(id);
                 PatientDto updatedPatient = patientService.update(id, patientDto);
                 return ResponseEntity.ok(updatedPatient);
         }
 
-        @Operation(summary = "Partially update patient", description = "Partially update an existing patient record. Only provided fields will be updated (partial update).")
+        @Operation(summary = "Partially update patient", description = "Partially update an existing patient record. Only provided fields will be updated (partial update). "
+                        + "Send 'Prefer: respond-async' to queue the patch for a batched background write instead; "
+                        + "queued patches are coalesced per patient and are not durable until flushed.")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "200", description = "Patient successfully updated", content = @Content(schema = @Schema(implementation = PatientDto.class))),
+                        @ApiResponse(responseCode = "202", description = "Patch accepted for asynchronous write", content = @Content(schema = @Schema(implementation = PatchQueueStatus.class))),
                         @ApiResponse(responseCode = "404", description = "Patient not found", content = @Content),
+                        @ApiResponse(responseCode = "503", description = "Asynchronous patch queue is full", content = @Content),
                         @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)
         })
         @PatchMapping("/{id}")
-        public ResponseEntity<PatientDto> patchPatient(
+        public ResponseEntity<?> patchPatient(
                         @Parameter(description = "Patient ID", required = true, example = "1") @PathVariable Long id,
+                        @Parameter(description = "Set to 'respond-async' to queue the patch", example = RESPOND_ASYNC) @RequestHeader(value = "Prefer", required = false) String prefer,
                         @Parameter(description = "Partial patient data to update", required = true) @RequestBody PatientDto patientDto) {
+                if (prefersRespondAsync(prefer) && patientPatchQueue.isEnabled()) {
+                        patientPatchQueue.enqueue(id, patientDto);
+                        return ResponseEntity.accepted()
+                                        .header(HttpHeaders.LOCATION, "/api/patient/patch-queue")
+                                        .body(patientPatchQueue.status());
+                }
+                patientPatchQueue.discard(id);
                 PatientDto updatedPatient = patientService.patch(id, patientDto);
                 return ResponseEntity.ok(updatedPatient);
         }
 
-        @Operation(summary = "Delete patient", description = "Delete a patient record by their unique identifier.")
+        @Operation(summary = "Get asynchronous patch queue status", description = "Report how many queued patches are waiting to be written and the outcome of previous flushes.")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Successfully retrieved queue status", content = @Content(schema = @Schema(implementation = PatchQueueStatus.class)))
+        })
+        @GetMapping("/patch-queue")
+        public ResponseEntity<PatchQueueStatus> getPatchQueueStatus() {
+                return ResponseEntity.ok(patientPatchQueue.status());
+        }
+
+        @Operation(summary = "Delete patient", description = "Delete a patient record by their unique identifier. "
+                        + "The record is soft-deleted and can be restored until it is archived.")
         @ApiResponses(value = {
                         @ApiResponse(responseCode = "204", description = "Patient successfully deleted", content = @Content),
                         @ApiResponse(responseCode = "404", description = "Patient not found", content = @Content),
@@ -105,4 +206,66 @@ public class PatientController {
                 patientService.delete(id);
                 return ResponseEntity.noContent().build();
         }
+
+        @Operation(summary = "Restore deleted patient", description = "Restore a soft-deleted patient record that has not been archived yet.")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Patient successfully restored", content = @Content(schema = @Schema(implementation = PatientDto.class))),
+                        @ApiResponse(responseCode = "404", description = "No deleted patient with this ID", content = @Content),
+                        @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)
+        })
+        @PostMapping("/{id}/restore")
+        public ResponseEntity<PatientDto> restorePatient(
+                        @Parameter(description = "Patient ID", required = true, example = "1") @PathVariable Long id) {
+                PatientDto restoredPatient = patientService.restore(id);
+                return ResponseEntity.ok(restoredPatient);
+        }
+
+        @Operation(summary = "Bulk patch patients", description = "Set address fields on many patients at once, selected either by a list of up to "
+                        + "10000 ids or by a city/state filter. Runs as set-based UPDATE statements of up to 1000 patients, each committed "
+                        + "on its own, so a failure can leave the operation partly applied.")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Patients successfully updated", content = @Content(schema = @Schema(implementation = BulkOperationResponse.class))),
+                        @ApiResponse(responseCode = "400", description = "Validation error - missing target or changes", content = @Content),
+                        @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)
+        })
+        @PostMapping("/bulk-patch")
+        public ResponseEntity<BulkOperationResponse> bulkPatchPatients(
+                        @Parameter(description = "Target patients and changes", required = true) @Valid @RequestBody BulkPatchRequest request) {
+                BulkOperationResponse response = patientService.patchAll(request);
+                return ResponseEntity.ok(response);
+        }
+
+        @Operation(summary = "Bulk delete patients", description = "Delete many patients at once, selected either by a list of up to "
+                        + "10000 ids or by a city/state filter. Runs as set-based UPDATE statements (soft delete) of up to 1000 patients, "
+                        + "each committed on its own, so a failure can leave the operation partly applied.")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Patients successfully deleted", content = @Content(schema = @Schema(implementation = BulkOperationResponse.class))),
+                        @ApiResponse(responseCode = "400", description = "Validation error - missing target", content = @Content),
+                        @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)
+        })
+        @PostMapping("/bulk-delete")
+        public ResponseEntity<BulkOperationResponse> bulkDeletePatients(
+                        @Parameter(description = "Target patients", required = true) @Valid @RequestBody BulkDeleteRequest request) {
+                BulkOperationResponse response = patientService.deleteAll(request);
+                return ResponseEntity.ok(response);
+        }
+
+        /**
+         * Whether a {@code Prefer} header (RFC 7240) asks for {@code respond-async}. The header may
+         * list several comma-separated preferences, e.g. {@code respond-async, wait=10}, and each
+         * may carry {@code ;} parameters.
+         */
+        static boolean prefersRespondAsync(String prefer) {
+                if (prefer == null) {
+                        return false;
+                }
+                for (String preference : prefer.split(",")) {
+                        int end = preference.indexOf(';');
+                        String token = (end < 0 ? preference : preference.substring(0, end)).trim();
+                        if (RESPOND_ASYNC.equalsIgnoreCase(token)) {
+                                return true;
+                        }
+                }
+                return false;
+        }
 }
@@ -0,0 +1,128 @@
+package io.github.rizanmusthafa.patient_service.controller;
+
+import io.github.rizanmusthafa.patient_service.dto.PatientImportRequest;
+import io.github.rizanmusthafa.patient_service.dto.PatientJobResponse;
+import io.github.rizanmusthafa.patient_service.service.PatientJobService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/patient/jobs")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+@Tag(name = "Patient Jobs", description = "Background import and export of patients")
+public class PatientJobController {
+
+        private final PatientJobService patientJobService;
+
+        @Operation(summary = "Start an export", description = "Export all patients to CSV in a background job. Poll the job and download the result when it is COMPLETED.")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "202", description = "Export job started", content = @Content(schema = @Schema(implementation = PatientJobResponse.class))),
+                        @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)
+        })
+        @PostMapping("/export")
+        public ResponseEntity<PatientJobResponse> startExport() {
+                return accepted(patientJobService.startExport());
+        }
+
+        @Operation(summary = "Start an import", description = "Create patients in a background job. All patients are validated before the job starts; "
+                        + "each chunk is imported in its own transaction.")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "202", description = "Import job started", content = @Content(schema = @Schema(implementation = PatientJobResponse.class))),
+                        @ApiResponse(responseCode = "400", description = "Validation error - empty or oversized list, or invalid items", content = @Content),
+                        @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)
+        })
+        @PostMapping("/import")
+        public ResponseEntity<PatientJobResponse> startImport(
+                        @Parameter(description = "Patients to import", required = true) @Valid @RequestBody PatientImportRequest request) {
+                return accepted(patientJobService.startImport(request.getPatients()));
+        }
+
+        @Operation(summary = "List recent jobs", description = "The 20 most recent import and export jobs, newest first.")
+        @ApiResponse(responseCode = "200", description = "Successfully retrieved jobs", content = @Content(array = @ArraySchema(schema = @Schema(implementation = PatientJobResponse.class))))
+        @GetMapping
+        public ResponseEntity<List<PatientJobResponse>> getRecentJobs() {
+                return ResponseEntity.ok(patientJobService.getRecentJobs());
+        }
+
+        @Operation(summary = "Get job status", description = "Status and progress of an import or export job.")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Successfully retrieved job", content = @Content(schema = @Schema(implementation = PatientJobResponse.class))),
+                        @ApiResponse(responseCode = "404", description = "Job not found", content = @Content)
+        })
+        @GetMapping("/{id}")
+        public ResponseEntity<PatientJobResponse> getJob(
+                        @Parameter(description = "Job ID", required = true, example = "1") @PathVariable Long id) {
+                return ResponseEntity.ok(patientJobService.getJob(id));
+        }
+
+        @Operation(summary = "Cancel a job", description = "Stop scheduling further chunks of a pending or running job. Chunks already running finish; the job can be resumed later.")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Job cancelled", content = @Content(schema = @Schema(implementation = PatientJobResponse.class))),
+                        @ApiResponse(responseCode = "404", description = "Job not found", content = @Content),
+                        @ApiResponse(responseCode = "409", description = "Job already finished", content = @Content)
+        })
+        @PostMapping("/{id}/cancel")
+        public ResponseEntity<PatientJobResponse> cancel(
+                        @Parameter(description = "Job ID", required = true, example = "1") @PathVariable Long id) {
+                return ResponseEntity.ok(patientJobService.cancel(id));
+        }
+
+        @Operation(summary = "Resume a job", description = "Continue a failed or cancelled job, or a running job that stopped making progress, "
+                        + "from the chunks that are not done yet.")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "202", description = "Job resumed", content = @Content(schema = @Schema(implementation = PatientJobResponse.class))),
+                        @ApiResponse(responseCode = "404", description = "Job not found", content = @Content),
+                        @ApiResponse(responseCode = "409", description = "Job is completed or still running", content = @Content)
+        })
+        @PostMapping("/{id}/resume")
+        public ResponseEntity<PatientJobResponse> resume(
+                        @Parameter(description = "Job ID", required = true, example = "1") @PathVariable Long id) {
+                return accepted(patientJobService.resume(id));
+        }
+
+        @Operation(summary = "Download an export", description = "The CSV produced by a completed export job.")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "CSV file", content = @Content(mediaType = "text/csv")),
+                        @ApiResponse(responseCode = "404", description = "Job not found", content = @Content),
+                        @ApiResponse(responseCode = "409", description = "Job is not a completed export", content = @Content)
+        })
+        @GetMapping(value = "/{id}/result", produces = "text/csv")
+        public ResponseEntity<StreamingResponseBody> downloadExport(
+                        @Parameter(description = "Job ID", required = true, example = "1") @PathVariable Long id) {
+                List<Path> parts = patientJobService.getExportParts(id);
+                StreamingResponseBody body = out -> {
+                        for (Path part : parts) {
+                                Files.copy(part, out);
+                        }
+                };
+                return ResponseEntity.ok()
+                                .contentType(MediaType.parseMediaType("text/csv"))
+                                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"patients-" + id + ".csv\"")
+                                .body(body);
+        }
+
+        private static ResponseEntity<PatientJobResponse> accepted(PatientJobResponse job) {
+                return ResponseEntity.status(HttpStatus.ACCEPTED)
+                                .header(HttpHeaders.LOCATION, "/api/patient/jobs/" + job.getId())
+                                .body(job);
+        }
+}
@@ -0,0 +1,46 @@
+package io.github.rizanmusthafa.patient_service.controller;
+
+import io.github.rizanmusthafa.patient_service.dto.LocationGrouping;
+import io.github.rizanmusthafa.patient_service.dto.PatientStatsResponse;
+import io.github.rizanmusthafa.patient_service.service.PatientStatsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+@RestController
+@RequestMapping("/api/patient/stats")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+@Tag(name = "Patient", description = "Patient management API endpoints")
+public class PatientStatsController {
+
+        private final PatientStatsService patientStatsService;
+
+        @Operation(summary = "Get patient statistics", description = "Retrieve patient counts per state or city and new patients per day. "
+                        + "Served from incrementally maintained rollups, so the cost does not grow with the number of patients.")
+        @ApiResponses(value = {
+                        @ApiResponse(responseCode = "200", description = "Successfully retrieved statistics", content = @Content(schema = @Schema(implementation = PatientStatsResponse.class))),
+                        @ApiResponse(responseCode = "400", description = "Invalid parameter, e.g. 'from' after 'to'", content = @Content),
+                        @ApiResponse(responseCode = "500", description = "Internal server error", content = @Content)
+        })
+        @GetMapping
+        public ResponseEntity<PatientStatsResponse> getStats(
+                        @Parameter(description = "Group location counts by STATE or CITY", example = "STATE") @RequestParam(defaultValue = "STATE") LocationGrouping groupBy,
+                        @Parameter(description = "First day of the daily range (defaults to 30 days ago)", example = "2024-01-01") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                        @Parameter(description = "Last day of the daily range (defaults to today)", example = "2024-01-31") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+                LocalDate rangeEnd = to != null ? to : LocalDate.now();
+                LocalDate rangeStart = from != null ? from : rangeEnd.minusDays(29);
+                PatientStatsResponse stats = patientStatsService.getStats(groupBy, rangeStart, rangeEnd);
+                return ResponseEntity.ok(stats);
+        }
+}
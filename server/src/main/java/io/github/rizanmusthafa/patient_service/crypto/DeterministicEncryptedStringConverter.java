@@ -0,0 +1,31 @@
+package io.github.rizanmusthafa.patient_service.crypto;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.springframework.stereotype.Component;
+
+/**
+ * Encrypts a column so that equal values give equal ciphertexts (see
+ * {@link PiiCipher#encryptDeterministic}), which keeps exact-match lookups and their
+ * indexes working. Used for email and phone number.
+ */
+@Component
+@Converter
+public class DeterministicEncryptedStringConverter implements AttributeConverter<String, String> {
+
+    private final PiiCipher piiCipher;
+
+    public DeterministicEncryptedStringConverter(PiiCipher piiCipher) {
+        this.piiCipher = piiCipher;
+    }
+
+    @Override
+    public String convertToDatabaseColumn(String attribute) {
+        return attribute == null ? null : piiCipher.encryptDeterministic(attribute);
+    }
+
+    @Override
+    public String convertToEntityAttribute(String column) {
+        return column == null ? null : piiCipher.decrypt(column);
+    }
+}
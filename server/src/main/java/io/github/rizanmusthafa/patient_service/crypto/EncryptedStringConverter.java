@@ -0,0 +1,34 @@
+package io.github.rizanmusthafa.patient_service.crypto;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.springframework.stereotype.Component;
+
+/**
+ * Encrypts a column with a random IV (see {@link PiiCipher#encrypt}). Equal values give
+ * different ciphertexts, so the column cannot be searched; use it for PII that is only
+ * ever read back, such as the street address.
+ * <p>
+ * A Spring bean: Hibernate obtains converters from the application context, which
+ * injects the cipher.
+ */
+@Component
+@Converter
+public class EncryptedStringConverter implements AttributeConverter<String, String> {
+
+    private final PiiCipher piiCipher;
+
+    public EncryptedStringConverter(PiiCipher piiCipher) {
+        this.piiCipher = piiCipher;
+    }
+
+    @Override
+    public String convertToDatabaseColumn(String attribute) {
+        return attribute == null ? null : piiCipher.encrypt(attribute);
+    }
+
+    @Override
+    public String convertToEntityAttribute(String column) {
+        return column == null ? null : piiCipher.decrypt(column);
+    }
+}
@@ -0,0 +1,217 @@
+package io.github.rizanmusthafa.patient_service.crypto;
+
+import io.github.rizanmusthafa.patient_service.config.EncryptionProperties;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.AEADBadTagException;
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.InvalidAlgorithmParameterException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * AES-256-GCM encryption of patient PII columns.
+ * <p>
+ * Values are stored as {@code enc:<keyId>:<base64url(iv | ciphertext | tag)>}. The key id
+ * lets keys be rotated: new values use the active key, and every configured key can still
+ * decrypt. Values without the {@code enc:} prefix are returned unchanged, so rows written
+ * before encryption was introduced stay readable.
+ * <p>
+ * {@link #encrypt} uses a random IV. {@link #encryptDeterministic} derives the IV from an
+ * HMAC of the plaintext, so equal values encrypt to equal ciphertexts and can be looked up
+ * with an index, at the cost of revealing which rows share a value.
+ * <p>
+ * Keys are decoded and derived once, at startup, and each thread reuses its own
+ * {@link Cipher} and {@link Mac}: creating them per value costs more than encrypting
+ * a short string.
+ */
+@Component
+public class PiiCipher {
+
+    static final String PREFIX = "enc:";
+
+    private static final int KEY_BYTES = 32;
+    private static final int IV_BYTES = 12;
+    private static final int TAG_BITS = 128;
+    private static final String CIPHER = "AES/GCM/NoPadding";
+    private static final String MAC = "HmacSHA256";
+
+    private final String activeKeyId;
+    private final Map<String, KeySet> keys;
+    private final SecureRandom random = new SecureRandom();
+    private final ThreadLocal<Cipher> ciphers = ThreadLocal.withInitial(PiiCipher::newCipher);
+    private final ThreadLocal<Mac> macs = ThreadLocal.withInitial(PiiCipher::newMac);
+
+    public PiiCipher(EncryptionProperties properties) {
+        if (properties.getKeys().isEmpty()) {
+            throw new IllegalStateException("No PII encryption keys configured (patient.encryption.keys)");
+        }
+        Map<String, KeySet> derived = new HashMap<>();
+        properties.getKeys().forEach((keyId, encoded) -> derived.put(keyId, derive(keyId, encoded)));
+        if (!derived.containsKey(properties.getActiveKeyId())) {
+            throw new IllegalStateException("Active PII key '" + properties.getActiveKeyId() + "' is not configured");
+        }
+        this.activeKeyId = properties.getActiveKeyId();
+        this.keys = Map.copyOf(derived);
+    }
+
+    /**
+     * Encrypts with a random IV and the active key.
+     */
+    public String encrypt(String plaintext) {
+        byte[] iv = new byte[IV_BYTES];
+        random.nextBytes(iv);
+        return encrypt(activeKeyId, keys.get(activeKeyId), plaintext, iv);
+    }
+
+    /**
+     * Encrypts with the active key so that equal plaintexts give equal ciphertexts.
+     */
+    public String encryptDeterministic(String plaintext) {
+        return encryptDeterministic(activeKeyId, plaintext);
+    }
+
+    /**
+     * Deterministic ciphertexts of {@code plaintext} under every configured key, plus the
+     * plaintext itself: all values a stored column could hold for it.
+     */
+    public List<String> lookupValues(String plaintext) {
+        List<String> values = new ArrayList<>(keys.size() + 1);
+        for (String keyId : keys.keySet()) {
+            values.add(encryptDeterministic(keyId, plaintext));
+        }
+        values.add(plaintext);
+        return values;
+    }
+
+    /**
+     * Decrypts a stored value, or returns it unchanged if it was never encrypted.
+     */
+    public String decrypt(String value) {
+        if (!isEncrypted(value)) {
+            return value;
+        }
+        int separator = value.indexOf(':', PREFIX.length());
+        if (separator < 0) {
+            throw new IllegalStateException("Malformed encrypted value");
+        }
+        String keyId = value.substring(PREFIX.length(), separator);
+        KeySet keySet = keys.get(keyId);
+        if (keySet == null) {
+            throw new IllegalStateException("No PII key configured for key id '" + keyId + "'");
+        }
+        byte[] payload = Base64.getUrlDecoder().decode(value.substring(separator + 1));
+        if (payload.length < IV_BYTES + TAG_BITS / 8) {
+            throw new IllegalStateException("Malformed encrypted value");
+        }
+        try {
+            Cipher cipher = ciphers.get();
+            cipher.init(Cipher.DECRYPT_MODE, keySet.encryptionKey(), new GCMParameterSpec(TAG_BITS, payload, 0, IV_BYTES));
+            return new String(cipher.doFinal(payload, IV_BYTES, payload.length - IV_BYTES), StandardCharsets.UTF_8);
+        } catch (AEADBadTagException e) {
+            throw new IllegalStateException("Encrypted value does not match key '" + keyId + "'", e);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not decrypt value", e);
+        }
+    }
+
+    public static boolean isEncrypted(String value) {
+        return value != null && value.startsWith(PREFIX);
+    }
+
+    private String encryptDeterministic(String keyId, String plaintext) {
+        KeySet keySet = keys.get(keyId);
+        Mac mac = macs.get();
+        try {
+            mac.init(keySet.ivKey());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not derive IV", e);
+        }
+        byte[] iv = Arrays.copyOf(mac.doFinal(plaintext.getBytes(StandardCharsets.UTF_8)), IV_BYTES);
+        return encrypt(keyId, keySet, plaintext, iv);
+    }
+
+    private String encrypt(String keyId, KeySet keySet, String plaintext, byte[] iv) {
+        byte[] input = plaintext.getBytes(StandardCharsets.UTF_8);
+        byte[] payload = new byte[IV_BYTES + input.length + TAG_BITS / 8];
+        System.arraycopy(iv, 0, payload, 0, IV_BYTES);
+        try {
+            Cipher cipher = ciphers.get();
+            try {
+                cipher.init(Cipher.ENCRYPT_MODE, keySet.encryptionKey(), new GCMParameterSpec(TAG_BITS, iv));
+            } catch (InvalidAlgorithmParameterException e) {
+                // The JDK refuses to encrypt twice in a row with the same key and IV, which is
+                // what deterministic encryption of the same value does; the result is the same
+                // either way, so use a fresh instance.
+                cipher = newCipher();
+                cipher.init(Cipher.ENCRYPT_MODE, keySet.encryptionKey(), new GCMParameterSpec(TAG_BITS, iv));
+            }
+            cipher.doFinal(input, 0, input.length, payload, IV_BYTES);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not encrypt value", e);
+        }
+        return PREFIX + keyId + ':' + Base64.getUrlEncoder().withoutPadding().encodeToString(payload);
+    }
+
+    /**
+     * Splits the configured key into independent keys for encryption and for deriving
+     * deterministic IVs.
+     */
+    private static KeySet derive(String keyId, String encoded) {
+        if (keyId.isEmpty() || keyId.indexOf(':') >= 0) {
+            throw new IllegalStateException("Invalid PII key id '" + keyId + "'");
+        }
+        if (encoded == null || encoded.isBlank()) {
+            throw new IllegalStateException("PII key '" + keyId + "' is not set (PII_ENCRYPTION_KEY for 'v1')");
+        }
+        byte[] key;
+        try {
+            key = Base64.getDecoder().decode(encoded);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("PII key '" + keyId + "' is not valid Base64", e);
+        }
+        if (key.length != KEY_BYTES) {
+            throw new IllegalStateException("PII key '" + keyId + "' must be " + KEY_BYTES + " bytes");
+        }
+        try {
+            Mac mac = newMac();
+            mac.init(new SecretKeySpec(key, MAC));
+            byte[] encryptionKey = mac.doFinal("patient-pii-encryption".getBytes(StandardCharsets.UTF_8));
+            byte[] ivKey = mac.doFinal("patient-pii-iv".getBytes(StandardCharsets.UTF_8));
+            return new KeySet(new SecretKeySpec(encryptionKey, "AES"), new SecretKeySpec(ivKey, MAC));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not derive PII keys", e);
+        } finally {
+            Arrays.fill(key, (byte) 0);
+        }
+    }
+
+    private static Cipher newCipher() {
+        try {
+            return Cipher.getInstance(CIPHER);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(CIPHER + " is not available", e);
+        }
+    }
+
+    private static Mac newMac() {
+        try {
+            return Mac.getInstance(MAC);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(MAC + " is not available", e);
+        }
+    }
+
+    private record KeySet(SecretKeySpec encryptionKey, SecretKeySpec ivKey) {
+    }
+}
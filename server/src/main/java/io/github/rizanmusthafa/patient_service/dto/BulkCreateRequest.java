@@ -0,0 +1,29 @@
+package io.github.rizanmusthafa.patient_service.dto;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * The items are deliberately not annotated with {@code @Valid}: they are checked by
+ * {@code PatientDtoValidator}, which reports every violation with its item index.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Patients to create in one request")
+public class BulkCreateRequest {
+
+    public static final int MAX_PATIENTS = 1_000;
+
+    @NotEmpty(message = "At least one patient is required")
+    @Size(max = MAX_PATIENTS, message = "At most " + MAX_PATIENTS + " patients per request")
+    @ArraySchema(schema = @Schema(implementation = PatientDto.class), maxItems = MAX_PATIENTS)
+    private List<PatientDto> patients;
+}
@@ -0,0 +1,26 @@
+package io.github.rizanmusthafa.patient_service.dto;
+
+import io.github.rizanmusthafa.patient_service.validation.BulkTargetRequired;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@BulkTargetRequired
+@Schema(description = "Patients to delete, selected by ids or by filter")
+public class BulkDeleteRequest implements BulkTarget {
+
+    @Size(max = MAX_IDS, message = "At most " + MAX_IDS + " ids can be deleted at once")
+    @Schema(description = "Patient identifiers (provide either ids or filter)", example = "[1, 2, 3]")
+    private List<@NotNull(message = "Ids must not be null") Long> ids;
+
+    @Schema(description = "Filter selecting the patients (provide either ids or filter)")
+    private PatientFilter filter;
+}
@@ -0,0 +1,16 @@
+package io.github.rizanmusthafa.patient_service.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Result of a bulk operation")
+public class BulkOperationResponse {
+
+    @Schema(description = "Number of patients changed by the operation", example = "1250")
+    private long affected;
+}
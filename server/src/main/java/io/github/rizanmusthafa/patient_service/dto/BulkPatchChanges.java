@@ -0,0 +1,33 @@
+package io.github.rizanmusthafa.patient_service.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.AssertTrue;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Address fields to set on every selected patient; null fields are left unchanged")
+public class BulkPatchChanges {
+
+    @Schema(description = "Patient's street address", example = "123 Main Street")
+    private String address;
+
+    @Schema(description = "Patient's city", example = "Boston")
+    private String city;
+
+    @Schema(description = "Patient's state or province", example = "MA")
+    private String state;
+
+    @Schema(description = "Patient's postal/zip code", example = "02101")
+    private String zipCode;
+
+    @JsonIgnore
+    @AssertTrue(message = "At least one field to change is required")
+    public boolean isAnyFieldSet() {
+        return address != null || city != null || state != null || zipCode != null;
+    }
+}
@@ -0,0 +1,15 @@
+package io.github.rizanmusthafa.patient_service.dto;
+
+import java.util.List;
+
+/**
+ * Request that applies to either an explicit list of patient ids or every patient
+ * matching a filter.
+ */
+public interface BulkTarget {
+    int MAX_IDS = 10_000;
+
+    List<Long> getIds();
+
+    PatientFilter getFilter();
+}
@@ -0,0 +1,21 @@
+package io.github.rizanmusthafa.patient_service.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Number of patients registered on a day")
+public class DailyCount {
+
+    @Schema(description = "Day of registration", example = "2024-01-15")
+    private LocalDate day;
+
+    @Schema(description = "Number of patients registered", example = "42")
+    private long count;
+}
@@ -0,0 +1,22 @@
+package io.github.rizanmusthafa.patient_service.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "A constraint violation of one item in a bulk payload")
+public class ItemValidationError {
+
+    @Schema(description = "Position of the item in the request (0-indexed)", example = "3")
+    private int index;
+
+    @Schema(description = "Violating field, null for rules spanning several fields", example = "email")
+    private String field;
+
+    @Schema(description = "Violation message", example = "Email should be valid")
+    private String message;
+}
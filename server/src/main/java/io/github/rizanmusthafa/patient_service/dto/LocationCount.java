@@ -0,0 +1,22 @@
+package io.github.rizanmusthafa.patient_service.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Number of patients in a location")
+public class LocationCount {
+
+    @Schema(description = "State or province, null for patients without one", example = "NY")
+    private String state;
+
+    @Schema(description = "City, null when grouped by state or for patients without one", example = "New York")
+    private String city;
+
+    @Schema(description = "Number of patients", example = "1520")
+    private long count;
+}
@@ -0,0 +1,6 @@
+package io.github.rizanmusthafa.patient_service.dto;
+
+public enum LocationGrouping {
+    STATE,
+    CITY
+}
@@ -0,0 +1,36 @@
+package io.github.rizanmusthafa.patient_service.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "State of the asynchronous patch write-behind queue")
+public class PatchQueueStatus {
+
+    @Schema(description = "Whether asynchronous patching is enabled", example = "true")
+    private boolean enabled;
+
+    @Schema(description = "Number of patients with a patch waiting to be written", example = "12")
+    private int pending;
+
+    @Schema(description = "Maximum number of patients that may have a pending patch", example = "10000")
+    private int capacity;
+
+    @Schema(description = "Total number of coalesced patches written since startup", example = "5400")
+    private long flushed;
+
+    @Schema(description = "Total number of patches discarded because the patient no longer exists or the patch was rejected", example = "3")
+    private long dropped;
+
+    @Schema(description = "Total number of flush batches that failed and were retried row by row", example = "0")
+    private long failedBatches;
+
+    @Schema(description = "Timestamp of the last completed flush", example = "2024-01-15T10:30:00")
+    private LocalDateTime lastFlushAt;
+}
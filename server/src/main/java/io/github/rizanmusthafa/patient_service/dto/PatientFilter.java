@@ -0,0 +1,19 @@
+package io.github.rizanmusthafa.patient_service.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Selects patients by location; every provided field must match exactly")
+public class PatientFilter {
+
+    @Schema(description = "Patient's city", example = "New York")
+    private String city;
+
+    @Schema(description = "Patient's state or province", example = "NY")
+    private String state;
+}
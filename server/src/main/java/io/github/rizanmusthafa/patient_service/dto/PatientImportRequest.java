@@ -0,0 +1,25 @@
+package io.github.rizanmusthafa.patient_service.dto;
+
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * The items are checked by {@code PatientDtoValidator} before the job is created; the
+ * maximum size is configured with {@code patient.jobs.max-import-patients}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Patients to import in a background job")
+public class PatientImportRequest {
+
+    @NotEmpty(message = "At least one patient is required")
+    @ArraySchema(schema = @Schema(implementation = PatientDto.class))
+    private List<PatientDto> patients;
+}
@@ -0,0 +1,50 @@
+package io.github.rizanmusthafa.patient_service.dto;
+
+import io.github.rizanmusthafa.patient_service.model.JobStatus;
+import io.github.rizanmusthafa.patient_service.model.JobType;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Status and progress of an import or export job")
+public class PatientJobResponse {
+
+    @Schema(description = "Job identifier", example = "12")
+    private Long id;
+
+    @Schema(description = "Job type", example = "EXPORT")
+    private JobType type;
+
+    @Schema(description = "Job status", example = "RUNNING")
+    private JobStatus status;
+
+    @Schema(description = "Number of chunks the job is split into", example = "40")
+    private int totalChunks;
+
+    @Schema(description = "Number of chunks processed", example = "13")
+    private int completedChunks;
+
+    @Schema(description = "Patients exported or imported so far", example = "130000")
+    private long processedRows;
+
+    @Schema(description = "Fraction of chunks processed, from 0 to 1", example = "0.325")
+    private double progress;
+
+    @Schema(description = "Reason the job failed, if it did")
+    private String error;
+
+    @Schema(description = "When the job was submitted", example = "2024-01-15T10:30:00")
+    private LocalDateTime createdAt;
+
+    @Schema(description = "When the job last made progress", example = "2024-01-15T10:31:12")
+    private LocalDateTime updatedAt;
+
+    @Schema(description = "When the job completed, failed or was cancelled", example = "2024-01-15T10:32:40")
+    private LocalDateTime finishedAt;
+}
@@ -0,0 +1,25 @@
+package io.github.rizanmusthafa.patient_service.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Set of patient identifiers to resolve in a single call")
+public class PatientLookupRequest {
+
+    public static final int MAX_IDS = 500;
+
+    @NotEmpty(message = "At least one id is required")
+    @Size(max = MAX_IDS, message = "At most " + MAX_IDS + " ids can be looked up at once")
+    @Schema(description = "Patient identifiers, in the order the results should be returned", example = "[3, 1, 2]", required = true)
+    private List<@NotNull(message = "Ids must not be null") Long> ids;
+}
@@ -0,0 +1,21 @@
+package io.github.rizanmusthafa.patient_service.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Result of a batch patient lookup")
+public class PatientLookupResponse {
+
+    @Schema(description = "Patients that were found, in the order their ids were requested (duplicates removed)")
+    private List<PatientDto> patients;
+
+    @Schema(description = "Requested ids that did not match any patient", example = "[2]")
+    private List<Long> missingIds;
+}
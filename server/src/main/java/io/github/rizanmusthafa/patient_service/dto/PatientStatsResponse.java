@@ -0,0 +1,24 @@
+package io.github.rizanmusthafa.patient_service.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(description = "Aggregate patient counts")
+public class PatientStatsResponse {
+
+    @Schema(description = "Total number of live patients", example = "125000")
+    private long totalPatients;
+
+    @Schema(description = "Live patients per location, largest first")
+    private List<LocationCount> byLocation;
+
+    @Schema(description = "New patients per day in the requested range, days without registrations omitted")
+    private List<DailyCount> newPatientsPerDay;
+}
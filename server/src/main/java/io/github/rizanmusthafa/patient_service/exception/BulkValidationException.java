@@ -0,0 +1,19 @@
+package io.github.rizanmusthafa.patient_service.exception;
+
+import io.github.rizanmusthafa.patient_service.dto.ItemValidationError;
+
+import java.util.List;
+
+public class BulkValidationException extends DomainException {
+
+    private final List<ItemValidationError> errors;
+
+    public BulkValidationException(List<ItemValidationError> errors) {
+        super(errors.size() + " validation error(s) in bulk payload");
+        this.errors = errors;
+    }
+
+    public List<ItemValidationError> getErrors() {
+        return errors;
+    }
+}
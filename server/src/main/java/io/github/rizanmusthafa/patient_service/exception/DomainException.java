@@ -0,0 +1,14 @@
+package io.github.rizanmusthafa.patient_service.exception;
+
+/**
+ * Base class for exceptions that report an expected outcome to the client, such as a
+ * missing patient or an invalid request. They do not capture a stack trace or record
+ * suppressed exceptions: they are thrown on hot paths (ids probed by bots) and are
+ * handled by {@link GlobalExceptionHandler}, which never logs a trace for them.
+ */
+public abstract class DomainException extends RuntimeException {
+
+    protected DomainException(String message) {
+        super(message, null, false, false);
+    }
+}
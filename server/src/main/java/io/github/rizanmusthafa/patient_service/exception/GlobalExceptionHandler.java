@@ -1,45 +1,104 @@
 package io.github.rizanmusthafa.patient_service.exception;
 
-import org.springframework.http.HttpStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
 import java.util.HashMap;
 import java.util.Map;
 
+/**
+ * Maps exceptions to RFC 7807 {@code application/problem+json} responses with
+ * {@code type}, {@code title}, {@code status}, {@code detail} and {@code instance};
+ * validation errors add {@code fieldErrors} or {@code itemErrors}.
+ * <p>
+ * Spring MVC's own exceptions (unreadable body, unsupported method or media type, unknown
+ * resource, ...) are handled by {@link ResponseEntityExceptionHandler} and keep their 4xx
+ * status. Anything else is logged and answered with a 500 that does not reveal the cause.
+ */
+@Slf4j
 @RestControllerAdvice
-public class GlobalExceptionHandler {
+public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
 
     @ExceptionHandler(PatientNotFoundException.class)
-    public ResponseEntity<Map<String, String>> handlePatientNotFoundException(PatientNotFoundException ex) {
-        Map<String, String> error = new HashMap<>();
-        error.put("error", "Patient Not Found");
-        error.put("message", ex.getMessage());
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+    public ProblemDetail handlePatientNotFoundException(PatientNotFoundException ex) {
+        return ProblemType.PATIENT_NOT_FOUND.create(ex.getMessage());
     }
 
-    @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<Map<String, Object>> handleValidationExceptions(MethodArgumentNotValidException ex) {
-        Map<String, Object> errors = new HashMap<>();
+    @ExceptionHandler(PatchQueueFullException.class)
+    public ProblemDetail handlePatchQueueFullException(PatchQueueFullException ex) {
+        return ProblemType.PATCH_QUEUE_FULL.create(ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidSortException.class)
+    public ProblemDetail handleInvalidSortException(InvalidSortException ex) {
+        return ProblemType.INVALID_SORT.create(ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidParameterException.class)
+    public ProblemDetail handleInvalidParameterException(InvalidParameterException ex) {
+        return ProblemType.INVALID_PARAMETER.create(ex.getMessage());
+    }
+
+    /**
+     * A path or query parameter that cannot be converted, e.g. {@code /api/patient/abc}.
+     */
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ProblemDetail handleMethodArgumentTypeMismatchException(MethodArgumentTypeMismatchException ex) {
+        return ProblemType.INVALID_PARAMETER.create("Invalid value for parameter '" + ex.getName() + "'");
+    }
+
+    @Override
+    protected ResponseEntity<Object> handleMissingServletRequestParameter(MissingServletRequestParameterException ex,
+            HttpHeaders headers, HttpStatusCode status, WebRequest request) {
+        ProblemDetail problem = ProblemType.INVALID_PARAMETER.create(
+                "Missing required parameter '" + ex.getParameterName() + "'");
+        return handleExceptionInternal(ex, problem, headers, status, request);
+    }
+
+    @Override
+    protected ResponseEntity<Object> handleMethodArgumentNotValid(MethodArgumentNotValidException ex,
+            HttpHeaders headers, HttpStatusCode status, WebRequest request) {
         Map<String, String> fieldErrors = new HashMap<>();
-        
+
         ex.getBindingResult().getFieldErrors().forEach(error -> {
             fieldErrors.put(error.getField(), error.getDefaultMessage());
         });
-        
-        errors.put("error", "Validation Failed");
-        errors.put("fieldErrors", fieldErrors);
-        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(errors);
+
+        ProblemDetail problem = ProblemType.VALIDATION_FAILED.create("Request body has invalid fields");
+        problem.setProperty("fieldErrors", fieldErrors);
+        return handleExceptionInternal(ex, problem, headers, status, request);
+    }
+
+    @ExceptionHandler(JobNotFoundException.class)
+    public ProblemDetail handleJobNotFoundException(JobNotFoundException ex) {
+        return ProblemType.JOB_NOT_FOUND.create(ex.getMessage());
+    }
+
+    @ExceptionHandler(JobStateException.class)
+    public ProblemDetail handleJobStateException(JobStateException ex) {
+        return ProblemType.JOB_CONFLICT.create(ex.getMessage());
+    }
+
+    @ExceptionHandler(BulkValidationException.class)
+    public ProblemDetail handleBulkValidationException(BulkValidationException ex) {
+        ProblemDetail problem = ProblemType.VALIDATION_FAILED.create(ex.getMessage());
+        problem.setProperty("itemErrors", ex.getErrors());
+        return problem;
     }
 
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<Map<String, String>> handleGenericException(Exception ex) {
-        Map<String, String> error = new HashMap<>();
-        error.put("error", "Internal Server Error");
-        error.put("message", ex.getMessage());
-        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(error);
+    public ProblemDetail handleGenericException(Exception ex) {
+        log.error("Unhandled exception", ex);
+        return ProblemType.INTERNAL_ERROR.create("An unexpected error occurred");
     }
 }
-
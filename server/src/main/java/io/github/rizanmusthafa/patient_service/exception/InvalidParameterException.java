@@ -0,0 +1,7 @@
+package io.github.rizanmusthafa.patient_service.exception;
+
+public class InvalidParameterException extends DomainException {
+    public InvalidParameterException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package io.github.rizanmusthafa.patient_service.exception;
+
+public class InvalidSortException extends DomainException {
+    public InvalidSortException(String message) {
+        super(message);
+    }
+}
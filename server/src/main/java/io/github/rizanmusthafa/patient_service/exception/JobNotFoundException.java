@@ -0,0 +1,7 @@
+package io.github.rizanmusthafa.patient_service.exception;
+
+public class JobNotFoundException extends DomainException {
+    public JobNotFoundException(String message) {
+        super(message);
+    }
+}
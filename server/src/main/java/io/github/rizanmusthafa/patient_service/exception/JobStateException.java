@@ -0,0 +1,7 @@
+package io.github.rizanmusthafa.patient_service.exception;
+
+public class JobStateException extends DomainException {
+    public JobStateException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package io.github.rizanmusthafa.patient_service.exception;
+
+public class PatchQueueFullException extends DomainException {
+    public PatchQueueFullException(String message) {
+        super(message);
+    }
+}
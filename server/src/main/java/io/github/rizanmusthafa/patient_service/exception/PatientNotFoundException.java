@@ -1,6 +1,6 @@
 package io.github.rizanmusthafa.patient_service.exception;
 
-public class PatientNotFoundException extends RuntimeException {
+public class PatientNotFoundException extends DomainException {
     public PatientNotFoundException(String message) {
         super(message);
     }
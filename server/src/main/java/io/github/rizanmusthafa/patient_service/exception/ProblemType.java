@@ -0,0 +1,40 @@
+package io.github.rizanmusthafa.patient_service.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+
+import java.net.URI;
+
+/**
+ * RFC 7807 problem types returned by {@link GlobalExceptionHandler}. Type URIs and
+ * titles are built once; an error response only adds its detail.
+ */
+enum ProblemType {
+    PATIENT_NOT_FOUND(HttpStatus.NOT_FOUND, "patient-not-found", "Patient Not Found"),
+    JOB_NOT_FOUND(HttpStatus.NOT_FOUND, "job-not-found", "Job Not Found"),
+    JOB_CONFLICT(HttpStatus.CONFLICT, "job-conflict", "Conflict"),
+    INVALID_SORT(HttpStatus.BAD_REQUEST, "invalid-sort", "Invalid Sort"),
+    INVALID_PARAMETER(HttpStatus.BAD_REQUEST, "invalid-parameter", "Invalid Parameter"),
+    VALIDATION_FAILED(HttpStatus.BAD_REQUEST, "validation-failed", "Validation Failed"),
+    PATCH_QUEUE_FULL(HttpStatus.SERVICE_UNAVAILABLE, "patch-queue-full", "Service Unavailable"),
+    INTERNAL_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "internal-error", "Internal Server Error");
+
+    private static final String TYPE_PREFIX = "urn:patient-service:problem:";
+
+    private final HttpStatus status;
+    private final URI type;
+    private final String title;
+
+    ProblemType(HttpStatus status, String name, String title) {
+        this.status = status;
+        this.type = URI.create(TYPE_PREFIX + name);
+        this.title = title;
+    }
+
+    ProblemDetail create(String detail) {
+        ProblemDetail problem = ProblemDetail.forStatusAndDetail(status, detail);
+        problem.setType(type);
+        problem.setTitle(title);
+        return problem;
+    }
+}
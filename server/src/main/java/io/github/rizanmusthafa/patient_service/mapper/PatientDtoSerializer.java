@@ -0,0 +1,124 @@
+package io.github.rizanmusthafa.patient_service.mapper;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import io.github.rizanmusthafa.patient_service.dto.PatientDto;
+import org.springframework.boot.jackson.JsonComponent;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes {@link PatientDto} without reflection or bean introspection, the hot path of
+ * every list response. Field names are pre-encoded, and timestamps are formatted into a
+ * char buffer instead of through {@link DateTimeFormatter}, which allocates a builder
+ * and a string per value.
+ * <p>
+ * The output is identical to Jackson's default serialization of the DTO (including
+ * nulls and ISO-8601 timestamps); PatientDtoSerializerTest compares the two. Keep the
+ * fields in step with {@link PatientDto}.
+ */
+@JsonComponent
+public class PatientDtoSerializer extends StdSerializer<PatientDto> {
+
+    private static final SerializableString ID = new SerializedString("id");
+    private static final SerializableString FIRST_NAME = new SerializedString("firstName");
+    private static final SerializableString LAST_NAME = new SerializedString("lastName");
+    private static final SerializableString ADDRESS = new SerializedString("address");
+    private static final SerializableString CITY = new SerializedString("city");
+    private static final SerializableString STATE = new SerializedString("state");
+    private static final SerializableString ZIP_CODE = new SerializedString("zipCode");
+    private static final SerializableString PHONE_NUMBER = new SerializedString("phoneNumber");
+    private static final SerializableString EMAIL = new SerializedString("email");
+    private static final SerializableString CREATED_AT = new SerializedString("createdAt");
+    private static final SerializableString UPDATED_AT = new SerializedString("updatedAt");
+
+    /** Longest ISO_LOCAL_DATE_TIME output for a four-digit year: yyyy-MM-ddTHH:mm:ss.nnnnnnnnn */
+    private static final int MAX_TIMESTAMP_LENGTH = 29;
+
+    public PatientDtoSerializer() {
+        super(PatientDto.class);
+    }
+
+    @Override
+    public void serialize(PatientDto dto, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        gen.writeStartObject(dto);
+        gen.writeFieldName(ID);
+        if (dto.getId() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(dto.getId());
+        }
+        writeString(gen, FIRST_NAME, dto.getFirstName());
+        writeString(gen, LAST_NAME, dto.getLastName());
+        writeString(gen, ADDRESS, dto.getAddress());
+        writeString(gen, CITY, dto.getCity());
+        writeString(gen, STATE, dto.getState());
+        writeString(gen, ZIP_CODE, dto.getZipCode());
+        writeString(gen, PHONE_NUMBER, dto.getPhoneNumber());
+        writeString(gen, EMAIL, dto.getEmail());
+        char[] buffer = new char[MAX_TIMESTAMP_LENGTH];
+        writeTimestamp(gen, CREATED_AT, dto.getCreatedAt(), buffer);
+        writeTimestamp(gen, UPDATED_AT, dto.getUpdatedAt(), buffer);
+        gen.writeEndObject();
+    }
+
+    private static void writeString(JsonGenerator gen, SerializableString name, String value) throws IOException {
+        gen.writeFieldName(name);
+        gen.writeString(value);
+    }
+
+    private static void writeTimestamp(JsonGenerator gen, SerializableString name, LocalDateTime value,
+                                       char[] buffer) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else if (value.getYear() < 0 || value.getYear() > 9999) {
+            // ISO_LOCAL_DATE_TIME adds a sign for these; not worth a fast path
+            gen.writeString(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value));
+        } else {
+            gen.writeString(buffer, 0, formatIsoLocalDateTime(value, buffer));
+        }
+    }
+
+    /**
+     * Formats like {@link DateTimeFormatter#ISO_LOCAL_DATE_TIME} for years 0-9999: seconds
+     * are always written, the fraction only when non-zero and without trailing zeros.
+     */
+    static int formatIsoLocalDateTime(LocalDateTime value, char[] buffer) {
+        writeDigits(buffer, 0, value.getYear(), 4);
+        buffer[4] = '-';
+        writeDigits(buffer, 5, value.getMonthValue(), 2);
+        buffer[7] = '-';
+        writeDigits(buffer, 8, value.getDayOfMonth(), 2);
+        buffer[10] = 'T';
+        writeDigits(buffer, 11, value.getHour(), 2);
+        buffer[13] = ':';
+        writeDigits(buffer, 14, value.getMinute(), 2);
+        buffer[16] = ':';
+        writeDigits(buffer, 17, value.getSecond(), 2);
+        int nano = value.getNano();
+        if (nano == 0) {
+            return 19;
+        }
+        int digits = 9;
+        while (nano % 10 == 0) {
+            nano /= 10;
+            digits--;
+        }
+        buffer[19] = '.';
+        writeDigits(buffer, 20, nano, digits);
+        return 20 + digits;
+    }
+
+    private static void writeDigits(char[] buffer, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package io.github.rizanmusthafa.patient_service.migration;
+
+import io.github.rizanmusthafa.patient_service.crypto.PiiCipher;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Encrypts the address, phone number and email of existing patients and archived
+ * patients with the active key, the same way the entity's attribute converters do (see
+ * V9 for the column changes).
+ * <p>
+ * Walks each table in id order, {@value #BATCH_SIZE} rows at a time, and commits after
+ * every batch so no long transaction holds row locks. Values that are already encrypted
+ * are left alone, so the migration can be interrupted and run again. Plaintext written
+ * meanwhile by an instance still on the previous version stays readable and is found by
+ * the email and phone lookups, which also match plaintext; it is encrypted on its next
+ * update.
+ * <p>
+ * Import job payloads (JSON lists of patients) are encrypted too, one job per commit.
+ * Payloads of completed imports are no longer needed and are deleted instead.
+ * <p>
+ * Registered as a bean, like V3, which also gives it the application's {@link PiiCipher}.
+ */
+@Slf4j
+@Component
+public class V10__Encrypt_patient_pii extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 1_000;
+
+    private final PiiCipher piiCipher;
+
+    public V10__Encrypt_patient_pii(PiiCipher piiCipher) {
+        this.piiCipher = piiCipher;
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            encryptTable(connection, "patients");
+            encryptTable(connection, "patients_archive");
+            encryptJobPayloads(connection);
+        } catch (SQLException ex) {
+            connection.rollback();
+            throw ex;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private void encryptTable(Connection connection, String table) throws SQLException {
+        String select = "SELECT id, address, phone_number, email FROM " + table
+                + " WHERE id > ? ORDER BY id LIMIT " + BATCH_SIZE + " FOR UPDATE";
+        String update = "UPDATE " + table + " SET address = ?, phone_number = ?, email = ? WHERE id = ?";
+        long lastId = 0;
+        long encrypted = 0;
+        try (PreparedStatement query = connection.prepareStatement(select);
+             PreparedStatement statement = connection.prepareStatement(update)) {
+            int rows;
+            do {
+                rows = 0;
+                int pending = 0;
+                query.setLong(1, lastId);
+                try (ResultSet resultSet = query.executeQuery()) {
+                    while (resultSet.next()) {
+                        rows++;
+                        lastId = resultSet.getLong(1);
+                        String address = resultSet.getString(2);
+                        String phoneNumber = resultSet.getString(3);
+                        String email = resultSet.getString(4);
+                        if (isPlaintext(address) || isPlaintext(phoneNumber) || isPlaintext(email)) {
+                            statement.setString(1, isPlaintext(address) ? piiCipher.encrypt(address) : address);
+                            statement.setString(2, isPlaintext(phoneNumber) ? piiCipher.encryptDeterministic(phoneNumber) : phoneNumber);
+                            statement.setString(3, isPlaintext(email) ? piiCipher.encryptDeterministic(email) : email);
+                            statement.setLong(4, lastId);
+                            statement.addBatch();
+                            pending++;
+                        }
+                    }
+                }
+                if (pending > 0) {
+                    statement.executeBatch();
+                    encrypted += pending;
+                }
+                connection.commit();
+            } while (rows == BATCH_SIZE);
+        }
+        log.info("Encrypted PII of {} rows in {}", encrypted, table);
+    }
+
+    private void encryptJobPayloads(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            int deleted = statement.executeUpdate(
+                    "UPDATE patient_jobs SET payload = NULL WHERE payload IS NOT NULL AND status = 'COMPLETED'");
+            connection.commit();
+            log.info("Deleted {} payloads of completed import jobs", deleted);
+        }
+        List<Long> ids = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(
+                     "SELECT id FROM patient_jobs WHERE payload IS NOT NULL AND payload NOT LIKE 'enc:%' ORDER BY id")) {
+            while (resultSet.next()) {
+                ids.add(resultSet.getLong(1));
+            }
+        }
+        try (PreparedStatement query = connection.prepareStatement(
+                     "SELECT payload FROM patient_jobs WHERE id = ? FOR UPDATE");
+             PreparedStatement update = connection.prepareStatement(
+                     "UPDATE patient_jobs SET payload = ? WHERE id = ?")) {
+            for (Long id : ids) {
+                query.setLong(1, id);
+                try (ResultSet resultSet = query.executeQuery()) {
+                    if (resultSet.next() && isPlaintext(resultSet.getString(1))) {
+                        update.setString(1, piiCipher.encrypt(resultSet.getString(1)));
+                        update.setLong(2, id);
+                        update.executeUpdate();
+                    }
+                }
+                connection.commit();
+            }
+        }
+        log.info("Encrypted {} import job payloads", ids.size());
+    }
+
+    private static boolean isPlaintext(String value) {
+        return value != null && !PiiCipher.isEncrypted(value);
+    }
+}
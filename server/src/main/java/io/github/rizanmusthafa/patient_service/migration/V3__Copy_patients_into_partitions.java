@@ -0,0 +1,116 @@
+package io.github.rizanmusthafa.patient_service.migration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Step 2 of moving patients to a hash-partitioned table (see V2).
+ * <p>
+ * Copies the existing rows into {@code patients_partitioned} in id ranges of
+ * {@value #BATCH_SIZE}, committing after each range so no long transaction holds locks
+ * or bloats the table while the copy runs. The mirror trigger from V2 keeps concurrent
+ * writes in step. Source rows are read {@code FOR SHARE} so a row being updated or
+ * deleted concurrently is either copied after that write commits or skipped.
+ * <p>
+ * Once everything is copied, a short transaction takes an exclusive lock on the old
+ * table and swaps the names. The old table is kept as {@code patients_legacy} until V11
+ * drops it.
+ * <p>
+ * Registered as a bean so Spring Boot hands it to Flyway, which also works in AOT and
+ * native builds where classpath scanning for Java migrations is not available.
+ */
+@Slf4j
+@Component
+public class V3__Copy_patients_into_partitions extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 10_000;
+
+    private static final String COPY_BATCH = """
+            INSERT INTO patients_partitioned (id, first_name, last_name, address, city, state, zip_code,
+                                              phone_number, email, created_at, updated_at)
+            SELECT id, first_name, last_name, address, city, state, zip_code,
+                   phone_number, email, created_at, updated_at
+            FROM patients
+            WHERE id > ? AND id <= ?
+            FOR SHARE
+            ON CONFLICT (id) DO NOTHING
+            """;
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return false;
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            long maxId = queryMaxId(connection);
+            copyInBatches(connection, maxId);
+            swapTables(connection);
+        } catch (SQLException ex) {
+            connection.rollback();
+            throw ex;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private long queryMaxId(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM patients")) {
+            resultSet.next();
+            long maxId = resultSet.getLong(1);
+            connection.commit();
+            return maxId;
+        }
+    }
+
+    private void copyInBatches(Connection connection, long maxId) throws SQLException {
+        long copied = 0;
+        try (PreparedStatement statement = connection.prepareStatement(COPY_BATCH)) {
+            for (long from = 0; from < maxId; from += BATCH_SIZE) {
+                statement.setLong(1, from);
+                statement.setLong(2, Math.min(from + BATCH_SIZE, maxId));
+                copied += statement.executeUpdate();
+                connection.commit();
+            }
+        }
+        log.info("Copied {} patients into patients_partitioned", copied);
+    }
+
+    private void swapTables(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            // Blocks writers for the duration of the renames only; every row is already
+            // copied and the trigger has mirrored everything written since.
+            statement.execute("LOCK TABLE patients IN ACCESS EXCLUSIVE MODE");
+            statement.execute("DROP TRIGGER trg_patients_mirror_to_partitioned ON patients");
+            statement.execute("DROP FUNCTION mirror_patients_to_partitioned()");
+
+            statement.execute("ALTER TABLE patients RENAME TO patients_legacy");
+            statement.execute("ALTER TABLE patients_legacy RENAME CONSTRAINT patients_pkey TO patients_legacy_pkey");
+            statement.execute("ALTER INDEX idx_patients_first_name RENAME TO idx_patients_legacy_first_name");
+            statement.execute("ALTER INDEX idx_patients_last_name RENAME TO idx_patients_legacy_last_name");
+
+            statement.execute("ALTER TABLE patients_partitioned RENAME TO patients");
+            statement.execute("ALTER TABLE patients RENAME CONSTRAINT patients_partitioned_pkey TO patients_pkey");
+            statement.execute("ALTER INDEX idx_patients_partitioned_first_name RENAME TO idx_patients_first_name");
+            statement.execute("ALTER INDEX idx_patients_partitioned_last_name RENAME TO idx_patients_last_name");
+
+            statement.execute("ALTER SEQUENCE patients_id_seq OWNED BY patients.id");
+            statement.execute("ALTER TABLE patients_legacy ALTER COLUMN id DROP DEFAULT");
+        }
+        connection.commit();
+        log.info("Swapped patients to the partitioned table, previous table kept as patients_legacy");
+    }
+}
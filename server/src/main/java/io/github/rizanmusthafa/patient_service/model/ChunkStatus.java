@@ -0,0 +1,7 @@
+package io.github.rizanmusthafa.patient_service.model;
+
+public enum ChunkStatus {
+  PENDING,
+  DONE,
+  FAILED
+}
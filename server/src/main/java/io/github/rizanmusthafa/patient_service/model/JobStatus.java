@@ -0,0 +1,9 @@
+package io.github.rizanmusthafa.patient_service.model;
+
+public enum JobStatus {
+  PENDING,
+  RUNNING,
+  COMPLETED,
+  FAILED,
+  CANCELLED
+}
@@ -0,0 +1,6 @@
+package io.github.rizanmusthafa.patient_service.model;
+
+public enum JobType {
+  EXPORT,
+  IMPORT
+}
@@ -1,15 +1,21 @@
 package io.github.rizanmusthafa.patient_service.model;
 
+import io.github.rizanmusthafa.patient_service.crypto.DeterministicEncryptedStringConverter;
+import io.github.rizanmusthafa.patient_service.crypto.EncryptedStringConverter;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.SQLDelete;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "patients")
+@SQLDelete(sql = "UPDATE patients SET deleted_at = CURRENT_TIMESTAMP WHERE id = ?")
+@SQLRestriction("deleted_at IS NULL")
 @Getter
 @Setter
 @NoArgsConstructor
@@ -26,7 +32,10 @@ public class Patient {
   @Column(name = "last_name")
   private String lastName;
 
+  // Address, phone number and email are encrypted at rest; email and phone number
+  // deterministically, so they can be looked up (see PatientRepository)
   @Column(name = "address")
+  @Convert(converter = EncryptedStringConverter.class)
   private String address;
 
   @Column(name = "city")
@@ -39,9 +48,11 @@ public class Patient {
   private String zipCode;
 
   @Column(name = "phone_number")
+  @Convert(converter = DeterministicEncryptedStringConverter.class)
   private String phoneNumber;
 
   @Column(name = "email")
+  @Convert(converter = DeterministicEncryptedStringConverter.class)
   private String email;
 
   @Column(name = "created_at")
@@ -50,6 +61,9 @@ public class Patient {
   @Column(name = "updated_at")
   private LocalDateTime updatedAt;
 
+  @Column(name = "deleted_at")
+  private LocalDateTime deletedAt;
+
   @PrePersist
   protected void onCreate() {
     createdAt = LocalDateTime.now();
@@ -0,0 +1,46 @@
+package io.github.rizanmusthafa.patient_service.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * One shard of the number of patients registered per day, maintained by database
+ * triggers on patients (see V6 migration). The count of a day is the sum over its
+ * shards. Read-only from the application.
+ */
+@Entity
+@Immutable
+@Table(name = "patient_daily_counts")
+@IdClass(PatientDailyCount.Key.class)
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatientDailyCount {
+
+  @Id
+  @Column(name = "day")
+  private LocalDate day;
+
+  @Id
+  @Column(name = "shard")
+  private Short shard;
+
+  @Column(name = "created_count")
+  private Long createdCount;
+
+  @Getter
+  @NoArgsConstructor
+  @AllArgsConstructor
+  @EqualsAndHashCode
+  public static class Key implements Serializable {
+    private LocalDate day;
+    private Short shard;
+  }
+}
@@ -0,0 +1,63 @@
+package io.github.rizanmusthafa.patient_service.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "patient_jobs")
+@Getter
+@Setter
+@NoArgsConstructor
+public class PatientJob {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "type")
+  private JobType type;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "status")
+  private JobStatus status;
+
+  @Column(name = "total_chunks")
+  private int totalChunks;
+
+  @Column(name = "completed_chunks")
+  private int completedChunks;
+
+  @Column(name = "processed_rows")
+  private long processedRows;
+
+  @Column(name = "error")
+  private String error;
+
+  @Column(name = "created_at")
+  private LocalDateTime createdAt;
+
+  @Column(name = "updated_at")
+  private LocalDateTime updatedAt;
+
+  @Column(name = "finished_at")
+  private LocalDateTime finishedAt;
+
+  // The import payload column is not mapped, so polling a job never loads it; see
+  // PatientJobRepository#savePayload and #findPayloadById.
+  public PatientJob(JobType type, int totalChunks) {
+    this.type = type;
+    this.status = JobStatus.PENDING;
+    this.totalChunks = totalChunks;
+  }
+
+  @PrePersist
+  protected void onCreate() {
+    createdAt = LocalDateTime.now();
+    updatedAt = LocalDateTime.now();
+  }
+}
@@ -0,0 +1,53 @@
+package io.github.rizanmusthafa.patient_service.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "patient_job_chunks")
+@Getter
+@Setter
+@NoArgsConstructor
+public class PatientJobChunk {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "job_id")
+  private Long jobId;
+
+  @Column(name = "chunk_no")
+  private int chunkNo;
+
+  @Column(name = "range_start")
+  private long rangeStart;
+
+  @Column(name = "range_end")
+  private long rangeEnd;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "status")
+  private ChunkStatus status;
+
+  @Column(name = "processed_rows")
+  private int processedRows;
+
+  @Column(name = "error")
+  private String error;
+
+  @Column(name = "completed_at")
+  private LocalDateTime completedAt;
+
+  public PatientJobChunk(Long jobId, int chunkNo, long rangeStart, long rangeEnd) {
+    this.jobId = jobId;
+    this.chunkNo = chunkNo;
+    this.rangeStart = rangeStart;
+    this.rangeEnd = rangeEnd;
+    this.status = ChunkStatus.PENDING;
+  }
+}
@@ -0,0 +1,50 @@
+package io.github.rizanmusthafa.patient_service.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serializable;
+
+/**
+ * One shard of the number of live patients per state and city, maintained by database
+ * triggers on patients (see V6 migration). The count of a location is the sum over its
+ * shards. Read-only from the application.
+ */
+@Entity
+@Immutable
+@Table(name = "patient_location_counts")
+@IdClass(PatientLocationCount.Key.class)
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PatientLocationCount {
+
+  @Id
+  @Column(name = "state")
+  private String state;
+
+  @Id
+  @Column(name = "city")
+  private String city;
+
+  @Id
+  @Column(name = "shard")
+  private Short shard;
+
+  @Column(name = "patient_count")
+  private Long patientCount;
+
+  @Getter
+  @NoArgsConstructor
+  @AllArgsConstructor
+  @EqualsAndHashCode
+  public static class Key implements Serializable {
+    private String state;
+    private String city;
+    private Short shard;
+  }
+}
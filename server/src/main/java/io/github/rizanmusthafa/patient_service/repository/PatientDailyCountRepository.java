@@ -0,0 +1,19 @@
+package io.github.rizanmusthafa.patient_service.repository;
+
+import io.github.rizanmusthafa.patient_service.dto.DailyCount;
+import io.github.rizanmusthafa.patient_service.model.PatientDailyCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface PatientDailyCountRepository extends JpaRepository<PatientDailyCount, PatientDailyCount.Key> {
+
+    @Query("SELECT new io.github.rizanmusthafa.patient_service.dto.DailyCount(c.day, SUM(c.createdCount)) "
+            + "FROM PatientDailyCount c WHERE c.day BETWEEN :from AND :to GROUP BY c.day ORDER BY c.day")
+    List<DailyCount> countByDayBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
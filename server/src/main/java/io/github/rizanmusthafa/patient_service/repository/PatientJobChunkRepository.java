@@ -0,0 +1,41 @@
+package io.github.rizanmusthafa.patient_service.repository;
+
+import io.github.rizanmusthafa.patient_service.model.ChunkStatus;
+import io.github.rizanmusthafa.patient_service.model.PatientJobChunk;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PatientJobChunkRepository extends JpaRepository<PatientJobChunk, Long> {
+
+    List<PatientJobChunk> findByJobIdAndStatusNotOrderByChunkNo(Long jobId, ChunkStatus status);
+
+    List<PatientJobChunk> findByJobIdOrderByChunkNo(Long jobId);
+
+    long countByJobIdAndStatus(Long jobId, ChunkStatus status);
+
+    /**
+     * Records the chunk as done in the caller's transaction.
+     *
+     * @return 0 if the chunk was already done, e.g. by a run that took over the job
+     */
+    @Modifying
+    @Query("UPDATE PatientJobChunk c SET c.status = io.github.rizanmusthafa.patient_service.model.ChunkStatus.DONE, "
+            + "c.processedRows = :rows, c.error = NULL, c.completedAt = CURRENT_TIMESTAMP WHERE c.id = :id "
+            + "AND c.status <> io.github.rizanmusthafa.patient_service.model.ChunkStatus.DONE")
+    int markDone(@Param("id") Long id, @Param("rows") int rows);
+
+    /**
+     * Records the chunk as failed, unless it is done: a done chunk is never run again.
+     */
+    @Modifying
+    @Query("UPDATE PatientJobChunk c SET c.status = io.github.rizanmusthafa.patient_service.model.ChunkStatus.FAILED, "
+            + "c.processedRows = 0, c.error = :error, c.completedAt = CURRENT_TIMESTAMP WHERE c.id = :id "
+            + "AND c.status <> io.github.rizanmusthafa.patient_service.model.ChunkStatus.DONE")
+    int markFailed(@Param("id") Long id, @Param("error") String error);
+}
@@ -0,0 +1,66 @@
+package io.github.rizanmusthafa.patient_service.repository;
+
+import io.github.rizanmusthafa.patient_service.model.JobStatus;
+import io.github.rizanmusthafa.patient_service.model.PatientJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Status changes are conditional updates, so concurrent requests and instances agree on
+ * who runs a job without holding locks.
+ */
+@Repository
+public interface PatientJobRepository extends JpaRepository<PatientJob, Long> {
+
+    List<PatientJob> findTop20ByOrderByIdDesc();
+
+    @Query("SELECT j.status FROM PatientJob j WHERE j.id = :id")
+    Optional<JobStatus> findStatusById(@Param("id") Long id);
+
+    @Modifying
+    @Query(value = "UPDATE patient_jobs SET payload = :payload WHERE id = :id", nativeQuery = true)
+    int savePayload(@Param("id") Long id, @Param("payload") String payload);
+
+    @Query(value = "SELECT payload FROM patient_jobs WHERE id = :id", nativeQuery = true)
+    String findPayloadById(@Param("id") Long id);
+
+    /**
+     * Marks the job RUNNING if it is in one of the {@code from} states, or RUNNING but not
+     * updated since {@code staleBefore}.
+     *
+     * @return 1 if this caller now owns the run, 0 otherwise
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE PatientJob j SET j.status = :running, j.error = NULL, j.finishedAt = NULL, "
+            + "j.updatedAt = CURRENT_TIMESTAMP WHERE j.id = :id "
+            + "AND (j.status IN :from OR (j.status = :running AND j.updatedAt < :staleBefore))")
+    int claim(@Param("id") Long id, @Param("from") Collection<JobStatus> from,
+              @Param("running") JobStatus running, @Param("staleBefore") LocalDateTime staleBefore);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE PatientJob j SET j.status = :to, j.error = :error, j.finishedAt = CURRENT_TIMESTAMP, "
+            + "j.updatedAt = CURRENT_TIMESTAMP WHERE j.id = :id AND j.status IN :from")
+    int transition(@Param("id") Long id, @Param("from") Collection<JobStatus> from,
+                   @Param("to") JobStatus to, @Param("error") String error);
+
+    /**
+     * Heartbeat of the jobs running on this instance, so {@link #claim} does not consider
+     * them abandoned while their chunks wait for a permit or run.
+     */
+    @Modifying
+    @Query("UPDATE PatientJob j SET j.updatedAt = CURRENT_TIMESTAMP WHERE j.id IN :ids AND j.status = :running")
+    int touch(@Param("ids") Collection<Long> ids, @Param("running") JobStatus running);
+
+    @Modifying
+    @Query("UPDATE PatientJob j SET j.completedChunks = j.completedChunks + 1, "
+            + "j.processedRows = j.processedRows + :rows, j.updatedAt = CURRENT_TIMESTAMP WHERE j.id = :id")
+    int recordChunkDone(@Param("id") Long id, @Param("rows") long rows);
+}
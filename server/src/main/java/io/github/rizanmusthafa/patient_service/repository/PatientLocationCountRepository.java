@@ -0,0 +1,28 @@
+package io.github.rizanmusthafa.patient_service.repository;
+
+import io.github.rizanmusthafa.patient_service.dto.LocationCount;
+import io.github.rizanmusthafa.patient_service.model.PatientLocationCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PatientLocationCountRepository extends JpaRepository<PatientLocationCount, PatientLocationCount.Key> {
+
+    @Query("SELECT COALESCE(SUM(c.patientCount), 0) FROM PatientLocationCount c")
+    long sumPatientCount();
+
+    // Counters are sharded (see V6): sum the shards, then drop locations without patients
+
+    @Query("SELECT new io.github.rizanmusthafa.patient_service.dto.LocationCount(c.state, '', SUM(c.patientCount)) "
+            + "FROM PatientLocationCount c GROUP BY c.state HAVING SUM(c.patientCount) > 0 "
+            + "ORDER BY SUM(c.patientCount) DESC")
+    List<LocationCount> countByState();
+
+    @Query("SELECT new io.github.rizanmusthafa.patient_service.dto.LocationCount(c.state, c.city, SUM(c.patientCount)) "
+            + "FROM PatientLocationCount c GROUP BY c.state, c.city HAVING SUM(c.patientCount) > 0 "
+            + "ORDER BY SUM(c.patientCount) DESC")
+    List<LocationCount> countByCity();
+}
@@ -1,13 +1,135 @@
 package io.github.rizanmusthafa.patient_service.repository;
 
 import io.github.rizanmusthafa.patient_service.model.Patient;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * The patients table is hash-partitioned on id (see V2/V3 migrations). Lookups by id,
+ * including {@link #findAllByIdIn(Long[])}, are pruned to the matching partitions;
+ * queries without an id predicate scan every partition.
+ * <p>
+ * Deletes are soft (see {@link Patient}). Derived and JPQL queries exclude deleted rows
+ * automatically; native queries must filter on {@code deleted_at IS NULL} themselves.
+ */
 @Repository
-public interface PatientRepository extends JpaRepository<Patient, Long> {
+public interface PatientRepository extends JpaRepository<Patient, Long>, PatientRepositoryCustom {
     Page<Patient> findAll(Pageable pageable);
-}
 
+    /**
+     * Resolves many ids with one statement and a single bound array parameter, so the
+     * SQL text (and its prepared statement) is the same regardless of how many ids are passed.
+     */
+    @Query(value = "SELECT * FROM patients WHERE id = ANY(:ids) AND deleted_at IS NULL", nativeQuery = true)
+    List<Patient> findAllByIdIn(@Param("ids") Long[] ids);
+
+    /**
+     * Returns the next {@code limit} ids after {@code afterId} matching the filter, in id
+     * order, so bulk operations can walk a large match set in fixed-size chunks.
+     */
+    @Query("SELECT p.id FROM Patient p WHERE (:city IS NULL OR p.city = :city) "
+            + "AND (:state IS NULL OR p.state = :state) AND p.id > :afterId ORDER BY p.id")
+    List<Long> findIdsByFilter(@Param("city") String city, @Param("state") String state,
+                               @Param("afterId") long afterId, Limit limit);
+
+    /**
+     * Live patients whose lower-cased last or first name starts with {@code prefix}, which
+     * must be lower-case, end in {@code %} and escape LIKE wildcards with {@code \}.
+     * Backed by the V8 prefix indexes.
+     */
+    @Query("SELECT p FROM Patient p WHERE lower(p.lastName) LIKE :prefix ESCAPE '\\' "
+            + "OR lower(p.firstName) LIKE :prefix ESCAPE '\\'")
+    Page<Patient> searchByNamePrefix(@Param("prefix") String prefix, Pageable pageable);
+
+    /**
+     * Live patients whose stored email is one of {@code values}, the candidates from
+     * {@code PiiCipher.lookupValues}: the column holds deterministic ciphertexts, so an
+     * equality match on them uses the V9 index, probed once per partition.
+     */
+    @Query(value = "SELECT * FROM patients WHERE email = ANY(:values) AND deleted_at IS NULL ORDER BY id",
+            nativeQuery = true)
+    List<Patient> findAllByEmailIn(@Param("values") String[] values);
+
+    /**
+     * Like {@link #findAllByEmailIn(String[])}, for the phone number.
+     */
+    @Query(value = "SELECT * FROM patients WHERE phone_number = ANY(:values) AND deleted_at IS NULL ORDER BY id",
+            nativeQuery = true)
+    List<Patient> findAllByPhoneNumberIn(@Param("values") String[] values);
+
+    /**
+     * Live patients with the given ids, locked until the transaction ends. Locked in id
+     * order, so two callers with overlapping ids cannot deadlock.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Patient p WHERE p.id IN :ids ORDER BY p.id")
+    List<Patient> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT MIN(p.id) AS minId, MAX(p.id) AS maxId FROM Patient p")
+    IdRange findIdRange();
+
+    /**
+     * Live patients with ids in {@code [start, end]}, in id order. Used by export jobs,
+     * which split the id space into ranges.
+     */
+    @Query("SELECT p FROM Patient p WHERE p.id BETWEEN :start AND :end ORDER BY p.id")
+    List<Patient> findByIdRange(@Param("start") long start, @Param("end") long end);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Patient p SET p.deletedAt = CURRENT_TIMESTAMP WHERE p.id IN :ids AND p.deletedAt IS NULL")
+    int softDeleteAllById(@Param("ids") Collection<Long> ids);
+
+    /**
+     * {@code now} comes from the JVM clock, as in every other {@code updated_at} write, so a
+     * restored patient is not stamped with the database server's time.
+     */
+    @Modifying
+    @Query(value = "UPDATE patients SET deleted_at = NULL, updated_at = :now "
+            + "WHERE id = :id AND deleted_at IS NOT NULL", nativeQuery = true)
+    int restoreById(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    /**
+     * Moves up to {@code batchSize} patients deleted before {@code cutoff} into
+     * patients_archive in one statement and its own short transaction. Rows locked by
+     * a concurrent restore are skipped and picked up by a later run.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+            WITH moved AS (
+                DELETE FROM patients
+                WHERE id IN (SELECT id FROM patients
+                             WHERE deleted_at < :cutoff
+                             ORDER BY deleted_at
+                             LIMIT :batchSize
+                             FOR UPDATE SKIP LOCKED)
+                RETURNING id, first_name, last_name, address, city, state, zip_code,
+                          phone_number, email, created_at, updated_at, deleted_at
+            )
+            INSERT INTO patients_archive (id, first_name, last_name, address, city, state, zip_code,
+                                          phone_number, email, created_at, updated_at, deleted_at)
+            SELECT id, first_name, last_name, address, city, state, zip_code,
+                   phone_number, email, created_at, updated_at, deleted_at
+            FROM moved
+            """, nativeQuery = true)
+    int archiveDeletedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
+
+    interface IdRange {
+        Long getMinId();
+
+        Long getMaxId();
+    }
+}
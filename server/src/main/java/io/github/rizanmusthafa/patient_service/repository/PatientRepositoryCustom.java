@@ -0,0 +1,14 @@
+package io.github.rizanmusthafa.patient_service.repository;
+
+import io.github.rizanmusthafa.patient_service.dto.BulkPatchChanges;
+
+import java.util.Collection;
+
+public interface PatientRepositoryCustom {
+
+    /**
+     * Sets the non-null fields of {@code changes} on every live patient in {@code ids}
+     * with a single UPDATE statement and returns the number of rows changed.
+     */
+    int patchAllById(Collection<Long> ids, BulkPatchChanges changes);
+}
@@ -0,0 +1,53 @@
+package io.github.rizanmusthafa.patient_service.repository;
+
+import io.github.rizanmusthafa.patient_service.dto.BulkPatchChanges;
+import io.github.rizanmusthafa.patient_service.model.Patient;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Root;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+public class PatientRepositoryCustomImpl implements PatientRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int patchAllById(Collection<Long> ids, BulkPatchChanges changes) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Patient> update = builder.createCriteriaUpdate(Patient.class);
+        Root<Patient> patient = update.from(Patient.class);
+
+        // Criteria assignments are bound through the entity mapping, so the address goes
+        // through EncryptedStringConverter as it would for a managed entity. It is encrypted
+        // once per statement: every row of the chunk stores the same ciphertext, which only
+        // reveals that they were patched together.
+        if (changes.getAddress() != null) {
+            update.set(patient.<String>get("address"), changes.getAddress());
+        }
+        if (changes.getCity() != null) {
+            update.set(patient.<String>get("city"), changes.getCity());
+        }
+        if (changes.getState() != null) {
+            update.set(patient.<String>get("state"), changes.getState());
+        }
+        if (changes.getZipCode() != null) {
+            update.set(patient.<String>get("zipCode"), changes.getZipCode());
+        }
+        update.set(patient.<LocalDateTime>get("updatedAt"), LocalDateTime.now());
+        update.where(
+                patient.get("id").in(ids),
+                builder.isNull(patient.get("deletedAt")));
+
+        // Bulk statements bypass the persistence context: flush pending changes first and
+        // drop managed instances afterwards so later reads in this transaction see the update.
+        entityManager.flush();
+        int updated = entityManager.createQuery(update).executeUpdate();
+        entityManager.clear();
+        return updated;
+    }
+}
@@ -0,0 +1,26 @@
+package io.github.rizanmusthafa.patient_service.service;
+
+import io.github.rizanmusthafa.patient_service.dto.PatientDto;
+import io.github.rizanmusthafa.patient_service.dto.PatientJobResponse;
+
+import java.nio.file.Path;
+import java.util.List;
+
+public interface PatientJobService {
+    PatientJobResponse startExport();
+
+    PatientJobResponse startImport(List<PatientDto> patients);
+
+    PatientJobResponse getJob(Long id);
+
+    List<PatientJobResponse> getRecentJobs();
+
+    PatientJobResponse cancel(Long id);
+
+    PatientJobResponse resume(Long id);
+
+    /**
+     * CSV part files of a completed export, in order; the first one starts with the header.
+     */
+    List<Path> getExportParts(Long id);
+}
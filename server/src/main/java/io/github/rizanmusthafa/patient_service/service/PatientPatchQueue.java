@@ -0,0 +1,29 @@
+package io.github.rizanmusthafa.patient_service.service;
+
+import io.github.rizanmusthafa.patient_service.dto.PatchQueueStatus;
+import io.github.rizanmusthafa.patient_service.dto.PatientDto;
+
+/**
+ * Write-behind queue for non-critical partial updates. Patches are held in memory,
+ * coalesced per patient and written in batches by a background worker, so an
+ * accepted patch is not durable until the next flush completes.
+ * <p>
+ * A queued patch never overwrites newer data: it is discarded when the patient is
+ * updated synchronously, and skipped at flush time if the patient was modified after
+ * the patch was accepted.
+ */
+public interface PatientPatchQueue {
+    boolean isEnabled();
+
+    void enqueue(Long id, PatientDto dto);
+
+    /**
+     * Drops the queued patch for a patient, if any. Called before the patient is written
+     * synchronously, which supersedes it.
+     */
+    void discard(Long id);
+
+    void flush();
+
+    PatchQueueStatus status();
+}
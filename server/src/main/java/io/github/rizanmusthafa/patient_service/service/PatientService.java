@@ -1,21 +1,64 @@
 package io.github.rizanmusthafa.patient_service.service;
 
+import io.github.rizanmusthafa.patient_service.dto.BulkDeleteRequest;
+import io.github.rizanmusthafa.patient_service.dto.BulkOperationResponse;
+import io.github.rizanmusthafa.patient_service.dto.BulkPatchRequest;
 import io.github.rizanmusthafa.patient_service.dto.PageResponse;
 import io.github.rizanmusthafa.patient_service.dto.PatientDto;
+import io.github.rizanmusthafa.patient_service.dto.PatientLookupResponse;
+
+import org.springframework.data.domain.Sort;
 
 import java.util.List;
+import java.util.Map;
 
 public interface PatientService {
     List<PatientDto> findAll();
     PageResponse<PatientDto> findAll(int page, int size);
 
+    PageResponse<PatientDto> findAll(int page, int size, Sort sort);
+
+    /**
+     * Patients whose first or last name starts with {@code namePrefix}, ignoring case.
+     */
+    PageResponse<PatientDto> search(String namePrefix, int page, int size, Sort sort);
+
     PatientDto findById(Long id);
 
+    PatientLookupResponse findAllById(List<Long> ids);
+
+    /**
+     * Patients with exactly this email address. Email is stored encrypted, so there is no
+     * partial or case-insensitive match.
+     */
+    List<PatientDto> findByEmail(String email);
+
+    /**
+     * Patients with exactly this phone number, as stored.
+     */
+    List<PatientDto> findByPhoneNumber(String phoneNumber);
+
     PatientDto create(PatientDto dto);
 
+    List<PatientDto> createAll(List<PatientDto> dtos);
+
     PatientDto update(Long id, PatientDto dto);
 
     PatientDto patch(Long id, PatientDto dto);
 
+    /**
+     * Applies each patch like {@link #patch(Long, PatientDto)}, in one transaction, and
+     * returns how many were applied. Patients that no longer exist are skipped, and so are
+     * patients modified after the patch's {@code updatedAt}, when it is set, so a patch
+     * accepted earlier does not overwrite newer data.
+     */
+    int patchAll(Map<Long, PatientDto> patches);
+
+    BulkOperationResponse patchAll(BulkPatchRequest request);
+
     void delete(Long id);
+
+    BulkOperationResponse deleteAll(BulkDeleteRequest request);
+
+    PatientDto restore(Long id);
 }
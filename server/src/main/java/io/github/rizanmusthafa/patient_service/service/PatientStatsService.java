@@ -0,0 +1,10 @@
+package io.github.rizanmusthafa.patient_service.service;
+
+import io.github.rizanmusthafa.patient_service.dto.LocationGrouping;
+import io.github.rizanmusthafa.patient_service.dto.PatientStatsResponse;
+
+import java.time.LocalDate;
+
+public interface PatientStatsService {
+    PatientStatsResponse getStats(LocationGrouping groupBy, LocalDate from, LocalDate to);
+}
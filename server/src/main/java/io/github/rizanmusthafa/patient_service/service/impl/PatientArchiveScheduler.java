@@ -0,0 +1,42 @@
+package io.github.rizanmusthafa.patient_service.service.impl;
+
+import io.github.rizanmusthafa.patient_service.config.ArchiveProperties;
+import io.github.rizanmusthafa.patient_service.repository.PatientRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Periodically moves patients that were soft-deleted longer than the retention period
+ * into patients_archive, one small transaction per batch.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PatientArchiveScheduler {
+
+    private final PatientRepository patientRepository;
+    private final ArchiveProperties properties;
+
+    @Scheduled(cron = "${patient.archive.cron:0 */15 * * * *}")
+    public void archiveDeletedPatients() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getRetention());
+        int archived = 0;
+        for (int batch = 0; batch < properties.getMaxBatchesPerRun(); batch++) {
+            int moved = patientRepository.archiveDeletedBefore(cutoff, properties.getBatchSize());
+            archived += moved;
+            if (moved < properties.getBatchSize()) {
+                break;
+            }
+        }
+        if (archived > 0) {
+            log.info("Archived {} patients deleted before {}", archived, cutoff);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package io.github.rizanmusthafa.patient_service.service.impl;
+
+import io.github.rizanmusthafa.patient_service.model.Patient;
+
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * RFC 4180 CSV rows for patient exports.
+ */
+final class PatientCsv {
+
+    static final String HEADER = "id,firstName,lastName,address,city,state,zipCode,phoneNumber,email,createdAt,updatedAt\r\n";
+
+    private PatientCsv() {
+    }
+
+    static void writeRow(Writer writer, Patient patient) throws IOException {
+        writer.write(String.valueOf(patient.getId()));
+        writeField(writer, patient.getFirstName());
+        writeField(writer, patient.getLastName());
+        writeField(writer, patient.getAddress());
+        writeField(writer, patient.getCity());
+        writeField(writer, patient.getState());
+        writeField(writer, patient.getZipCode());
+        writeField(writer, patient.getPhoneNumber());
+        writeField(writer, patient.getEmail());
+        writeField(writer, patient.getCreatedAt() == null ? null : patient.getCreatedAt().toString());
+        writeField(writer, patient.getUpdatedAt() == null ? null : patient.getUpdatedAt().toString());
+        writer.write("\r\n");
+    }
+
+    private static void writeField(Writer writer, String value) throws IOException {
+        writer.write(',');
+        if (value == null) {
+            return;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,523 @@
+package io.github.rizanmusthafa.patient_service.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.rizanmusthafa.patient_service.config.JobProperties;
+import io.github.rizanmusthafa.patient_service.crypto.PiiCipher;
+import io.github.rizanmusthafa.patient_service.dto.ItemValidationError;
+import io.github.rizanmusthafa.patient_service.dto.PatientDto;
+import io.github.rizanmusthafa.patient_service.dto.PatientJobResponse;
+import io.github.rizanmusthafa.patient_service.exception.BulkValidationException;
+import io.github.rizanmusthafa.patient_service.exception.JobNotFoundException;
+import io.github.rizanmusthafa.patient_service.exception.JobStateException;
+import io.github.rizanmusthafa.patient_service.mapper.PatientMapper;
+import io.github.rizanmusthafa.patient_service.model.ChunkStatus;
+import io.github.rizanmusthafa.patient_service.model.JobStatus;
+import io.github.rizanmusthafa.patient_service.model.JobType;
+import io.github.rizanmusthafa.patient_service.model.Patient;
+import io.github.rizanmusthafa.patient_service.model.PatientJob;
+import io.github.rizanmusthafa.patient_service.model.PatientJobChunk;
+import io.github.rizanmusthafa.patient_service.repository.PatientJobChunkRepository;
+import io.github.rizanmusthafa.patient_service.repository.PatientJobRepository;
+import io.github.rizanmusthafa.patient_service.repository.PatientRepository;
+import io.github.rizanmusthafa.patient_service.service.PatientJobService;
+import io.github.rizanmusthafa.patient_service.validation.PatientDtoValidator;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Runs import and export jobs split into chunks. Export chunks are id ranges of
+ * patients written to CSV part files; import chunks are slices of the submitted
+ * patients. Chunks run on virtual threads, with at most {@code patient.jobs.parallelism}
+ * in flight across all jobs, and each chunk commits its work together with its
+ * checkpoint in its own transaction. A failed, cancelled or interrupted job is resumed
+ * from the chunks that are not done.
+ * <p>
+ * Import payloads hold patient PII, so they are stored encrypted with {@link PiiCipher}
+ * and deleted once the import has completed.
+ * <p>
+ * Running jobs send a heartbeat every {@code patient.jobs.heartbeat-interval}; a job
+ * whose heartbeat stops is taken over by {@link #resume}. Export part files are deleted
+ * after {@code patient.jobs.export-retention}.
+ */
+@Slf4j
+@Service
+public class PatientJobServiceImpl implements PatientJobService {
+
+    private static final EnumSet<JobStatus> RESUMABLE = EnumSet.of(JobStatus.FAILED, JobStatus.CANCELLED);
+    private static final EnumSet<JobStatus> ACTIVE = EnumSet.of(JobStatus.PENDING, JobStatus.RUNNING);
+    // Part files hold decrypted PII: readable by the service's own user only
+    private static final FileAttribute<?> OWNER_ONLY_DIRECTORY =
+            PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rwx------"));
+    private static final FileAttribute<?> OWNER_ONLY_FILE =
+            PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------"));
+    private static final TypeReference<List<PatientDto>> PATIENT_LIST = new TypeReference<>() {
+    };
+
+    private final PatientJobRepository jobRepository;
+    private final PatientJobChunkRepository chunkRepository;
+    private final PatientRepository patientRepository;
+    private final PatientMapper patientMapper;
+    private final PatientDtoValidator patientDtoValidator;
+    private final ObjectMapper objectMapper;
+    private final PiiCipher piiCipher;
+    private final JobProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore permits;
+    private final Map<Long, JobRun> activeRuns = new ConcurrentHashMap<>();
+
+    public PatientJobServiceImpl(PatientJobRepository jobRepository, PatientJobChunkRepository chunkRepository,
+                                 PatientRepository patientRepository, PatientMapper patientMapper,
+                                 PatientDtoValidator patientDtoValidator, ObjectMapper objectMapper, PiiCipher piiCipher,
+                                 JobProperties properties, PlatformTransactionManager transactionManager) {
+        this.jobRepository = jobRepository;
+        this.chunkRepository = chunkRepository;
+        this.patientRepository = patientRepository;
+        this.patientMapper = patientMapper;
+        this.patientDtoValidator = patientDtoValidator;
+        this.objectMapper = objectMapper;
+        this.piiCipher = piiCipher;
+        this.properties = properties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.permits = new Semaphore(properties.getParallelism());
+    }
+
+    @Override
+    public PatientJobResponse startExport() {
+        PatientRepository.IdRange range = readOnlyTransactionTemplate.execute(status -> patientRepository.findIdRange());
+        List<long[]> ranges = new ArrayList<>();
+        if (range == null || range.getMinId() == null) {
+            // Still one (empty) chunk, so the export has a part file with the header
+            ranges.add(new long[]{0, 0});
+        } else {
+            long size = properties.getExportChunkSize();
+            for (long start = range.getMinId(); start <= range.getMaxId(); start += size) {
+                ranges.add(new long[]{start, Math.min(start + size - 1, range.getMaxId())});
+            }
+        }
+        return start(JobType.EXPORT, ranges, null);
+    }
+
+    @Override
+    public PatientJobResponse startImport(List<PatientDto> patients) {
+        if (patients.size() > properties.getMaxImportPatients()) {
+            throw new BulkValidationException(List.of(new ItemValidationError(properties.getMaxImportPatients(), null,
+                    "At most " + properties.getMaxImportPatients() + " patients per import")));
+        }
+        List<ItemValidationError> errors = patientDtoValidator.validateAll(patients);
+        if (!errors.isEmpty()) {
+            throw new BulkValidationException(errors);
+        }
+        List<long[]> ranges = new ArrayList<>();
+        for (int start = 0; start < patients.size(); start += properties.getImportChunkSize()) {
+            ranges.add(new long[]{start, Math.min(start + properties.getImportChunkSize(), patients.size())});
+        }
+        try {
+            return start(JobType.IMPORT, ranges, objectMapper.writeValueAsString(patients));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not store import payload", e);
+        }
+    }
+
+    @Override
+    public PatientJobResponse getJob(Long id) {
+        return toResponse(findJob(id));
+    }
+
+    @Override
+    public List<PatientJobResponse> getRecentJobs() {
+        return readOnlyTransactionTemplate.execute(status -> jobRepository.findTop20ByOrderByIdDesc()).stream()
+                .map(PatientJobServiceImpl::toResponse)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public PatientJobResponse cancel(Long id) {
+        Integer cancelled = transactionTemplate.execute(status ->
+                jobRepository.transition(id, ACTIVE, JobStatus.CANCELLED, null));
+        if (cancelled == null || cancelled == 0) {
+            PatientJob job = findJob(id);
+            throw new JobStateException("Job " + id + " is " + job.getStatus() + " and cannot be cancelled");
+        }
+        JobRun run = activeRuns.get(id);
+        if (run != null) {
+            run.cancel();
+        }
+        return getJob(id);
+    }
+
+    @Override
+    public PatientJobResponse resume(Long id) {
+        if (activeRuns.containsKey(id)) {
+            throw new JobStateException("Job " + id + " is already running");
+        }
+        claimAndLaunch(id, RESUMABLE);
+        return getJob(id);
+    }
+
+    @Override
+    public List<Path> getExportParts(Long id) {
+        PatientJob job = findJob(id);
+        if (job.getType() != JobType.EXPORT || job.getStatus() != JobStatus.COMPLETED) {
+            throw new JobStateException("Job " + id + " is not a completed export");
+        }
+        List<Path> parts = readOnlyTransactionTemplate.execute(status -> chunkRepository.findByJobIdOrderByChunkNo(id))
+                .stream()
+                .map(chunk -> partFile(id, chunk.getChunkNo()))
+                .collect(Collectors.toList());
+        if (!parts.stream().allMatch(Files::isRegularFile)) {
+            throw new JobStateException("Export files of job " + id + " are not available on this instance");
+        }
+        return parts;
+    }
+
+    /**
+     * Keeps the jobs running on this instance from looking abandoned, including while all
+     * their chunks wait for a permit held by other jobs.
+     */
+    @Scheduled(fixedDelayString = "${patient.jobs.heartbeat-interval:1m}")
+    public void heartbeat() {
+        List<Long> running = List.copyOf(activeRuns.keySet());
+        if (!running.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> jobRepository.touch(running, JobStatus.RUNNING));
+        }
+    }
+
+    /**
+     * Deletes the export directories of jobs not running on this instance whose files were
+     * last written more than {@code patient.jobs.export-retention} ago.
+     */
+    @Scheduled(cron = "${patient.jobs.export-cleanup-cron:0 30 * * * *}")
+    public void deleteExpiredExports() {
+        Path exportDir = properties.getExportDir();
+        if (!Files.isDirectory(exportDir)) {
+            return;
+        }
+        Instant cutoff = Instant.now().minus(properties.getExportRetention());
+        try (DirectoryStream<Path> jobDirs = Files.newDirectoryStream(exportDir, "job-*")) {
+            for (Path jobDir : jobDirs) {
+                Long jobId = parseJobId(jobDir);
+                if (jobId == null || activeRuns.containsKey(jobId)
+                        || Files.getLastModifiedTime(jobDir).toInstant().isAfter(cutoff)) {
+                    continue;
+                }
+                FileSystemUtils.deleteRecursively(jobDir);
+                log.info("Deleted expired export files of job {}", jobId);
+            }
+        } catch (IOException e) {
+            log.warn("Could not delete expired export files in {}", exportDir, e);
+        }
+    }
+
+    /**
+     * Stops scheduling new chunks and waits briefly for running ones. Interrupted jobs are
+     * marked FAILED so they can be resumed right away.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        activeRuns.values().forEach(JobRun::stop);
+        executor.shutdown();
+        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("Job chunks still running at shutdown; their jobs become resumable after {}",
+                    properties.getResumeStaleAfter());
+            executor.shutdownNow();
+        }
+    }
+
+    private PatientJobResponse start(JobType type, List<long[]> ranges, String payload) {
+        Long jobId = transactionTemplate.execute(status -> {
+            PatientJob job = jobRepository.save(new PatientJob(type, ranges.size()));
+            if (payload != null) {
+                jobRepository.savePayload(job.getId(), piiCipher.encrypt(payload));
+            }
+            List<PatientJobChunk> chunks = new ArrayList<>(ranges.size());
+            for (int i = 0; i < ranges.size(); i++) {
+                chunks.add(new PatientJobChunk(job.getId(), i, ranges.get(i)[0], ranges.get(i)[1]));
+            }
+            chunkRepository.saveAll(chunks);
+            return job.getId();
+        });
+        claimAndLaunch(jobId, EnumSet.of(JobStatus.PENDING));
+        return getJob(jobId);
+    }
+
+    private void claimAndLaunch(Long id, EnumSet<JobStatus> from) {
+        LocalDateTime staleBefore = LocalDateTime.now().minus(properties.getResumeStaleAfter());
+        Integer claimed = transactionTemplate.execute(status ->
+                jobRepository.claim(id, from, JobStatus.RUNNING, staleBefore));
+        if (claimed == null || claimed == 0) {
+            PatientJob job = findJob(id);
+            throw new JobStateException("Job " + id + " is " + job.getStatus() + " and cannot be started");
+        }
+        JobRun run = new JobRun();
+        activeRuns.put(id, run);
+        executor.execute(() -> {
+            try {
+                runJob(id, run);
+            } catch (RuntimeException e) {
+                log.error("Job {} failed", id, e);
+                finish(id, JobStatus.FAILED, e.getMessage());
+            } finally {
+                activeRuns.remove(id);
+            }
+        });
+    }
+
+    private void runJob(Long id, JobRun run) {
+        PatientJob job = findJob(id);
+        List<PatientJobChunk> chunks = readOnlyTransactionTemplate.execute(status ->
+                chunkRepository.findByJobIdAndStatusNotOrderByChunkNo(id, ChunkStatus.DONE));
+        List<PatientDto> items = job.getType() == JobType.IMPORT ? readPayload(id) : null;
+
+        List<Future<?>> futures = new ArrayList<>(chunks.size());
+        for (PatientJobChunk chunk : chunks) {
+            futures.add(executor.submit(() -> runChunk(job, chunk, items, run)));
+        }
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                run.fail(e.getCause().getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                run.stop();
+                break;
+            }
+        }
+
+        if (run.isCancelled()) {
+            log.info("Job {} cancelled", id);
+        } else if (run.isStopped()) {
+            finish(id, JobStatus.FAILED, "Interrupted by shutdown, resume to continue");
+        } else if (run.getError() != null) {
+            finish(id, JobStatus.FAILED, run.getError());
+        } else {
+            finish(id, JobStatus.COMPLETED, null);
+            if (job.getType() == JobType.IMPORT) {
+                transactionTemplate.executeWithoutResult(tx -> jobRepository.savePayload(id, null));
+            }
+            log.info("Job {} ({}) completed {} chunks", id, job.getType(), chunks.size());
+        }
+    }
+
+    private void runChunk(PatientJob job, PatientJobChunk chunk, List<PatientDto> items, JobRun run) {
+        if (!run.shouldContinue()) {
+            return;
+        }
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            run.stop();
+            return;
+        }
+        try {
+            if (!run.shouldContinue()) {
+                return;
+            }
+            if (job.getType() == JobType.EXPORT) {
+                exportChunk(job.getId(), chunk);
+            } else {
+                importChunk(job.getId(), chunk, items);
+            }
+            // Picks up a cancel issued on another instance
+            JobStatus status = readOnlyTransactionTemplate.execute(tx ->
+                    jobRepository.findStatusById(job.getId()).orElse(JobStatus.CANCELLED));
+            if (status == JobStatus.CANCELLED) {
+                run.cancel();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Chunk {} of job {} failed", chunk.getChunkNo(), job.getId(), e);
+            run.fail("Chunk " + chunk.getChunkNo() + " failed: " + e.getMessage());
+            transactionTemplate.executeWithoutResult(tx -> chunkRepository.markFailed(chunk.getId(), e.getMessage()));
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Writes the chunk's id range to its part file, replacing any file left by an earlier
+     * attempt, then records the chunk as done. Directories and files are created owner-only
+     * where the file system supports POSIX permissions.
+     */
+    private void exportChunk(Long jobId, PatientJobChunk chunk) {
+        List<Patient> patients = readOnlyTransactionTemplate.execute(status ->
+                patientRepository.findByIdRange(chunk.getRangeStart(), chunk.getRangeEnd()));
+        Path part = partFile(jobId, chunk.getChunkNo());
+        Path temp = part.resolveSibling(part.getFileName() + ".tmp");
+        try {
+            boolean posix = part.getFileSystem().supportedFileAttributeViews().contains("posix");
+            if (posix) {
+                Files.createDirectories(part.getParent(), OWNER_ONLY_DIRECTORY);
+                Files.deleteIfExists(temp);
+                Files.createFile(temp, OWNER_ONLY_FILE);
+            } else {
+                Files.createDirectories(part.getParent());
+            }
+            try (BufferedWriter writer = Files.newBufferedWriter(temp)) {
+                if (chunk.getChunkNo() == 0) {
+                    writer.write(PatientCsv.HEADER);
+                }
+                for (Patient patient : patients) {
+                    PatientCsv.writeRow(writer, patient);
+                }
+            }
+            Files.move(temp, part, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        transactionTemplate.executeWithoutResult(status -> completeChunk(jobId, chunk, patients.size()));
+    }
+
+    /**
+     * Inserts the chunk's patients and records the chunk as done in one transaction, so a
+     * resumed job never imports a chunk twice.
+     */
+    private void importChunk(Long jobId, PatientJobChunk chunk, List<PatientDto> items) {
+        List<Patient> patients = new ArrayList<>((int) (chunk.getRangeEnd() - chunk.getRangeStart()));
+        for (PatientDto dto : items.subList((int) chunk.getRangeStart(), (int) chunk.getRangeEnd())) {
+            Patient patient = patientMapper.toEntity(dto);
+            // Imports always create patients, even from a re-imported export with ids
+            patient.setId(null);
+            patients.add(patient);
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            patientRepository.saveAll(patients);
+            completeChunk(jobId, chunk, patients.size());
+        });
+    }
+
+    /**
+     * Checkpoints the chunk in the caller's transaction. Throws, and so rolls the chunk's
+     * work back, if another run of the job completed the chunk first.
+     */
+    private void completeChunk(Long jobId, PatientJobChunk chunk, int rows) {
+        if (chunkRepository.markDone(chunk.getId(), rows) == 0) {
+            throw new JobStateException("Chunk " + chunk.getChunkNo() + " of job " + jobId
+                    + " was already completed by another run");
+        }
+        jobRepository.recordChunkDone(jobId, rows);
+    }
+
+    private void finish(Long id, JobStatus status, String error) {
+        transactionTemplate.executeWithoutResult(tx ->
+                jobRepository.transition(id, EnumSet.of(JobStatus.RUNNING), status, error));
+    }
+
+    private List<PatientDto> readPayload(Long id) {
+        String payload = readOnlyTransactionTemplate.execute(status -> jobRepository.findPayloadById(id));
+        try {
+            return objectMapper.readValue(piiCipher.decrypt(payload), PATIENT_LIST);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read import payload of job " + id, e);
+        }
+    }
+
+    private PatientJob findJob(Long id) {
+        return readOnlyTransactionTemplate.execute(status -> jobRepository.findById(id))
+                .orElseThrow(() -> new JobNotFoundException("Job not found with id: " + id));
+    }
+
+    private static Long parseJobId(Path jobDir) {
+        try {
+            return Long.valueOf(jobDir.getFileName().toString().substring("job-".length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private Path partFile(Long jobId, int chunkNo) {
+        return properties.getExportDir().resolve("job-" + jobId).resolve(String.format("part-%06d.csv", chunkNo));
+    }
+
+    private static PatientJobResponse toResponse(PatientJob job) {
+        double progress = job.getTotalChunks() == 0 ? 1.0 : (double) job.getCompletedChunks() / job.getTotalChunks();
+        return new PatientJobResponse(
+                job.getId(),
+                job.getType(),
+                job.getStatus(),
+                job.getTotalChunks(),
+                job.getCompletedChunks(),
+                job.getProcessedRows(),
+                progress,
+                job.getError(),
+                job.getCreatedAt(),
+                job.getUpdatedAt(),
+                job.getFinishedAt()
+        );
+    }
+
+    /**
+     * In-memory state of a job running on this instance.
+     */
+    private static final class JobRun {
+        private volatile boolean cancelled;
+        private volatile boolean stopped;
+        private volatile String error;
+
+        void cancel() {
+            cancelled = true;
+        }
+
+        void stop() {
+            stopped = true;
+        }
+
+        synchronized void fail(String message) {
+            if (error == null) {
+                error = message;
+            }
+        }
+
+        boolean shouldContinue() {
+            return !cancelled && !stopped && error == null;
+        }
+
+        boolean isCancelled() {
+            return cancelled;
+        }
+
+        boolean isStopped() {
+            return stopped;
+        }
+
+        String getError() {
+            return error;
+        }
+    }
+}
@@ -1,29 +1,59 @@
 package io.github.rizanmusthafa.patient_service.service.impl;
 
+import io.github.rizanmusthafa.patient_service.crypto.PiiCipher;
+import io.github.rizanmusthafa.patient_service.dto.BulkDeleteRequest;
+import io.github.rizanmusthafa.patient_service.dto.BulkOperationResponse;
+import io.github.rizanmusthafa.patient_service.dto.BulkPatchRequest;
+import io.github.rizanmusthafa.patient_service.dto.BulkTarget;
+import io.github.rizanmusthafa.patient_service.dto.ItemValidationError;
 import io.github.rizanmusthafa.patient_service.dto.PageResponse;
 import io.github.rizanmusthafa.patient_service.dto.PatientDto;
+import io.github.rizanmusthafa.patient_service.dto.PatientFilter;
+import io.github.rizanmusthafa.patient_service.dto.PatientLookupResponse;
+import io.github.rizanmusthafa.patient_service.exception.BulkValidationException;
 import io.github.rizanmusthafa.patient_service.exception.PatientNotFoundException;
 import io.github.rizanmusthafa.patient_service.mapper.PatientMapper;
 import io.github.rizanmusthafa.patient_service.model.Patient;
 import io.github.rizanmusthafa.patient_service.repository.PatientRepository;
 import io.github.rizanmusthafa.patient_service.service.PatientService;
+import io.github.rizanmusthafa.patient_service.validation.PatientDtoValidator;
+import io.micrometer.observation.annotation.Observed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.ToIntFunction;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
+@Observed(name = "patient.service")
 public class PatientServiceImpl implements PatientService {
 
+    // Upper bound on ids per bulk UPDATE and its transaction, keeping statements and row locks small.
+    static final int BULK_CHUNK_SIZE = 1_000;
+
     private final PatientRepository patientRepository;
     private final PatientMapper patientMapper;
+    private final PatientDtoValidator patientDtoValidator;
+    private final ReadCoalescer readCoalescer;
+    private final PiiCipher piiCipher;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
     @Transactional(readOnly = true)
@@ -33,12 +63,42 @@ public class PatientServiceImpl implements PatientService {
                 .collect(Collectors.toList());
     }
 
+    // Reads that can be coalesced do not open a transaction up front: a caller waiting
+    // for an identical read in flight must not hold a connection. The repository call
+    // runs in its own read-only transaction.
+
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
     public PageResponse<PatientDto> findAll(int page, int size) {
-        Pageable pageable = PageRequest.of(page, size);
-        Page<Patient> patientPage = patientRepository.findAll(pageable);
-        
+        return findAll(page, size, Sort.unsorted());
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public PageResponse<PatientDto> findAll(int page, int size, Sort sort) {
+        return readCoalescer.execute("findAll", List.of(page, size, sort), () -> toPageResponse(
+                patientRepository.findAll(PageRequest.of(page, size, PatientSorts.resolve(sort)))));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public PageResponse<PatientDto> search(String namePrefix, int page, int size, Sort sort) {
+        String prefix = likePrefix(namePrefix);
+        return readCoalescer.execute("search", List.of(prefix, page, size, sort), () -> toPageResponse(
+                patientRepository.searchByNamePrefix(prefix, PageRequest.of(page, size, PatientSorts.resolve(sort)))));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public PatientDto findById(Long id) {
+        return readCoalescer.execute("findById", List.of(id), () -> {
+            Patient patient = patientRepository.findById(id)
+                    .orElseThrow(() -> new PatientNotFoundException("Patient not found with id: " + id));
+            return patientMapper.toDto(patient);
+        });
+    }
+
+    private PageResponse<PatientDto> toPageResponse(Page<Patient> patientPage) {
         List<PatientDto> content = patientPage.getContent().stream()
                 .map(patientMapper::toDto)
                 .collect(Collectors.toList());
@@ -56,21 +116,73 @@ public class PatientServiceImpl implements PatientService {
 
     @Override
     @Transactional(readOnly = true)
-    public PatientDto findById(Long id) {
-        Patient patient = patientRepository.findById(id)
-                .orElseThrow(() -> new PatientNotFoundException("Patient not found with id: " + id));
-        return patientMapper.toDto(patient);
+    public PatientLookupResponse findAllById(List<Long> ids) {
+        Set<Long> requestedIds = new LinkedHashSet<>(ids);
+        List<Patient> found = patientRepository.findAllByIdIn(requestedIds.toArray(new Long[0]));
+
+        Map<Long, Patient> byId = new HashMap<>(found.size() * 2);
+        for (Patient patient : found) {
+            byId.put(patient.getId(), patient);
+        }
+
+        List<PatientDto> patients = new ArrayList<>(byId.size());
+        List<Long> missingIds = new ArrayList<>();
+        for (Long id : requestedIds) {
+            Patient patient = byId.get(id);
+            if (patient != null) {
+                patients.add(patientMapper.toDto(patient));
+            } else {
+                missingIds.add(id);
+            }
+        }
+        return new PatientLookupResponse(patients, missingIds);
+    }
+
+    // Email and phone number are stored as deterministic ciphertexts; match every form the
+    // value can have been written in (one per configured key, or plaintext).
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PatientDto> findByEmail(String email) {
+        return patientRepository.findAllByEmailIn(piiCipher.lookupValues(email).toArray(new String[0])).stream()
+                .map(patientMapper::toDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<PatientDto> findByPhoneNumber(String phoneNumber) {
+        return patientRepository.findAllByPhoneNumberIn(piiCipher.lookupValues(phoneNumber).toArray(new String[0])).stream()
+                .map(patientMapper::toDto)
+                .collect(Collectors.toList());
     }
 
     @Override
     public PatientDto create(PatientDto dto) {
+        readCoalescer.invalidateAfterCommit();
         Patient patient = patientMapper.toEntity(dto);
         Patient savedPatient = patientRepository.save(patient);
         return patientMapper.toDto(savedPatient);
     }
 
+    @Override
+    public List<PatientDto> createAll(List<PatientDto> dtos) {
+        readCoalescer.invalidateAfterCommit();
+        List<ItemValidationError> errors = patientDtoValidator.validateAll(dtos);
+        if (!errors.isEmpty()) {
+            throw new BulkValidationException(errors);
+        }
+        List<Patient> patients = dtos.stream()
+                .map(patientMapper::toEntity)
+                .collect(Collectors.toList());
+        return patientRepository.saveAll(patients).stream()
+                .map(patientMapper::toDto)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public PatientDto update(Long id, PatientDto dto) {
+        readCoalescer.invalidateAfterCommit();
         Patient existingPatient = patientRepository.findById(id)
                 .orElseThrow(() -> new PatientNotFoundException("Patient not found with id: " + id));
 
@@ -89,9 +201,131 @@ public class PatientServiceImpl implements PatientService {
 
     @Override
     public PatientDto patch(Long id, PatientDto dto) {
+        readCoalescer.invalidateAfterCommit();
         Patient existingPatient = patientRepository.findById(id)
                 .orElseThrow(() -> new PatientNotFoundException("Patient not found with id: " + id));
 
+        applyPatch(existingPatient, dto);
+
+        Patient updatedPatient = patientRepository.save(existingPatient);
+        return patientMapper.toDto(updatedPatient);
+    }
+
+    @Override
+    public int patchAll(Map<Long, PatientDto> patches) {
+        readCoalescer.invalidateAfterCommit();
+        // Locked, so a write committing between the check and this update cannot slip through
+        List<Patient> patients = patientRepository.findAllByIdForUpdate(patches.keySet());
+        List<Patient> patched = new ArrayList<>(patients.size());
+        for (Patient patient : patients) {
+            PatientDto patch = patches.get(patient.getId());
+            LocalDateTime acceptedAt = patch.getUpdatedAt();
+            if (acceptedAt != null && patient.getUpdatedAt() != null && patient.getUpdatedAt().isAfter(acceptedAt)) {
+                continue;
+            }
+            applyPatch(patient, patch);
+            patched.add(patient);
+        }
+        patientRepository.saveAll(patched);
+        return patched.size();
+    }
+
+    // Bulk patch and delete commit chunk by chunk (see forEachChunk), so they do not run
+    // in a transaction of their own.
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkOperationResponse patchAll(BulkPatchRequest request) {
+        long affected = forEachChunk(request,
+                ids -> patientRepository.patchAllById(ids, request.getChanges()));
+        return new BulkOperationResponse(affected);
+    }
+
+    @Override
+    public void delete(Long id) {
+        readCoalescer.invalidateAfterCommit();
+        if (!patientRepository.existsById(id)) {
+            throw new PatientNotFoundException("Patient not found with id: " + id);
+        }
+        patientRepository.deleteById(id);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public BulkOperationResponse deleteAll(BulkDeleteRequest request) {
+        long affected = forEachChunk(request, patientRepository::softDeleteAllById);
+        return new BulkOperationResponse(affected);
+    }
+
+    @Override
+    public PatientDto restore(Long id) {
+        readCoalescer.invalidateAfterCommit();
+        if (patientRepository.restoreById(id, LocalDateTime.now()) == 0) {
+            throw new PatientNotFoundException("Deleted patient not found with id: " + id);
+        }
+        return findById(id);
+    }
+
+    /**
+     * Runs {@code statement} over the target patients in chunks of at most
+     * {@link #BULK_CHUNK_SIZE} ids and returns the total number of rows it changed.
+     * Filter targets are walked in id order so rows the statement modifies (or that stop
+     * matching the filter) are never visited twice.
+     * <p>
+     * Each chunk runs and commits in its own transaction, so row locks are held for one
+     * chunk only. The operation as a whole is not atomic: if a chunk fails, the chunks
+     * before it stay committed, and concurrent readers can see a partly applied operation.
+     */
+    private long forEachChunk(BulkTarget target, ToIntFunction<List<Long>> statement) {
+        ToIntFunction<List<Long>> inTransaction = chunk -> {
+            Integer changed = transactionTemplate.execute(status -> {
+                readCoalescer.invalidateAfterCommit();
+                return statement.applyAsInt(chunk);
+            });
+            return changed == null ? 0 : changed;
+        };
+        long affected = 0;
+        if (target.getIds() != null && !target.getIds().isEmpty()) {
+            List<Long> ids = List.copyOf(new LinkedHashSet<>(target.getIds()));
+            for (int from = 0; from < ids.size(); from += BULK_CHUNK_SIZE) {
+                affected += inTransaction.applyAsInt(ids.subList(from, Math.min(from + BULK_CHUNK_SIZE, ids.size())));
+            }
+            return affected;
+        }
+
+        PatientFilter filter = target.getFilter();
+        long afterId = 0;
+        List<Long> chunk;
+        do {
+            chunk = patientRepository.findIdsByFilter(filter.getCity(), filter.getState(), afterId,
+                    Limit.of(BULK_CHUNK_SIZE));
+            if (chunk.isEmpty()) {
+                break;
+            }
+            affected += inTransaction.applyAsInt(chunk);
+            afterId = chunk.get(chunk.size() - 1);
+        } while (chunk.size() == BULK_CHUNK_SIZE);
+        return affected;
+    }
+
+    /**
+     * Lower-cases the search term and escapes LIKE wildcards, so {@code 50%} matches
+     * names starting with "50%" literally.
+     */
+    static String likePrefix(String namePrefix) {
+        String lower = namePrefix.trim().toLowerCase(Locale.ROOT);
+        StringBuilder pattern = new StringBuilder(lower.length() + 1);
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            if (c == '%' || c == '_' || c == '\\') {
+                pattern.append('\\');
+            }
+            pattern.append(c);
+        }
+        return pattern.append('%').toString();
+    }
+
+    private void applyPatch(Patient existingPatient, PatientDto dto) {
         // Only update fields that are provided (non-null)
         if (dto.getFirstName() != null) {
             existingPatient.setFirstName(dto.getFirstName());
@@ -117,16 +351,5 @@ public class PatientServiceImpl implements PatientService {
         if (dto.getEmail() != null) {
             existingPatient.setEmail(dto.getEmail());
         }
-
-        Patient updatedPatient = patientRepository.save(existingPatient);
-        return patientMapper.toDto(updatedPatient);
-    }
-
-    @Override
-    public void delete(Long id) {
-        if (!patientRepository.existsById(id)) {
-            throw new PatientNotFoundException("Patient not found with id: " + id);
-        }
-        patientRepository.deleteById(id);
     }
 }
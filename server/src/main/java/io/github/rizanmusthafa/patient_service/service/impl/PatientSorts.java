@@ -0,0 +1,52 @@
+package io.github.rizanmusthafa.patient_service.service.impl;
+
+import io.github.rizanmusthafa.patient_service.exception.InvalidSortException;
+import org.springframework.data.domain.Sort;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Whitelist of sort orders for patient listings. Only orders that match an index on
+ * patients (see V5 migration) are accepted, so sorted pagination never has to sort
+ * the whole table.
+ * <p>
+ * A requested sort is accepted when its properties are a prefix of one of the
+ * {@link #INDEXED_ORDERS} and all use the same direction, which lets the database scan
+ * the index forwards or backwards. The remaining columns of that index, always ending
+ * in {@code id}, are appended as tie-breakers so pages are stable.
+ */
+final class PatientSorts {
+
+    private static final List<List<String>> INDEXED_ORDERS = List.of(
+            List.of("id"),
+            List.of("lastName", "firstName", "id"),
+            List.of("firstName", "id"),
+            List.of("createdAt", "id"));
+
+    private PatientSorts() {
+    }
+
+    static Sort resolve(Sort requested) {
+        if (requested == null || requested.isUnsorted()) {
+            return Sort.unsorted();
+        }
+
+        List<String> properties = new ArrayList<>();
+        Sort.Direction direction = null;
+        for (Sort.Order order : requested) {
+            if (direction != null && order.getDirection() != direction) {
+                throw new InvalidSortException("All sort properties must use the same direction");
+            }
+            direction = order.getDirection();
+            properties.add(order.getProperty());
+        }
+
+        for (List<String> indexed : INDEXED_ORDERS) {
+            if (indexed.size() >= properties.size() && indexed.subList(0, properties.size()).equals(properties)) {
+                return Sort.by(direction, indexed.toArray(new String[0]));
+            }
+        }
+        throw new InvalidSortException("Unsupported sort " + properties + ", supported orders are " + INDEXED_ORDERS);
+    }
+}
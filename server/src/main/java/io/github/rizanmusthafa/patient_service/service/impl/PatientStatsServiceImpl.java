@@ -0,0 +1,56 @@
+package io.github.rizanmusthafa.patient_service.service.impl;
+
+import io.github.rizanmusthafa.patient_service.dto.DailyCount;
+import io.github.rizanmusthafa.patient_service.dto.LocationCount;
+import io.github.rizanmusthafa.patient_service.dto.LocationGrouping;
+import io.github.rizanmusthafa.patient_service.dto.PatientStatsResponse;
+import io.github.rizanmusthafa.patient_service.exception.InvalidParameterException;
+import io.github.rizanmusthafa.patient_service.repository.PatientDailyCountRepository;
+import io.github.rizanmusthafa.patient_service.repository.PatientLocationCountRepository;
+import io.github.rizanmusthafa.patient_service.service.PatientStatsService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Serves aggregate counts from the rollup tables maintained by database triggers, so
+ * the cost depends on the number of groups and days rather than the number of patients.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class PatientStatsServiceImpl implements PatientStatsService {
+
+    private final PatientLocationCountRepository locationCountRepository;
+    private final PatientDailyCountRepository dailyCountRepository;
+
+    @Override
+    public PatientStatsResponse getStats(LocationGrouping groupBy, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new InvalidParameterException("'from' (" + from + ") must not be after 'to' (" + to + ")");
+        }
+        List<LocationCount> byLocation = groupBy == LocationGrouping.CITY
+                ? locationCountRepository.countByCity()
+                : locationCountRepository.countByState();
+        // The rollup stores missing locations as '' (part of its primary key)
+        byLocation.forEach(count -> {
+            count.setState(emptyToNull(count.getState()));
+            count.setCity(emptyToNull(count.getCity()));
+        });
+
+        List<DailyCount> newPatientsPerDay = dailyCountRepository.countByDayBetween(from, to);
+
+        return new PatientStatsResponse(
+                locationCountRepository.sumPatientCount(),
+                byLocation,
+                newPatientsPerDay
+        );
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+}
@@ -0,0 +1,116 @@
+package io.github.rizanmusthafa.patient_service.service.impl;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight execution of identical reads: while a read for a key is in flight,
+ * further callers with the same key wait for it and share its result (or exception)
+ * instead of running their own query. Nothing is kept once the read completes, so this
+ * is not a cache.
+ * <p>
+ * Shared results must not be modified by callers. A caller that joins a read can miss
+ * a write that committed after the read started; writes through {@link PatientServiceImpl}
+ * call {@link #invalidateAfterCommit()} so later callers start a new read instead.
+ * Callers inside a transaction never join, as they may depend on their own uncommitted
+ * writes.
+ * <p>
+ * Metrics: {@code patient.reads.executed} counts reads that ran a query and
+ * {@code patient.reads.coalesced} callers that shared one, both tagged by operation.
+ */
+@Component
+public class ReadCoalescer {
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Counter> executed = new ConcurrentHashMap<>();
+    private final Map<String, Counter> coalesced = new ConcurrentHashMap<>();
+
+    public ReadCoalescer(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        meterRegistry.gaugeMapSize("patient.reads.in_flight", Tags.empty(), inFlight);
+    }
+
+    /**
+     * Runs {@code read} on the calling thread, or waits for an identical read already in
+     * flight. {@code args} must implement {@code equals} and {@code hashCode}.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String operation, List<?> args, Supplier<T> read) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return read.get();
+        }
+        Key key = new Key(operation, args);
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            counter(coalesced, "patient.reads.coalesced", operation).increment();
+            return (T) await(existing);
+        }
+
+        counter(executed, "patient.reads.executed", operation).increment();
+        try {
+            T result = read.get();
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    /**
+     * Detaches all reads in flight once the current transaction commits (or right away
+     * without one), so callers arriving after a write never share a read that started
+     * before it. Callers already waiting still get the earlier result.
+     */
+    public void invalidateAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    inFlight.clear();
+                }
+            });
+        } else {
+            inFlight.clear();
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            // Rethrow what the executing caller saw, e.g. PatientNotFoundException
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    private Counter counter(Map<String, Counter> counters, String name, String operation) {
+        return counters.computeIfAbsent(operation, op -> Counter.builder(name)
+                .tag("operation", op)
+                .register(meterRegistry));
+    }
+
+    private record Key(String operation, List<?> args) {
+    }
+}
@@ -0,0 +1,181 @@
+package io.github.rizanmusthafa.patient_service.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import io.github.rizanmusthafa.patient_service.config.WarmupProperties;
+import io.github.rizanmusthafa.patient_service.dto.LocationGrouping;
+import io.github.rizanmusthafa.patient_service.dto.PageResponse;
+import io.github.rizanmusthafa.patient_service.dto.PatientDto;
+import io.github.rizanmusthafa.patient_service.mapper.PatientMapper;
+import io.github.rizanmusthafa.patient_service.service.PatientService;
+import io.github.rizanmusthafa.patient_service.service.PatientStatsService;
+import io.github.rizanmusthafa.patient_service.validation.PatientDtoValidator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Warms the application up before it takes traffic: opens the connection pool to its
+ * minimum size, runs the main read queries, reads a page of the most recently registered
+ * patients and runs mapping, validation and JSON serialization until the JIT has compiled
+ * them.
+ * <p>
+ * Application runners complete before Spring Boot publishes
+ * {@code ReadinessState.ACCEPTING_TRAFFIC}, so {@code /actuator/health/readiness} reports
+ * OUT_OF_SERVICE until the warm-up is done. A failing step is logged and skipped; it
+ * never prevents startup.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class StartupWarmup implements ApplicationRunner {
+
+    private static final int PAGE_SIZE = 20;
+    private static final List<Sort> SORTS = List.of(
+            Sort.unsorted(),
+            Sort.by("lastName"),
+            Sort.by("firstName"),
+            Sort.by(Sort.Direction.DESC, "createdAt"));
+
+    private final WarmupProperties properties;
+    private final DataSource dataSource;
+    private final PatientService patientService;
+    private final PatientStatsService patientStatsService;
+    private final PatientMapper patientMapper;
+    private final PatientDtoValidator patientDtoValidator;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        long started = System.nanoTime();
+        long deadline = started + properties.getTimeout().toNanos();
+
+        try {
+            log.info("Warm-up: {} database connections open", openPool(deadline));
+        } catch (SQLException | RuntimeException e) {
+            log.warn("Warm-up: opening the connection pool failed", e);
+        }
+
+        List<PatientDto> sample = List.of();
+        try {
+            sample = runQueries(deadline);
+        } catch (RuntimeException e) {
+            log.warn("Warm-up: running the read queries failed", e);
+        }
+
+        try {
+            log.info("Warm-up: preloaded {} patients", preloadPatients(deadline));
+        } catch (RuntimeException e) {
+            log.warn("Warm-up: preloading patients failed", e);
+        }
+
+        try {
+            exerciseCodePaths(sample, deadline);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Warm-up: exercising mapping and serialization failed", e);
+        }
+
+        log.info("Warm-up finished in {} ms{}", TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started),
+                expired(deadline) ? ", stopped at the timeout" : "");
+    }
+
+    /**
+     * Holds the pool's minimum number of connections at once, so all of them are opened
+     * now instead of by the first requests.
+     */
+    private int openPool(long deadline) throws SQLException {
+        int target = 1;
+        if (dataSource.isWrapperFor(HikariDataSource.class)) {
+            HikariDataSource hikari = dataSource.unwrap(HikariDataSource.class);
+            target = Math.max(1, Math.min(hikari.getMinimumIdle(), hikari.getMaximumPoolSize()));
+        }
+        List<Connection> connections = new ArrayList<>(target);
+        try {
+            while (connections.size() < target && !expired(deadline)) {
+                Connection connection = dataSource.getConnection();
+                connections.add(connection);
+                connection.isValid(1);
+            }
+            return connections.size();
+        } finally {
+            for (Connection connection : connections) {
+                connection.close();
+            }
+        }
+    }
+
+    private List<PatientDto> runQueries(long deadline) {
+        LocalDate today = LocalDate.now();
+        List<PatientDto> sample = List.of();
+        for (int i = 0; i < properties.getQueryIterations() && !expired(deadline); i++) {
+            for (Sort sort : SORTS) {
+                sample = patientService.findAll(0, PAGE_SIZE, sort).getContent();
+            }
+            patientService.search("a", 0, PAGE_SIZE, Sort.by("lastName"));
+            if (!sample.isEmpty()) {
+                patientService.findById(sample.get(i % sample.size()).getId());
+            }
+            patientStatsService.getStats(LocationGrouping.STATE, today.minusDays(30), today);
+        }
+        return sample;
+    }
+
+    /**
+     * There is no application cache to fill; reading the newest patients, the ones most
+     * likely to be requested after a deploy, puts their rows in the database buffer cache.
+     * One page query reads every row; the by-id path is already warmed by
+     * {@link #runQueries}.
+     */
+    private int preloadPatients(long deadline) {
+        if (properties.getPreloadPatients() <= 0 || expired(deadline)) {
+            return 0;
+        }
+        return patientService.findAll(0, properties.getPreloadPatients(),
+                Sort.by(Sort.Direction.DESC, "createdAt")).getContent().size();
+    }
+
+    private void exerciseCodePaths(List<PatientDto> sample, long deadline) throws IOException {
+        List<PatientDto> patients = sample.isEmpty() ? syntheticPatients() : sample;
+        PageResponse<PatientDto> page = new PageResponse<>(patients, 0, patients.size(), patients.size(), 1, true, true);
+        byte[] single = objectMapper.writeValueAsBytes(patients.get(0));
+        for (int i = 0; i < properties.getIterations() && !expired(deadline); i++) {
+            List<PatientDto> mapped = new ArrayList<>(patients.size());
+            for (PatientDto patient : patients) {
+                mapped.add(patientMapper.toDto(patientMapper.toEntity(patient)));
+            }
+            patientDtoValidator.validateAll(mapped);
+            objectMapper.writeValueAsBytes(page);
+            objectMapper.readValue(single, PatientDto.class);
+        }
+    }
+
+    private static List<PatientDto> syntheticPatients() {
+        LocalDateTime now = LocalDateTime.now();
+        List<PatientDto> patients = new ArrayList<>(PAGE_SIZE);
+        for (int i = 1; i <= PAGE_SIZE; i++) {
+            patients.add(new PatientDto((long) i, "First" + i, "Last" + i, i + " Main Street", "Springfield", "IL",
+                    "62701", "+1555000" + i, "patient" + i + "@example.com", now, now));
+        }
+        return patients;
+    }
+
+    private static boolean expired(long deadline) {
+        return System.nanoTime() - deadline >= 0;
+    }
+}
@@ -0,0 +1,180 @@
+package io.github.rizanmusthafa.patient_service.service.impl;
+
+import io.github.rizanmusthafa.patient_service.config.AsyncPatchProperties;
+import io.github.rizanmusthafa.patient_service.dto.PatchQueueStatus;
+import io.github.rizanmusthafa.patient_service.dto.PatientDto;
+import io.github.rizanmusthafa.patient_service.exception.PatchQueueFullException;
+import io.github.rizanmusthafa.patient_service.service.PatientPatchQueue;
+import io.github.rizanmusthafa.patient_service.service.PatientService;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WriteBehindPatientPatchQueue implements PatientPatchQueue {
+
+    private final PatientService patientService;
+    private final AsyncPatchProperties properties;
+
+    private final ConcurrentHashMap<Long, PatientDto> pending = new ConcurrentHashMap<>();
+    private final AtomicLong flushed = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong failedBatches = new AtomicLong();
+    private volatile LocalDateTime lastFlushAt;
+
+    @Override
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    @Override
+    public void enqueue(Long id, PatientDto dto) {
+        if (!pending.containsKey(id) && pending.size() >= properties.getCapacity()) {
+            throw new PatchQueueFullException("Patch queue is full, retry later or patch synchronously");
+        }
+        pending.merge(id, copyOf(dto), WriteBehindPatientPatchQueue::coalesce);
+    }
+
+    @Override
+    public void discard(Long id) {
+        if (pending.remove(id) != null) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${patient.async-patch.flush-interval-ms:500}")
+    public synchronized void flush() {
+        while (!pending.isEmpty()) {
+            Map<Long, PatientDto> batch = drainBatch();
+            if (batch.isEmpty()) {
+                break;
+            }
+            write(batch);
+            lastFlushAt = LocalDateTime.now();
+            if (batch.size() < properties.getBatchSize()) {
+                break;
+            }
+        }
+    }
+
+    @Override
+    public PatchQueueStatus status() {
+        return new PatchQueueStatus(
+                properties.isEnabled(),
+                pending.size(),
+                properties.getCapacity(),
+                flushed.get(),
+                dropped.get(),
+                failedBatches.get(),
+                lastFlushAt
+        );
+    }
+
+    /**
+     * Writes everything still queued before the application context shuts down.
+     */
+    @PreDestroy
+    public void drain() {
+        if (!pending.isEmpty()) {
+            log.info("Flushing {} pending patient patches before shutdown", pending.size());
+            flush();
+        }
+    }
+
+    private Map<Long, PatientDto> drainBatch() {
+        Map<Long, PatientDto> batch = new LinkedHashMap<>();
+        Iterator<Long> ids = pending.keySet().iterator();
+        while (ids.hasNext() && batch.size() < properties.getBatchSize()) {
+            Long id = ids.next();
+            PatientDto patch = pending.remove(id);
+            if (patch != null) {
+                batch.put(id, patch);
+            }
+        }
+        return batch;
+    }
+
+    private void write(Map<Long, PatientDto> batch) {
+        try {
+            int applied = patientService.patchAll(batch);
+            flushed.addAndGet(applied);
+            dropped.addAndGet(batch.size() - applied);
+        } catch (RuntimeException ex) {
+            // One bad row must not block the rest of the batch: fall back to one
+            // transaction per patient and drop only the patches that still fail.
+            failedBatches.incrementAndGet();
+            log.warn("Batched patch flush of {} patients failed, retrying individually", batch.size(), ex);
+            batch.forEach(this::writeSingle);
+        }
+    }
+
+    private void writeSingle(Long id, PatientDto patch) {
+        try {
+            if (patientService.patchAll(Map.of(id, patch)) == 1) {
+                flushed.incrementAndGet();
+            } else {
+                dropped.incrementAndGet();
+            }
+        } catch (RuntimeException ex) {
+            dropped.incrementAndGet();
+            log.warn("Dropping queued patch for patient {}: {}", id, ex.getMessage());
+        }
+    }
+
+    /**
+     * Copies the patch and stamps it with the time it was accepted as its
+     * {@code updatedAt}, so {@link PatientService#patchAll(Map)} skips it if the patient
+     * changes in the meantime.
+     */
+    private static PatientDto copyOf(PatientDto dto) {
+        PatientDto copy = new PatientDto();
+        copy.setUpdatedAt(LocalDateTime.now());
+        return coalesce(copy, dto);
+    }
+
+    /**
+     * Applies the non-null fields of {@code newer} on top of {@code older}, matching
+     * the partial update semantics of {@link PatientService#patch(Long, PatientDto)}.
+     * {@code older} keeps its accept time: a patient modified after the first of the
+     * coalesced patches skips all of them.
+     */
+    private static PatientDto coalesce(PatientDto older, PatientDto newer) {
+        if (newer.getFirstName() != null) {
+            older.setFirstName(newer.getFirstName());
+        }
+        if (newer.getLastName() != null) {
+            older.setLastName(newer.getLastName());
+        }
+        if (newer.getAddress() != null) {
+            older.setAddress(newer.getAddress());
+        }
+        if (newer.getCity() != null) {
+            older.setCity(newer.getCity());
+        }
+        if (newer.getState() != null) {
+            older.setState(newer.getState());
+        }
+        if (newer.getZipCode() != null) {
+            older.setZipCode(newer.getZipCode());
+        }
+        if (newer.getPhoneNumber() != null) {
+            older.setPhoneNumber(newer.getPhoneNumber());
+        }
+        if (newer.getEmail() != null) {
+            older.setEmail(newer.getEmail());
+        }
+        return older;
+    }
+}
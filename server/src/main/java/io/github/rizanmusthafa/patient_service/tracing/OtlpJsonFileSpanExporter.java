@@ -0,0 +1,70 @@
+package io.github.rizanmusthafa.patient_service.tracing;
+
+import io.opentelemetry.exporter.logging.otlp.OtlpJsonLoggingSpanExporter;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.logging.FileHandler;
+import java.util.logging.Formatter;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+/**
+ * Writes spans to rotating local files, one OTLP JSON export request per line, in the
+ * format read by the OpenTelemetry Collector's {@code otlpjsonfile} receiver.
+ * <p>
+ * {@link OtlpJsonLoggingSpanExporter} does the encoding and writes each batch to its
+ * java.util.logging logger; this exporter routes that logger to its own files instead of
+ * the application log.
+ */
+public final class OtlpJsonFileSpanExporter implements SpanExporter {
+
+    private final SpanExporter delegate;
+    private final Logger logger;
+    private final FileHandler fileHandler;
+
+    public OtlpJsonFileSpanExporter(Path directory, long maxFileBytes, int maxFiles) throws IOException {
+        // Created first: the exporter's static field keeps its logger (and our handler) reachable
+        this.delegate = OtlpJsonLoggingSpanExporter.create();
+        Files.createDirectories(directory);
+        this.fileHandler = new FileHandler(directory.resolve("spans.%g.jsonl").toString(),
+                Math.toIntExact(Math.min(maxFileBytes, Integer.MAX_VALUE)), maxFiles, true);
+        this.fileHandler.setFormatter(new MessageOnlyFormatter());
+        this.logger = Logger.getLogger(OtlpJsonLoggingSpanExporter.class.getName());
+        this.logger.setUseParentHandlers(false);
+        this.logger.setLevel(Level.INFO);
+        this.logger.addHandler(fileHandler);
+    }
+
+    @Override
+    public CompletableResultCode export(Collection<SpanData> spans) {
+        return delegate.export(spans);
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        fileHandler.flush();
+        return delegate.flush();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        CompletableResultCode result = delegate.shutdown();
+        logger.removeHandler(fileHandler);
+        fileHandler.close();
+        return result;
+    }
+
+    private static final class MessageOnlyFormatter extends Formatter {
+        @Override
+        public String format(LogRecord record) {
+            return record.getMessage() + System.lineSeparator();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package io.github.rizanmusthafa.patient_service.tracing;
+
+import io.github.rizanmusthafa.patient_service.config.TracingProperties;
+import io.micrometer.common.KeyValue;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.handler.TracingObservationHandler;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+
+/**
+ * Logs observations that took longer than their threshold: HTTP requests, PatientService
+ * calls and JDBC statements (see {@link TracingProperties}). Each line carries the trace
+ * id, so a slow request can be matched with its slow service call and statements, and
+ * every key value of the observation, for statements the SQL, row counts and, if
+ * enabled, the bound parameter values.
+ * <p>
+ * Timing does not depend on sampling: unsampled requests are logged too.
+ */
+@Slf4j
+public class SlowObservationLogger implements ObservationHandler<Observation.Context> {
+
+    static final String HTTP_SERVER_REQUESTS = "http.server.requests";
+    static final String PATIENT_SERVICE = "patient.service";
+    static final String JDBC_QUERY = "jdbc.query";
+    static final String JDBC_RESULT_SET = "jdbc.result-set";
+
+    private static final int MAX_VALUE_LENGTH = 2_000;
+
+    private final long slowRequestNanos;
+    private final long slowServiceNanos;
+    private final long slowQueryNanos;
+
+    public SlowObservationLogger(TracingProperties properties) {
+        this.slowRequestNanos = properties.getSlowRequestThreshold().toNanos();
+        this.slowServiceNanos = properties.getSlowServiceThreshold().toNanos();
+        this.slowQueryNanos = properties.getSlowQueryThreshold().toNanos();
+    }
+
+    @Override
+    public void onStart(Observation.Context context) {
+        if (thresholdNanos(context.getName()) >= 0) {
+            context.put(StartTime.class, new StartTime(System.nanoTime()));
+        }
+    }
+
+    @Override
+    public void onStop(Observation.Context context) {
+        StartTime start = context.get(StartTime.class);
+        if (start == null) {
+            return;
+        }
+        long elapsedNanos = System.nanoTime() - start.nanos();
+        if (elapsedNanos < thresholdNanos(context.getName())) {
+            return;
+        }
+
+        StringBuilder line = new StringBuilder(256)
+                .append("slow_operation name=").append(context.getName())
+                .append(" duration_ms=").append(Duration.ofNanos(elapsedNanos).toMillis())
+                .append(" trace_id=").append(traceId(context));
+        if (context.getContextualName() != null) {
+            line.append(" operation=\"").append(context.getContextualName()).append('"');
+        }
+        for (KeyValue keyValue : context.getAllKeyValues()) {
+            line.append(' ').append(keyValue.getKey()).append("=\"").append(truncate(keyValue.getValue())).append('"');
+        }
+        if (context.getError() != null) {
+            line.append(" error=\"").append(truncate(String.valueOf(context.getError()))).append('"');
+        }
+        log.warn(line.toString());
+    }
+
+    @Override
+    public boolean supportsContext(Observation.Context context) {
+        return true;
+    }
+
+    /**
+     * Threshold for the observation, or -1 if observations with that name are not timed.
+     */
+    private long thresholdNanos(String name) {
+        if (name == null) {
+            return -1;
+        }
+        return switch (name) {
+            case HTTP_SERVER_REQUESTS -> slowRequestNanos;
+            case PATIENT_SERVICE -> slowServiceNanos;
+            case JDBC_QUERY, JDBC_RESULT_SET -> slowQueryNanos;
+            default -> -1;
+        };
+    }
+
+    private static String traceId(Observation.Context context) {
+        TracingObservationHandler.TracingContext tracingContext = context.get(TracingObservationHandler.TracingContext.class);
+        Span span = tracingContext == null ? null : tracingContext.getSpan();
+        return span == null ? "-" : span.context().traceId();
+    }
+
+    private static String truncate(String value) {
+        String escaped = value.replace("\"", "\\\"").replace('\n', ' ');
+        return escaped.length() <= MAX_VALUE_LENGTH ? escaped : escaped.substring(0, MAX_VALUE_LENGTH) + "...";
+    }
+
+    private record StartTime(long nanos) {
+    }
+}
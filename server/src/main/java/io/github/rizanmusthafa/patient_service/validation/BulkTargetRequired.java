@@ -0,0 +1,16 @@
+package io.github.rizanmusthafa.patient_service.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.*;
+
+@Target({ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Constraint(validatedBy = BulkTargetRequiredValidator.class)
+@Documented
+public @interface BulkTargetRequired {
+    String message() default "Either a non-empty list of ids or a filter with at least one field must be provided, but not both";
+    Class<?>[] groups() default {};
+    Class<? extends Payload>[] payload() default {};
+}
@@ -0,0 +1,22 @@
+package io.github.rizanmusthafa.patient_service.validation;
+
+import io.github.rizanmusthafa.patient_service.dto.BulkTarget;
+import io.github.rizanmusthafa.patient_service.dto.PatientFilter;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+public class BulkTargetRequiredValidator implements ConstraintValidator<BulkTargetRequired, BulkTarget> {
+
+    @Override
+    public boolean isValid(BulkTarget target, ConstraintValidatorContext context) {
+        if (target == null) {
+            return true;
+        }
+
+        boolean hasIds = target.getIds() != null && !target.getIds().isEmpty();
+        PatientFilter filter = target.getFilter();
+        boolean hasFilter = filter != null && (filter.getCity() != null || filter.getState() != null);
+
+        return hasIds != hasFilter;
+    }
+}
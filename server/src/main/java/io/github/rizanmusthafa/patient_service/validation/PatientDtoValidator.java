@@ -0,0 +1,211 @@
+package io.github.rizanmusthafa.patient_service.validation;
+
+import io.github.rizanmusthafa.patient_service.dto.ItemValidationError;
+import io.github.rizanmusthafa.patient_service.dto.PatientDto;
+import jakarta.validation.Validator;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Hand-written equivalent of the Bean Validation constraints on {@link PatientDto}, for
+ * bulk payloads where running Hibernate Validator per item dominates the request. It
+ * checks the same rules with the same messages: {@code @NotBlank} first and last name,
+ * {@code @Email} and {@code @PhoneOrEmailRequired}. All violations of an item are
+ * reported, and a valid item allocates nothing.
+ * <p>
+ * Common ASCII email addresses are checked inline. Addresses with quoted local parts,
+ * IP literals or non-ASCII characters are delegated to Hibernate Validator so both paths
+ * agree. Keep the rules in step with the annotations on {@link PatientDto};
+ * PatientDtoValidatorTest compares the two.
+ */
+@Component
+public class PatientDtoValidator {
+
+    public static final String FIRST_NAME_REQUIRED = "First name is required";
+    public static final String LAST_NAME_REQUIRED = "Last name is required";
+    public static final String EMAIL_INVALID = "Email should be valid";
+    public static final String PHONE_OR_EMAIL_REQUIRED = "Either phone number or email must be provided";
+    public static final String PATIENT_REQUIRED = "Patient is required";
+
+    // Lists at least this large are validated in chunks on the common fork-join pool. Bulk
+    // create requests (at most BulkCreateRequest.MAX_PATIENTS items) stay below it; the
+    // parallel path is for import job payloads, which are validated whole before the job
+    // is created.
+    static final int PARALLEL_THRESHOLD = 2_048;
+    static final int CHUNK_SIZE = 512;
+
+    private static final int MAX_LOCAL_PART_LENGTH = 64;
+    private static final int MAX_DOMAIN_LENGTH = 255;
+    private static final int MAX_DOMAIN_LABEL_LENGTH = 63;
+
+    private static final int EMAIL_VALID = 0;
+    private static final int EMAIL_INVALID_FORMAT = 1;
+    private static final int EMAIL_DELEGATE = 2;
+
+    private final Validator validator;
+
+    public PatientDtoValidator(Validator validator) {
+        this.validator = validator;
+    }
+
+    /**
+     * Validates one item and reports each violation to the sink.
+     *
+     * @return the number of violations
+     */
+    public int validate(PatientDto dto, int index, ValidationErrorSink sink) {
+        if (dto == null) {
+            sink.reject(index, null, PATIENT_REQUIRED);
+            return 1;
+        }
+        int violations = 0;
+        if (!hasText(dto.getFirstName())) {
+            sink.reject(index, "firstName", FIRST_NAME_REQUIRED);
+            violations++;
+        }
+        if (!hasText(dto.getLastName())) {
+            sink.reject(index, "lastName", LAST_NAME_REQUIRED);
+            violations++;
+        }
+        if (!isValidEmail(dto.getEmail())) {
+            sink.reject(index, "email", EMAIL_INVALID);
+            violations++;
+        }
+        if (!hasText(dto.getPhoneNumber()) && !hasText(dto.getEmail())) {
+            sink.reject(index, null, PHONE_OR_EMAIL_REQUIRED);
+            violations++;
+        }
+        return violations;
+    }
+
+    /**
+     * Validates every item of a list, in parallel chunks for large lists.
+     *
+     * @return all violations ordered by item index, empty if every item is valid
+     */
+    public List<ItemValidationError> validateAll(List<PatientDto> dtos) {
+        if (dtos.size() < PARALLEL_THRESHOLD) {
+            return validateRange(dtos, 0, dtos.size());
+        }
+        int chunks = (dtos.size() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        List<List<ItemValidationError>> chunkErrors = IntStream.range(0, chunks)
+                .parallel()
+                .mapToObj(chunk -> validateRange(dtos, chunk * CHUNK_SIZE,
+                        Math.min(dtos.size(), (chunk + 1) * CHUNK_SIZE)))
+                .toList();
+        List<ItemValidationError> errors = new ArrayList<>();
+        chunkErrors.forEach(errors::addAll);
+        return errors;
+    }
+
+    private List<ItemValidationError> validateRange(List<PatientDto> dtos, int from, int to) {
+        List<ItemValidationError> errors = new ArrayList<>(0);
+        ValidationErrorSink sink = (index, field, message) -> errors.add(new ItemValidationError(index, field, message));
+        for (int i = from; i < to; i++) {
+            validate(dtos.get(i), i, sink);
+        }
+        return errors;
+    }
+
+    /**
+     * Same result as {@code @NotBlank}: not null and not empty after {@link String#trim()},
+     * without allocating the trimmed string.
+     */
+    public static boolean hasText(String value) {
+        if (value == null) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > ' ') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isValidEmail(String email) {
+        if (email == null || email.isEmpty()) {
+            return true;
+        }
+        return switch (checkEmail(email)) {
+            case EMAIL_VALID -> true;
+            case EMAIL_INVALID_FORMAT -> false;
+            default -> validator.validateValue(PatientDto.class, "email", email).isEmpty();
+        };
+    }
+
+    /**
+     * Checks the plain {@code atom(.atom)*@label(.label)*} form accepted by Hibernate
+     * Validator's {@code @Email}, and defers anything outside ASCII atoms and labels.
+     */
+    static int checkEmail(String email) {
+        int at = email.lastIndexOf('@');
+        if (at < 0) {
+            return EMAIL_INVALID_FORMAT;
+        }
+        int local = checkLocalPart(email, at);
+        if (local != EMAIL_VALID) {
+            return local;
+        }
+        return checkDomain(email, at + 1);
+    }
+
+    private static int checkLocalPart(String email, int end) {
+        if (end == 0 || end > MAX_LOCAL_PART_LENGTH) {
+            return end == 0 ? EMAIL_INVALID_FORMAT : EMAIL_DELEGATE;
+        }
+        boolean previousDot = true;
+        for (int i = 0; i < end; i++) {
+            char c = email.charAt(i);
+            if (c == '.') {
+                if (previousDot) {
+                    return EMAIL_INVALID_FORMAT;
+                }
+                previousDot = true;
+            } else if (isAtomChar(c)) {
+                previousDot = false;
+            } else if (c == '"' || c >= 0x80) {
+                return EMAIL_DELEGATE;
+            } else {
+                return EMAIL_INVALID_FORMAT;
+            }
+        }
+        return previousDot ? EMAIL_INVALID_FORMAT : EMAIL_VALID;
+    }
+
+    private static int checkDomain(String email, int start) {
+        int length = email.length() - start;
+        if (length == 0) {
+            return EMAIL_INVALID_FORMAT;
+        }
+        if (length > MAX_DOMAIN_LENGTH || email.charAt(start) == '[') {
+            return EMAIL_DELEGATE;
+        }
+        int labelStart = start;
+        for (int i = start; i <= email.length(); i++) {
+            char c = i < email.length() ? email.charAt(i) : '.';
+            if (c == '.') {
+                int labelLength = i - labelStart;
+                if (labelLength == 0 || labelLength > MAX_DOMAIN_LABEL_LENGTH
+                        || email.charAt(labelStart) == '-' || email.charAt(i - 1) == '-') {
+                    return EMAIL_INVALID_FORMAT;
+                }
+                labelStart = i + 1;
+            } else if (c >= 0x80) {
+                return EMAIL_DELEGATE;
+            } else if (c != '-' && !isAtomChar(c)) {
+                return EMAIL_INVALID_FORMAT;
+            }
+        }
+        return EMAIL_VALID;
+    }
+
+    // RFC 5322 atext, the character class Hibernate Validator uses for both parts
+    private static boolean isAtomChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                || "!#$%&'*+/=?^_`{|}~-".indexOf(c) >= 0;
+    }
+}
@@ -15,11 +15,8 @@ public class PhoneOrEmailRequiredValidator implements ConstraintValidator<PhoneO
         if (dto == null) {
             return true;
         }
-        
-        boolean hasPhone = dto.getPhoneNumber() != null && !dto.getPhoneNumber().trim().isEmpty();
-        boolean hasEmail = dto.getEmail() != null && !dto.getEmail().trim().isEmpty();
-        
-        return hasPhone || hasEmail;
+
+        return PatientDtoValidator.hasText(dto.getPhoneNumber()) || PatientDtoValidator.hasText(dto.getEmail());
     }
 }
 
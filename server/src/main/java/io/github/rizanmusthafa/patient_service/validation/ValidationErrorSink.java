@@ -0,0 +1,16 @@
+package io.github.rizanmusthafa.patient_service.validation;
+
+/**
+ * Receives the violations found by {@link PatientDtoValidator}. Only called for invalid
+ * items, so validating a valid item allocates nothing.
+ */
+@FunctionalInterface
+public interface ValidationErrorSink {
+
+    /**
+     * @param index position of the item in the validated list
+     * @param field violating property, or null for an object-level constraint
+     * @param message the constraint's message
+     */
+    void reject(int index, String field, String message);
+}
@@ -0,0 +1,5 @@
+-- Drops the pre-partitioning table that V3 kept for verification. It still holds every
+-- patient as of the swap, with address, phone number and email in plaintext (V10 only
+-- encrypts patients and patients_archive). Row counts and keys of the copy are covered
+-- by PartitionMigrationTest.
+DROP TABLE IF EXISTS patients_legacy;
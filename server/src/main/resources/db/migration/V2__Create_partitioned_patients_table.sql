@@ -0,0 +1,77 @@
+-- Step 1 of moving patients to a hash-partitioned table.
+--
+-- Rows are spread over 16 partitions by HASH (id). Every access path in the service
+-- resolves patients by id (findById, id = ANY(...) lookups, updates and deletes), so
+-- those statements are pruned to a single partition, and updates never move a row
+-- between partitions. Vacuum, index rebuilds and exports can work partition by partition.
+--
+-- This migration only creates the new table and a trigger that mirrors every write on
+-- the old table into it. V3 copies the existing rows in batches and swaps the tables.
+
+CREATE TABLE patients_partitioned (
+    id BIGINT NOT NULL DEFAULT nextval('patients_id_seq'),
+    first_name VARCHAR(255) NOT NULL,
+    last_name VARCHAR(255) NOT NULL,
+    address VARCHAR(500),
+    city VARCHAR(100),
+    state VARCHAR(100),
+    zip_code VARCHAR(20),
+    phone_number VARCHAR(20),
+    email VARCHAR(255),
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT patients_partitioned_pkey PRIMARY KEY (id)
+) PARTITION BY HASH (id);
+
+CREATE TABLE patients_p0 PARTITION OF patients_partitioned FOR VALUES WITH (MODULUS 16, REMAINDER 0);
+CREATE TABLE patients_p1 PARTITION OF patients_partitioned FOR VALUES WITH (MODULUS 16, REMAINDER 1);
+CREATE TABLE patients_p2 PARTITION OF patients_partitioned FOR VALUES WITH (MODULUS 16, REMAINDER 2);
+CREATE TABLE patients_p3 PARTITION OF patients_partitioned FOR VALUES WITH (MODULUS 16, REMAINDER 3);
+CREATE TABLE patients_p4 PARTITION OF patients_partitioned FOR VALUES WITH (MODULUS 16, REMAINDER 4);
+CREATE TABLE patients_p5 PARTITION OF patients_partitioned FOR VALUES WITH (MODULUS 16, REMAINDER 5);
+CREATE TABLE patients_p6 PARTITION OF patients_partitioned FOR VALUES WITH (MODULUS 16, REMAINDER 6);
+CREATE TABLE patients_p7 PARTITION OF patients_partitioned FOR VALUES WITH (MODULUS 16, REMAINDER 7);
+CREATE TABLE patients_p8 PARTITION OF patients_partitioned FOR VALUES WITH (MODULUS 16, REMAINDER 8);
+CREATE TABLE patients_p9 PARTITION OF patients_partitioned FOR VALUES WITH (MODULUS 16, REMAINDER 9);
+CREATE TABLE patients_p10 PARTITION OF patients_partitioned FOR VALUES WITH (MODULUS 16, REMAINDER 10);
+CREATE TABLE patients_p11 PARTITION OF patients_partitioned FOR VALUES WITH (MODULUS 16, REMAINDER 11);
+CREATE TABLE patients_p12 PARTITION OF patients_partitioned FOR VALUES WITH (MODULUS 16, REMAINDER 12);
+CREATE TABLE patients_p13 PARTITION OF patients_partitioned FOR VALUES WITH (MODULUS 16, REMAINDER 13);
+CREATE TABLE patients_p14 PARTITION OF patients_partitioned FOR VALUES WITH (MODULUS 16, REMAINDER 14);
+CREATE TABLE patients_p15 PARTITION OF patients_partitioned FOR VALUES WITH (MODULUS 16, REMAINDER 15);
+
+CREATE INDEX idx_patients_partitioned_first_name ON patients_partitioned(first_name);
+CREATE INDEX idx_patients_partitioned_last_name ON patients_partitioned(last_name);
+
+-- Keeps the new table in step with writes made while the copy runs (including writes
+-- from replicas still running the previous release). Updates are upserts so a row
+-- changed before the copy reaches it is still carried over with its latest values.
+CREATE FUNCTION mirror_patients_to_partitioned() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        DELETE FROM patients_partitioned WHERE id = OLD.id;
+        RETURN OLD;
+    END IF;
+
+    INSERT INTO patients_partitioned (id, first_name, last_name, address, city, state, zip_code,
+                                      phone_number, email, created_at, updated_at)
+    VALUES (NEW.id, NEW.first_name, NEW.last_name, NEW.address, NEW.city, NEW.state, NEW.zip_code,
+            NEW.phone_number, NEW.email, NEW.created_at, NEW.updated_at)
+    ON CONFLICT (id) DO UPDATE SET
+        first_name = EXCLUDED.first_name,
+        last_name = EXCLUDED.last_name,
+        address = EXCLUDED.address,
+        city = EXCLUDED.city,
+        state = EXCLUDED.state,
+        zip_code = EXCLUDED.zip_code,
+        phone_number = EXCLUDED.phone_number,
+        email = EXCLUDED.email,
+        created_at = EXCLUDED.created_at,
+        updated_at = EXCLUDED.updated_at;
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_patients_mirror_to_partitioned
+    AFTER INSERT OR UPDATE OR DELETE ON patients
+    FOR EACH ROW EXECUTE FUNCTION mirror_patients_to_partitioned();
@@ -0,0 +1,30 @@
+-- Soft delete: rows are flagged with deleted_at instead of being removed, so deletes no
+-- longer fragment the hot table and a deleted patient can be restored.
+ALTER TABLE patients ADD COLUMN deleted_at TIMESTAMP;
+
+-- Live-row queries always filter on deleted_at IS NULL; partial indexes keep deleted
+-- rows out of the indexes those queries use.
+DROP INDEX idx_patients_first_name;
+DROP INDEX idx_patients_last_name;
+CREATE INDEX idx_patients_first_name ON patients(first_name) WHERE deleted_at IS NULL;
+CREATE INDEX idx_patients_last_name ON patients(last_name) WHERE deleted_at IS NULL;
+
+-- Lets the archiver find rows past the retention period without scanning live rows.
+CREATE INDEX idx_patients_deleted_at ON patients(deleted_at) WHERE deleted_at IS NOT NULL;
+
+-- Cold storage for patients deleted longer than the retention period.
+CREATE TABLE patients_archive (
+    id BIGINT PRIMARY KEY,
+    first_name VARCHAR(255) NOT NULL,
+    last_name VARCHAR(255) NOT NULL,
+    address VARCHAR(500),
+    city VARCHAR(100),
+    state VARCHAR(100),
+    zip_code VARCHAR(20),
+    phone_number VARCHAR(20),
+    email VARCHAR(255),
+    created_at TIMESTAMP,
+    updated_at TIMESTAMP,
+    deleted_at TIMESTAMP NOT NULL,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
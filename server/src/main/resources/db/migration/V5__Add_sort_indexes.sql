@@ -0,0 +1,10 @@
+-- Indexes backing the sort orders accepted by GET /api/patient (see PatientSorts).
+-- Each ends in id, the tie-breaker appended to every sort, so an ORDER BY ... LIMIT
+-- page is read straight from the index (Merge Append across partitions) instead of
+-- sorting the whole table. Like the other indexes they only cover live rows.
+DROP INDEX idx_patients_first_name;
+DROP INDEX idx_patients_last_name;
+
+CREATE INDEX idx_patients_first_name_id ON patients(first_name, id) WHERE deleted_at IS NULL;
+CREATE INDEX idx_patients_last_name_first_name_id ON patients(last_name, first_name, id) WHERE deleted_at IS NULL;
+CREATE INDEX idx_patients_created_at_id ON patients(created_at, id) WHERE deleted_at IS NULL;
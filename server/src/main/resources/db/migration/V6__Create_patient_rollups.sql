@@ -0,0 +1,118 @@
+-- Rollup tables for the stats endpoint, so aggregate counts are read in O(groups)
+-- instead of scanning patients. Triggers keep them current for every write path:
+-- single-row JPA writes, bulk UPDATE statements, restores and the archiver.
+--
+-- Every counter is split over 16 shard rows. A transaction adds to one shard, picked
+-- from its transaction id, so concurrent transactions creating patients on the same
+-- day or in the same city rarely wait for each other's row lock. Readers sum the
+-- shards; a single shard can go negative when patients leave a location.
+--
+-- The triggers fire once per statement and fold the statement's rows (its transition
+-- tables) into one change per counter, applied in key order. A bulk statement takes
+-- one lock per counter it changes, and two statements changing the same counters lock
+-- them in the same order, so they cannot deadlock on them.
+
+-- Live (not deleted) patients per location. Missing city/state are stored as ''
+-- because they are part of the primary key.
+CREATE TABLE patient_location_counts (
+    state VARCHAR(100) NOT NULL,
+    city VARCHAR(100) NOT NULL,
+    shard SMALLINT NOT NULL,
+    patient_count BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (state, city, shard)
+);
+
+-- Patients registered per day. Registration is history, so later deletes do not
+-- decrement it.
+CREATE TABLE patient_daily_counts (
+    day DATE NOT NULL,
+    shard SMALLINT NOT NULL,
+    created_count BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (day, shard)
+);
+
+INSERT INTO patient_location_counts (state, city, shard, patient_count)
+SELECT COALESCE(state, ''), COALESCE(city, ''), 0, COUNT(*)
+FROM patients
+WHERE deleted_at IS NULL
+GROUP BY COALESCE(state, ''), COALESCE(city, '');
+
+INSERT INTO patient_daily_counts (day, shard, created_count)
+SELECT created_at::date, 0, COUNT(*)
+FROM (SELECT created_at FROM patients
+      UNION ALL
+      SELECT created_at FROM patients_archive) registered
+WHERE created_at IS NOT NULL
+GROUP BY created_at::date;
+
+CREATE FUNCTION patient_rollup_shard() RETURNS SMALLINT AS $$
+    SELECT (txid_current() % 16)::SMALLINT;
+$$ LANGUAGE sql VOLATILE;
+
+-- Adds +1 for every live row after the statement and -1 for every live row before it.
+-- Rows whose location and deleted state did not change cancel out.
+CREATE FUNCTION maintain_patient_rollups() RETURNS TRIGGER AS $$
+DECLARE
+    current_shard SMALLINT := patient_rollup_shard();
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        INSERT INTO patient_location_counts AS counts (state, city, shard, patient_count)
+        SELECT COALESCE(state, ''), COALESCE(city, ''), current_shard, COUNT(*)
+        FROM new_rows
+        WHERE deleted_at IS NULL
+        GROUP BY 1, 2
+        ORDER BY 1, 2
+        ON CONFLICT (state, city, shard) DO UPDATE
+            SET patient_count = counts.patient_count + EXCLUDED.patient_count;
+
+        INSERT INTO patient_daily_counts AS counts (day, shard, created_count)
+        SELECT COALESCE(created_at, CURRENT_TIMESTAMP)::date, current_shard, COUNT(*)
+        FROM new_rows
+        GROUP BY 1
+        ORDER BY 1
+        ON CONFLICT (day, shard) DO UPDATE
+            SET created_count = counts.created_count + EXCLUDED.created_count;
+    ELSIF TG_OP = 'UPDATE' THEN
+        INSERT INTO patient_location_counts AS counts (state, city, shard, patient_count)
+        SELECT location_state, location_city, current_shard, SUM(delta)
+        FROM (SELECT COALESCE(state, '') AS location_state, COALESCE(city, '') AS location_city, -1 AS delta
+              FROM old_rows
+              WHERE deleted_at IS NULL
+              UNION ALL
+              SELECT COALESCE(state, ''), COALESCE(city, ''), 1
+              FROM new_rows
+              WHERE deleted_at IS NULL) changes
+        GROUP BY location_state, location_city
+        HAVING SUM(delta) <> 0
+        ORDER BY location_state, location_city
+        ON CONFLICT (state, city, shard) DO UPDATE
+            SET patient_count = counts.patient_count + EXCLUDED.patient_count;
+    ELSE
+        INSERT INTO patient_location_counts AS counts (state, city, shard, patient_count)
+        SELECT COALESCE(state, ''), COALESCE(city, ''), current_shard, -COUNT(*)
+        FROM old_rows
+        WHERE deleted_at IS NULL
+        GROUP BY 1, 2
+        ORDER BY 1, 2
+        ON CONFLICT (state, city, shard) DO UPDATE
+            SET patient_count = counts.patient_count + EXCLUDED.patient_count;
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- A trigger with transition tables handles a single event and cannot name columns
+CREATE TRIGGER trg_patients_rollups_insert
+    AFTER INSERT ON patients
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION maintain_patient_rollups();
+
+CREATE TRIGGER trg_patients_rollups_update
+    AFTER UPDATE ON patients
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION maintain_patient_rollups();
+
+CREATE TRIGGER trg_patients_rollups_delete
+    AFTER DELETE ON patients
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION maintain_patient_rollups();
@@ -0,0 +1,35 @@
+-- Import and export jobs. A job is split into chunks up front; each chunk is processed
+-- and marked done in its own transaction, so a failed, cancelled or interrupted job
+-- resumes from the chunks that are not done yet.
+CREATE TABLE patient_jobs (
+    id BIGSERIAL PRIMARY KEY,
+    type VARCHAR(20) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    total_chunks INT NOT NULL,
+    completed_chunks INT NOT NULL DEFAULT 0,
+    processed_rows BIGINT NOT NULL DEFAULT 0,
+    -- Import jobs: the patients to import, as a JSON array
+    payload TEXT,
+    error TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    -- Refreshed after every chunk; a RUNNING job that stops refreshing is resumable
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    finished_at TIMESTAMP
+);
+
+CREATE INDEX idx_patient_jobs_status ON patient_jobs(status);
+
+-- Export chunks cover the id range [range_start, range_end]; import chunks cover the
+-- payload items [range_start, range_end).
+CREATE TABLE patient_job_chunks (
+    id BIGSERIAL PRIMARY KEY,
+    job_id BIGINT NOT NULL REFERENCES patient_jobs(id) ON DELETE CASCADE,
+    chunk_no INT NOT NULL,
+    range_start BIGINT NOT NULL,
+    range_end BIGINT NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    processed_rows INT NOT NULL DEFAULT 0,
+    error TEXT,
+    completed_at TIMESTAMP,
+    UNIQUE (job_id, chunk_no)
+);
@@ -0,0 +1,6 @@
+-- Back the name search of GET /api/patient?q=... (PatientRepository.searchByNamePrefix):
+-- a case-insensitive prefix LIKE on last or first name, answered with a BitmapOr of
+-- these two indexes. text_pattern_ops makes the indexes usable for LIKE 'abc%'
+-- regardless of the database collation. Like the other indexes they only cover live rows.
+CREATE INDEX idx_patients_lower_last_name ON patients(lower(last_name) text_pattern_ops) WHERE deleted_at IS NULL;
+CREATE INDEX idx_patients_lower_first_name ON patients(lower(first_name) text_pattern_ops) WHERE deleted_at IS NULL;
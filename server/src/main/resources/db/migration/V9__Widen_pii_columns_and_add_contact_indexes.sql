@@ -0,0 +1,17 @@
+-- Address, phone number and email are stored encrypted from now on (see PiiCipher and
+-- V10), as 'enc:<key id>:' followed by the Base64 IV, ciphertext and tag, which does not
+-- fit the plaintext column sizes. Changing varchar to text does not rewrite the tables.
+ALTER TABLE patients
+    ALTER COLUMN address TYPE TEXT,
+    ALTER COLUMN phone_number TYPE TEXT,
+    ALTER COLUMN email TYPE TEXT;
+
+ALTER TABLE patients_archive
+    ALTER COLUMN address TYPE TEXT,
+    ALTER COLUMN phone_number TYPE TEXT,
+    ALTER COLUMN email TYPE TEXT;
+
+-- Back GET /api/patient/by-email and /by-phone. Email and phone number are encrypted
+-- deterministically, so an exact match on the ciphertext finds the patient.
+CREATE INDEX idx_patients_email ON patients(email) WHERE deleted_at IS NULL;
+CREATE INDEX idx_patients_phone_number ON patients(phone_number) WHERE deleted_at IS NULL;
@@ -3,7 +3,7 @@ package io.github.rizanmusthafa.patient_service;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "patient.encryption.keys.v1=AAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAAA=")
 class PatientServiceApplicationTests {
 
 	@Test
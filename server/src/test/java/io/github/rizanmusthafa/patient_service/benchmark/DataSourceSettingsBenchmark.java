@@ -0,0 +1,198 @@
+package io.github.rizanmusthafa.patient_service.benchmark;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.github.rizanmusthafa.patient_service.config.EncryptionProperties;
+import io.github.rizanmusthafa.patient_service.crypto.PiiCipher;
+import io.github.rizanmusthafa.patient_service.migration.V10__Encrypt_patient_pii;
+import io.github.rizanmusthafa.patient_service.migration.V3__Copy_patients_into_partitions;
+import org.flywaydb.core.Flyway;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Base64;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the default datasource settings with those of the {@code high-throughput}
+ * profile (application-high-throughput.yaml) on the list and create paths. Runs the
+ * same SQL Hibernate issues for those endpoints, from several threads sharing one pool.
+ * <p>
+ * Both settings use the same fixed pool of {@link #POOL_SIZE} connections, so the scores
+ * differ only by the driver and timeout settings, not by how many threads can run SQL at
+ * once. Keep {@link #configure(String)} in sync with the profile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(16)
+@Fork(1)
+public class DataSourceSettingsBenchmark {
+
+    private static final int SEED_ROWS = 50_000;
+    private static final int POOL_SIZE = 20;
+    private static final int PAGE_SIZE = 50;
+    private static final int BATCH_SIZE = 100;
+
+    private static final String LIST_PAGE = """
+            SELECT id, first_name, last_name, address, city, state, zip_code, phone_number, email,
+                   created_at, updated_at, deleted_at
+            FROM patients
+            WHERE deleted_at IS NULL
+            ORDER BY last_name, first_name, id
+            OFFSET ? LIMIT ?
+            """;
+    private static final String COUNT = "SELECT COUNT(*) FROM patients WHERE deleted_at IS NULL";
+    private static final String INSERT = """
+            INSERT INTO patients (first_name, last_name, address, city, state, zip_code, phone_number, email,
+                                  created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+            """;
+
+    @Param({"default", "high-throughput"})
+    public String settings;
+
+    private PostgreSQLContainer<?> postgres;
+    private HikariDataSource dataSource;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+        postgres.start();
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .locations("classpath:db/migration")
+                .javaMigrations(new V3__Copy_patients_into_partitions(),
+                        new V10__Encrypt_patient_pii(new PiiCipher(encryptionProperties())))
+                .load()
+                .migrate();
+        dataSource = new HikariDataSource(configure(settings));
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    INSERT INTO patients (first_name, last_name, city, state, email, created_at, updated_at)
+                    SELECT 'First' || n, 'Last' || (n % 5000), 'City' || (n % 200), 'S' || (n % 50),
+                           'p' || n || '@example.com', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP
+                    FROM generate_series(1, %d) n
+                    """.formatted(SEED_ROWS));
+            statement.execute("ANALYZE patients");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        dataSource.close();
+        postgres.stop();
+    }
+
+    /** GET /api/patient?sort=lastName: one page plus the total count, in a read-only transaction. */
+    @Benchmark
+    public void listPage(Blackhole blackhole) throws SQLException {
+        int page = ThreadLocalRandom.current().nextInt(100);
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(LIST_PAGE)) {
+                statement.setInt(1, page * PAGE_SIZE);
+                statement.setInt(2, PAGE_SIZE);
+                try (ResultSet rows = statement.executeQuery()) {
+                    while (rows.next()) {
+                        blackhole.consume(rows.getLong(1));
+                        blackhole.consume(rows.getString(3));
+                        blackhole.consume(rows.getString(9));
+                    }
+                }
+            }
+            try (PreparedStatement statement = connection.prepareStatement(COUNT);
+                 ResultSet rows = statement.executeQuery()) {
+                rows.next();
+                blackhole.consume(rows.getLong(1));
+            }
+            connection.commit();
+        }
+    }
+
+    /** POST /api/patient: a single insert returning the generated id. */
+    @Benchmark
+    public long createOne() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            long id;
+            try (PreparedStatement statement = connection.prepareStatement(INSERT, new String[]{"id"})) {
+                bind(statement, ThreadLocalRandom.current().nextInt());
+                statement.executeUpdate();
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    keys.next();
+                    id = keys.getLong(1);
+                }
+            }
+            connection.commit();
+            return id;
+        }
+    }
+
+    /** A JDBC batch of inserts, where reWriteBatchedInserts applies (bulk import paths). */
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int[] createBatch() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            int[] counts;
+            try (PreparedStatement statement = connection.prepareStatement(INSERT)) {
+                int seed = ThreadLocalRandom.current().nextInt();
+                for (int i = 0; i < BATCH_SIZE; i++) {
+                    bind(statement, seed + i);
+                    statement.addBatch();
+                }
+                counts = statement.executeBatch();
+            }
+            connection.commit();
+            return counts;
+        }
+    }
+
+    private HikariConfig configure(String settings) {
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(postgres.getJdbcUrl());
+        config.setUsername(postgres.getUsername());
+        config.setPassword(postgres.getPassword());
+        config.setMaximumPoolSize(POOL_SIZE);
+        config.setMinimumIdle(POOL_SIZE);
+        if ("high-throughput".equals(settings)) {
+            config.setPoolName("patient-pool");
+            config.setConnectionTimeout(2000);
+            config.setLeakDetectionThreshold(20000);
+            config.addDataSourceProperty("prepareThreshold", "2");
+            config.addDataSourceProperty("preparedStatementCacheQueries", "512");
+            config.addDataSourceProperty("preparedStatementCacheSizeMiB", "8");
+            config.addDataSourceProperty("reWriteBatchedInserts", "true");
+            config.addDataSourceProperty("defaultRowFetchSize", "100");
+            config.addDataSourceProperty("tcpKeepAlive", "true");
+        }
+        return config;
+    }
+
+    private static EncryptionProperties encryptionProperties() {
+        EncryptionProperties properties = new EncryptionProperties();
+        properties.getKeys().put("v1", Base64.getEncoder().encodeToString(new byte[32]));
+        return properties;
+    }
+
+    private static void bind(PreparedStatement statement, int n) throws SQLException {
+        statement.setString(1, "Bench" + n);
+        statement.setString(2, "Mark" + (n & 0xfff));
+        statement.setString(3, n + " Main St");
+        statement.setString(4, "City" + (n & 0xff));
+        statement.setString(5, "S" + (n & 0x1f));
+        statement.setString(6, "10001");
+        statement.setString(7, "+1-555-0100");
+        statement.setString(8, "bench" + n + "@example.com");
+    }
+}
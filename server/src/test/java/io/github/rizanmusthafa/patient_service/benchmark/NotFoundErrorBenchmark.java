@@ -0,0 +1,99 @@
+package io.github.rizanmusthafa.patient_service.benchmark;
+
+import io.github.rizanmusthafa.patient_service.controller.PatientController;
+import io.github.rizanmusthafa.patient_service.exception.GlobalExceptionHandler;
+import io.github.rizanmusthafa.patient_service.exception.PatientNotFoundException;
+import io.github.rizanmusthafa.patient_service.service.PatientService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Throughput of {@code GET /api/patient/{id}} for ids that do not exist, through the
+ * controller, the exception handler and Jackson (MockMvc, no database):
+ * <ul>
+ *   <li>{@code before}: an exception capturing its stack trace and a {@code HashMap} body,
+ *       as before the error handling was changed</li>
+ *   <li>{@code after}: the stackless {@link PatientNotFoundException} and the
+ *       {@code ProblemDetail} body of {@link GlobalExceptionHandler}</li>
+ * </ul>
+ * Under Tomcat the stack is deeper than under MockMvc, so capturing it costs more there.
+ * <pre>
+ * ./mvnw -Pbenchmark -DskipTests verify -Dbenchmark=NotFoundError -Djmh.args="-prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NotFoundErrorBenchmark {
+
+    @Param({"before", "after"})
+    public String errorHandling;
+
+    private MockMvc mockMvc;
+    private long nextId;
+
+    @Setup
+    public void setUp() {
+        boolean after = "after".equals(errorHandling);
+        PatientService patientService = (PatientService) Proxy.newProxyInstance(
+                PatientService.class.getClassLoader(), new Class<?>[]{PatientService.class},
+                (proxy, method, args) -> {
+                    if (!"findById".equals(method.getName())) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    String message = "Patient not found with id: " + args[0];
+                    throw after ? new PatientNotFoundException(message) : new StackTraceNotFoundException(message);
+                });
+        mockMvc = MockMvcBuilders.standaloneSetup(new PatientController(patientService, null))
+                .setControllerAdvice(after ? new GlobalExceptionHandler() : new MapBodyExceptionHandler())
+                .setMessageConverters(new MappingJackson2HttpMessageConverter(Jackson2ObjectMapperBuilder.json().build()))
+                .build();
+    }
+
+    @Benchmark
+    public MvcResult getMissingPatient() throws Exception {
+        return mockMvc.perform(get("/api/patient/{id}", ++nextId)).andReturn();
+    }
+
+    /**
+     * PatientNotFoundException as it was: a plain RuntimeException.
+     */
+    static class StackTraceNotFoundException extends RuntimeException {
+        StackTraceNotFoundException(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * The previous handler body: a new map per error.
+     */
+    @RestControllerAdvice
+    static class MapBodyExceptionHandler {
+
+        @ExceptionHandler(StackTraceNotFoundException.class)
+        public ResponseEntity<Map<String, String>> handle(StackTraceNotFoundException ex) {
+            Map<String, String> error = new HashMap<>();
+            error.put("error", "Patient Not Found");
+            error.put("message", ex.getMessage());
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+        }
+    }
+}
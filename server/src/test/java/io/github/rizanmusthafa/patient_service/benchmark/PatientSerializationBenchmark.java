@@ -0,0 +1,71 @@
+package io.github.rizanmusthafa.patient_service.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.github.rizanmusthafa.patient_service.dto.PageResponse;
+import io.github.rizanmusthafa.patient_service.dto.PatientDto;
+import io.github.rizanmusthafa.patient_service.mapper.PatientDtoSerializer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializes a list page of patients with Jackson's reflective bean serializer and with
+ * {@link PatientDtoSerializer}. Run with the GC profiler to compare bytes allocated per
+ * page ({@code gc.alloc.rate.norm}):
+ * <pre>
+ * ./mvnw -Pbenchmark -DskipTests verify -Dbenchmark=PatientSerialization -Djmh.args="-prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PatientSerializationBenchmark {
+
+    @Param({"reflective", "custom"})
+    public String serializer;
+
+    @Param({"100"})
+    public int pageSize;
+
+    private ObjectWriter writer;
+    private PageResponse<PatientDto> page;
+
+    @Setup
+    public void setUp() {
+        JsonMapper.Builder builder = JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if ("custom".equals(serializer)) {
+            builder.addModule(new SimpleModule().addSerializer(new PatientDtoSerializer()));
+        }
+        ObjectMapper mapper = builder.build();
+        writer = mapper.writer();
+
+        List<PatientDto> content = new ArrayList<>(pageSize);
+        LocalDateTime created = LocalDateTime.of(2024, 1, 15, 10, 30, 0, 123_456_000);
+        for (int i = 0; i < pageSize; i++) {
+            content.add(new PatientDto((long) i, "First" + i, "Last" + i, i + " Main Street", "New York", "NY",
+                    "10001", "+1555010" + i, "patient" + i + "@example.com", created.plusMinutes(i),
+                    created.plusHours(i)));
+        }
+        page = new PageResponse<>(content, 0, pageSize, 10_000, 10_000 / pageSize, true, false);
+    }
+
+    @Benchmark
+    public void writePage() throws IOException {
+        writer.writeValue(OutputStream.nullOutputStream(), page);
+    }
+}
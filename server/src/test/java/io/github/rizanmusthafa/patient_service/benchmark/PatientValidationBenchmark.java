@@ -0,0 +1,85 @@
+package io.github.rizanmusthafa.patient_service.benchmark;
+
+import io.github.rizanmusthafa.patient_service.dto.ItemValidationError;
+import io.github.rizanmusthafa.patient_service.dto.PatientDto;
+import io.github.rizanmusthafa.patient_service.validation.PatientDtoValidator;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Validates a bulk payload of patients with Hibernate Validator (what {@code @Valid}
+ * does per item) and with {@link PatientDtoValidator}, sequentially and in parallel
+ * chunks. One item in a hundred is invalid. Add {@code -prof gc} to compare allocation:
+ * <pre>
+ * ./mvnw -Pbenchmark -DskipTests verify -Dbenchmark=PatientValidation -Djmh.args="-prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PatientValidationBenchmark {
+
+    @Param({"1000", "10000"})
+    public int items;
+
+    private ValidatorFactory validatorFactory;
+    private Validator beanValidator;
+    private PatientDtoValidator patientDtoValidator;
+    private List<PatientDto> payload;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        beanValidator = validatorFactory.getValidator();
+        patientDtoValidator = new PatientDtoValidator(beanValidator);
+        payload = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            PatientDto dto = new PatientDto();
+            dto.setFirstName("First" + i);
+            dto.setLastName(i % 100 == 0 ? " " : "Last" + i);
+            dto.setPhoneNumber(i % 2 == 0 ? "+1555010" + i : null);
+            dto.setEmail(i % 100 == 50 ? "invalid" + i : "patient" + i + "@example.com");
+            payload.add(dto);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public void beanValidation(Blackhole blackhole) {
+        for (PatientDto dto : payload) {
+            Set<ConstraintViolation<PatientDto>> violations = beanValidator.validate(dto);
+            blackhole.consume(violations);
+        }
+    }
+
+    @Benchmark
+    public int handWritten() {
+        int violations = 0;
+        for (int i = 0; i < payload.size(); i++) {
+            violations += patientDtoValidator.validate(payload.get(i), i, (index, field, message) -> { });
+        }
+        return violations;
+    }
+
+    /** The path used by bulk endpoints: sequential below 2048 items, parallel chunks above. */
+    @Benchmark
+    public List<ItemValidationError> handWrittenValidateAll() {
+        return patientDtoValidator.validateAll(payload);
+    }
+}
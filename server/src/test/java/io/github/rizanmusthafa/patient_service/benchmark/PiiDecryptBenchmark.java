@@ -0,0 +1,112 @@
+package io.github.rizanmusthafa.patient_service.benchmark;
+
+import io.github.rizanmusthafa.patient_service.config.EncryptionProperties;
+import io.github.rizanmusthafa.patient_service.crypto.DeterministicEncryptedStringConverter;
+import io.github.rizanmusthafa.patient_service.crypto.EncryptedStringConverter;
+import io.github.rizanmusthafa.patient_service.crypto.PiiCipher;
+import io.github.rizanmusthafa.patient_service.dto.PatientDto;
+import io.github.rizanmusthafa.patient_service.mapper.PatientMapper;
+import io.github.rizanmusthafa.patient_service.model.Patient;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loads a list page of patients the way Hibernate does, running the address, phone and
+ * email columns through their attribute converters, and maps it to DTOs:
+ * <ul>
+ *   <li>{@code plaintext} - rows written before encryption; the converters only check
+ *   the prefix. The baseline.</li>
+ *   <li>{@code encrypted} - encrypted rows, decrypted with {@link PiiCipher}'s cached keys
+ *   and per-thread ciphers.</li>
+ *   <li>{@code uncached} - encrypted rows, decoding and deriving the key and creating a
+ *   cipher for every value, as a converter without caching would.</li>
+ * </ul>
+ * The difference between {@code encrypted} and {@code plaintext} is the cost of
+ * encryption per page:
+ * <pre>
+ * ./mvnw -Pbenchmark -DskipTests verify -Dbenchmark=PiiDecrypt -Djmh.args="-prof gc"
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PiiDecryptBenchmark {
+
+    @Param({"plaintext", "encrypted", "uncached"})
+    public String rows;
+
+    @Param({"100"})
+    public int pageSize;
+
+    private final PatientMapper patientMapper = new PatientMapper();
+    private EncryptionProperties properties;
+    private EncryptedStringConverter addressConverter;
+    private DeterministicEncryptedStringConverter contactConverter;
+    private String[][] columns;
+
+    @Setup
+    public void setUp() {
+        byte[] key = new byte[32];
+        for (int i = 0; i < key.length; i++) {
+            key[i] = (byte) i;
+        }
+        properties = new EncryptionProperties();
+        properties.getKeys().put("v1", Base64.getEncoder().encodeToString(key));
+        PiiCipher piiCipher = new PiiCipher(properties);
+        addressConverter = new EncryptedStringConverter(piiCipher);
+        contactConverter = new DeterministicEncryptedStringConverter(piiCipher);
+
+        columns = new String[pageSize][];
+        for (int i = 0; i < pageSize; i++) {
+            String address = i + " Main Street";
+            String phoneNumber = "+1555010" + i;
+            String email = "patient" + i + "@example.com";
+            columns[i] = "plaintext".equals(rows)
+                    ? new String[] {address, phoneNumber, email}
+                    : new String[] {addressConverter.convertToDatabaseColumn(address),
+                            contactConverter.convertToDatabaseColumn(phoneNumber),
+                            contactConverter.convertToDatabaseColumn(email)};
+        }
+    }
+
+    @Benchmark
+    public List<PatientDto> loadPage() {
+        LocalDateTime created = LocalDateTime.of(2024, 1, 15, 10, 30);
+        List<PatientDto> page = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            String[] row = columns[i];
+            Patient patient = new Patient();
+            patient.setId((long) i);
+            patient.setFirstName("First" + i);
+            patient.setLastName("Last" + i);
+            patient.setCity("New York");
+            patient.setState("NY");
+            patient.setZipCode("10001");
+            patient.setCreatedAt(created);
+            patient.setUpdatedAt(created);
+            if ("uncached".equals(rows)) {
+                patient.setAddress(decryptUncached(row[0]));
+                patient.setPhoneNumber(decryptUncached(row[1]));
+                patient.setEmail(decryptUncached(row[2]));
+            } else {
+                patient.setAddress(addressConverter.convertToEntityAttribute(row[0]));
+                patient.setPhoneNumber(contactConverter.convertToEntityAttribute(row[1]));
+                patient.setEmail(contactConverter.convertToEntityAttribute(row[2]));
+            }
+            page.add(patientMapper.toDto(patient));
+        }
+        return page;
+    }
+
+    private String decryptUncached(String value) {
+        return new PiiCipher(properties).decrypt(value);
+    }
+}
@@ -0,0 +1,83 @@
+package io.github.rizanmusthafa.patient_service.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Runs against the fixture dashboard build in src/test/resources/static/dashboard.
+ */
+@WebMvcTest(DashboardController.class)
+class DashboardControllerTest {
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Test
+        void dashboard_ShouldServeIndexWithNoCacheAndEtag() throws Exception {
+                mockMvc.perform(get("/dashboard/"))
+                                .andExpect(status().isOk())
+                                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                                .andExpect(header().exists(HttpHeaders.ETAG))
+                                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                                .andExpect(content().string(containsString("<div id=\"root\">")));
+        }
+
+        @Test
+        void dashboard_WithMatchingIfNoneMatch_ShouldReturnNotModified() throws Exception {
+                String etag = mockMvc.perform(get("/dashboard"))
+                                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+                mockMvc.perform(get("/dashboard").header(HttpHeaders.IF_NONE_MATCH, etag))
+                                .andExpect(status().isNotModified())
+                                .andExpect(content().string(""));
+        }
+
+        @Test
+        void dashboard_WhenGzipAccepted_ShouldServePrecompressedIndexWithItsOwnEtag() throws Exception {
+                String identityEtag = mockMvc.perform(get("/dashboard/"))
+                                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+                byte[] gzipped = new ClassPathResource("static/dashboard/index.html.gz").getContentAsByteArray();
+
+                String gzipEtag = mockMvc.perform(get("/dashboard/").header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br;q=0"))
+                                .andExpect(status().isOk())
+                                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT_ENCODING)))
+                                .andExpect(content().bytes(gzipped))
+                                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+                assertNotEquals(identityEtag, gzipEtag);
+        }
+
+        @Test
+        void assets_ShouldBeCachedAsImmutableAndServedPrecompressed() throws Exception {
+                mockMvc.perform(get("/dashboard/assets/index-3f2a1c.js").header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                                .andExpect(status().isOk())
+                                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, public, immutable"))
+                                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+        }
+
+        @Test
+        void otherDashboardFiles_ShouldBeRevalidated() throws Exception {
+                mockMvc.perform(get("/dashboard/robots.txt"))
+                                .andExpect(status().isOk())
+                                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"));
+        }
+
+        @Test
+        void accepts_ShouldHonourZeroQuality() {
+                assertTrue(DashboardController.accepts("gzip, br", "br"));
+                assertTrue(DashboardController.accepts("GZIP;q=0.5", "gzip"));
+                assertFalse(DashboardController.accepts("gzip, br;q=0", "br"));
+                assertFalse(DashboardController.accepts("deflate", "gzip"));
+                assertFalse(DashboardController.accepts(null, "gzip"));
+        }
+}
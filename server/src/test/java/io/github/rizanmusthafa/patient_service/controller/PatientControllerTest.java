@@ -1,14 +1,24 @@
 package io.github.rizanmusthafa.patient_service.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.rizanmusthafa.patient_service.dto.BulkOperationResponse;
+import io.github.rizanmusthafa.patient_service.dto.ItemValidationError;
+import io.github.rizanmusthafa.patient_service.dto.BulkPatchRequest;
 import io.github.rizanmusthafa.patient_service.dto.PageResponse;
 import io.github.rizanmusthafa.patient_service.dto.PatientDto;
+import io.github.rizanmusthafa.patient_service.dto.PatientLookupResponse;
+import io.github.rizanmusthafa.patient_service.dto.PatchQueueStatus;
+import io.github.rizanmusthafa.patient_service.exception.BulkValidationException;
+import io.github.rizanmusthafa.patient_service.exception.InvalidSortException;
+import io.github.rizanmusthafa.patient_service.exception.PatchQueueFullException;
 import io.github.rizanmusthafa.patient_service.exception.PatientNotFoundException;
+import io.github.rizanmusthafa.patient_service.service.PatientPatchQueue;
 import io.github.rizanmusthafa.patient_service.service.PatientService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
@@ -17,6 +27,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -31,6 +42,9 @@ class PatientControllerTest {
         @MockBean
         private PatientService patientService;
 
+        @MockBean
+        private PatientPatchQueue patientPatchQueue;
+
         @Autowired
         private ObjectMapper objectMapper;
 
@@ -43,7 +57,7 @@ class PatientControllerTest {
                 PageResponse<PatientDto> pageResponse = new PageResponse<>(
                                 patients, 0, 10, 2L, 1, true, true);
 
-                when(patientService.findAll(0, 10)).thenReturn(pageResponse);
+                when(patientService.findAll(0, 10, Sort.unsorted())).thenReturn(pageResponse);
 
                 mockMvc.perform(get("/api/patient")
                                 .param("page", "0")
@@ -62,7 +76,7 @@ class PatientControllerTest {
                                 .andExpect(jsonPath("$.first").value(true))
                                 .andExpect(jsonPath("$.last").value(true));
 
-                verify(patientService).findAll(0, 10);
+                verify(patientService).findAll(0, 10, Sort.unsorted());
         }
 
         @Test
@@ -73,7 +87,7 @@ class PatientControllerTest {
                 PageResponse<PatientDto> pageResponse = new PageResponse<>(
                                 patients, 0, 10, 1L, 1, true, true);
 
-                when(patientService.findAll(0, 10)).thenReturn(pageResponse);
+                when(patientService.findAll(0, 10, Sort.unsorted())).thenReturn(pageResponse);
 
                 mockMvc.perform(get("/api/patient"))
                                 .andExpect(status().isOk())
@@ -81,7 +95,51 @@ class PatientControllerTest {
                                 .andExpect(jsonPath("$.page").value(0))
                                 .andExpect(jsonPath("$.size").value(10));
 
-                verify(patientService).findAll(0, 10);
+                verify(patientService).findAll(0, 10, Sort.unsorted());
+        }
+
+        @Test
+        void getAllPatients_WithSortParameters_ShouldPassSortToService() throws Exception {
+                Sort sort = Sort.by(Sort.Order.desc("lastName"), Sort.Order.desc("firstName"));
+                PageResponse<PatientDto> pageResponse = new PageResponse<>(
+                                List.of(createPatientDto(1L, "John", "Doe")), 0, 10, 1L, 1, true, true);
+
+                when(patientService.findAll(0, 10, sort)).thenReturn(pageResponse);
+
+                mockMvc.perform(get("/api/patient")
+                                .param("sort", "lastName,desc")
+                                .param("sort", "firstName,desc"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.content[0].id").value(1L));
+
+                verify(patientService).findAll(0, 10, sort);
+        }
+
+        @Test
+        void getAllPatients_WithSearchQuery_ShouldSearchByNamePrefix() throws Exception {
+                PageResponse<PatientDto> pageResponse = new PageResponse<>(
+                                List.of(createPatientDto(1L, "John", "Smith")), 0, 100, 1L, 1, true, true);
+
+                when(patientService.search("smi", 0, 100, Sort.by("lastName"))).thenReturn(pageResponse);
+
+                mockMvc.perform(get("/api/patient")
+                                .param("q", "smi")
+                                .param("size", "100")
+                                .param("sort", "lastName,asc"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.content[0].lastName").value("Smith"));
+
+                verify(patientService, never()).findAll(anyInt(), anyInt(), any(Sort.class));
+        }
+
+        @Test
+        void getAllPatients_WithUnsupportedSort_ShouldReturn400() throws Exception {
+                when(patientService.findAll(eq(0), eq(10), any(Sort.class)))
+                                .thenThrow(new InvalidSortException("Unsupported sort [address]"));
+
+                mockMvc.perform(get("/api/patient").param("sort", "address,asc"))
+                                .andExpect(status().isBadRequest())
+                                .andExpect(jsonPath("$.title").value("Invalid Sort"));
         }
 
         @Test
@@ -107,11 +165,110 @@ class PatientControllerTest {
 
                 mockMvc.perform(get("/api/patient/1"))
                                 .andExpect(status().isNotFound())
-                                .andExpect(jsonPath("$.error").value("Patient Not Found"));
+                                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                                .andExpect(jsonPath("$.title").value("Patient Not Found"))
+                                .andExpect(jsonPath("$.status").value(404))
+                                .andExpect(jsonPath("$.detail").value("Patient not found with id: 1"))
+                                .andExpect(jsonPath("$.instance").value("/api/patient/1"));
 
                 verify(patientService).findById(1L);
         }
 
+        @Test
+        void getPatientById_WithNonNumericId_ShouldReturn400() throws Exception {
+                mockMvc.perform(get("/api/patient/abc"))
+                                .andExpect(status().isBadRequest())
+                                .andExpect(jsonPath("$.title").value("Invalid Parameter"));
+
+                verifyNoInteractions(patientService);
+        }
+
+        @Test
+        void getPatientById_WhenUnexpectedErrorOccurs_ShouldReturn500WithoutItsMessage() throws Exception {
+                when(patientService.findById(1L))
+                                .thenThrow(new IllegalStateException("connection to 10.0.0.5:5432 refused"));
+
+                mockMvc.perform(get("/api/patient/1"))
+                                .andExpect(status().isInternalServerError())
+                                .andExpect(jsonPath("$.title").value("Internal Server Error"))
+                                .andExpect(jsonPath("$.detail").value("An unexpected error occurred"));
+        }
+
+        @Test
+        void createPatient_WithMalformedJson_ShouldReturn400() throws Exception {
+                mockMvc.perform(post("/api/patient")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"firstName\": "))
+                                .andExpect(status().isBadRequest())
+                                .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON));
+
+                verifyNoInteractions(patientService);
+        }
+
+        @Test
+        void unsupportedMethod_ShouldReturn405() throws Exception {
+                mockMvc.perform(delete("/api/patient"))
+                                .andExpect(status().isMethodNotAllowed())
+                                .andExpect(jsonPath("$.status").value(405));
+        }
+
+        @Test
+        void unsupportedMediaType_ShouldReturn415() throws Exception {
+                mockMvc.perform(post("/api/patient")
+                                .contentType(MediaType.TEXT_PLAIN)
+                                .content("John Doe"))
+                                .andExpect(status().isUnsupportedMediaType());
+        }
+
+        @Test
+        void lookupPatients_ShouldReturnFoundPatientsAndMissingIds() throws Exception {
+                PatientDto patient = createPatientDto(1L, "John", "Doe");
+                when(patientService.findAllById(List.of(1L, 2L)))
+                                .thenReturn(new PatientLookupResponse(List.of(patient), List.of(2L)));
+
+                mockMvc.perform(post("/api/patient/lookup")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"ids\":[1,2]}"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.patients[0].id").value(1L))
+                                .andExpect(jsonPath("$.missingIds[0]").value(2L));
+
+                verify(patientService).findAllById(List.of(1L, 2L));
+        }
+
+        @Test
+        void lookupPatients_WithEmptyIds_ShouldReturn400() throws Exception {
+                mockMvc.perform(post("/api/patient/lookup")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"ids\":[]}"))
+                                .andExpect(status().isBadRequest());
+
+                verify(patientService, never()).findAllById(any());
+        }
+
+        @Test
+        void getPatientsByEmail_ShouldReturnMatchingPatients() throws Exception {
+                PatientDto patient = createPatientDto(1L, "John", "Doe");
+                when(patientService.findByEmail("john.doe@example.com")).thenReturn(List.of(patient));
+
+                mockMvc.perform(get("/api/patient/by-email").param("email", "john.doe@example.com"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$[0].id").value(1L))
+                                .andExpect(jsonPath("$[0].firstName").value("John"));
+
+                verify(patientService).findByEmail("john.doe@example.com");
+        }
+
+        @Test
+        void getPatientsByPhoneNumber_WithoutPhoneNumber_ShouldReturn400() throws Exception {
+                mockMvc.perform(get("/api/patient/by-phone"))
+                                .andExpect(status().isBadRequest())
+                                .andExpect(jsonPath("$.title").value("Invalid Parameter"))
+                                .andExpect(jsonPath("$.detail").value("Missing required parameter 'phoneNumber'"));
+
+                verifyNoInteractions(patientService);
+        }
+
         @Test
         void createPatient_WithValidData_ShouldReturn201() throws Exception {
                 PatientDto inputDto = createPatientDto(null, "John", "Doe");
@@ -189,6 +346,91 @@ class PatientControllerTest {
                 verify(patientService).patch(eq(1L), any(PatientDto.class));
         }
 
+        @Test
+        void patchPatient_WithRespondAsync_ShouldQueuePatchAndReturn202() throws Exception {
+                PatientDto patchDto = new PatientDto();
+                patchDto.setCity("Boston");
+
+                when(patientPatchQueue.isEnabled()).thenReturn(true);
+                when(patientPatchQueue.status())
+                                .thenReturn(new PatchQueueStatus(true, 1, 10000, 0L, 0L, 0L, null));
+
+                mockMvc.perform(patch("/api/patient/1")
+                                .header("Prefer", "respond-async")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(patchDto)))
+                                .andExpect(status().isAccepted())
+                                .andExpect(header().string("Location", "/api/patient/patch-queue"))
+                                .andExpect(jsonPath("$.pending").value(1));
+
+                verify(patientPatchQueue).enqueue(eq(1L), any(PatientDto.class));
+                verify(patientService, never()).patch(any(), any());
+        }
+
+        @Test
+        void patchPatient_WithRespondAsyncAmongOtherPreferences_ShouldQueuePatch() throws Exception {
+                when(patientPatchQueue.isEnabled()).thenReturn(true);
+                when(patientPatchQueue.status())
+                                .thenReturn(new PatchQueueStatus(true, 1, 10000, 0L, 0L, 0L, null));
+
+                mockMvc.perform(patch("/api/patient/1")
+                                .header("Prefer", "return=minimal, Respond-Async , wait=10")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"city\":\"Boston\"}"))
+                                .andExpect(status().isAccepted());
+
+                verify(patientPatchQueue).enqueue(eq(1L), any(PatientDto.class));
+                verify(patientService, never()).patch(any(), any());
+        }
+
+        @Test
+        void patchPatient_WithOtherPreferencesOnly_ShouldPatchSynchronously() throws Exception {
+                PatientDto patchedDto = createPatientDto(1L, "John", "Doe");
+                when(patientPatchQueue.isEnabled()).thenReturn(true);
+                when(patientService.patch(eq(1L), any(PatientDto.class))).thenReturn(patchedDto);
+
+                mockMvc.perform(patch("/api/patient/1")
+                                .header("Prefer", "return=minimal, wait=10")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"city\":\"Boston\"}"))
+                                .andExpect(status().isOk());
+
+                verify(patientPatchQueue, never()).enqueue(any(), any());
+        }
+
+        @Test
+        void patchPatient_WithRespondAsyncWhenQueueDisabled_ShouldPatchSynchronously() throws Exception {
+                PatientDto patchDto = new PatientDto();
+                patchDto.setFirstName("John Patched");
+
+                PatientDto patchedDto = createPatientDto(1L, "John Patched", "Doe");
+                when(patientPatchQueue.isEnabled()).thenReturn(false);
+                when(patientService.patch(eq(1L), any(PatientDto.class))).thenReturn(patchedDto);
+
+                mockMvc.perform(patch("/api/patient/1")
+                                .header("Prefer", "respond-async")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(patchDto)))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.firstName").value("John Patched"));
+
+                verify(patientPatchQueue, never()).enqueue(any(), any());
+                verify(patientPatchQueue).discard(1L);
+        }
+
+        @Test
+        void patchPatient_WhenQueueFull_ShouldReturn503() throws Exception {
+                when(patientPatchQueue.isEnabled()).thenReturn(true);
+                doThrow(new PatchQueueFullException("Patch queue is full"))
+                                .when(patientPatchQueue).enqueue(eq(1L), any(PatientDto.class));
+
+                mockMvc.perform(patch("/api/patient/1")
+                                .header("Prefer", "respond-async")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"city\":\"Boston\"}"))
+                                .andExpect(status().isServiceUnavailable());
+        }
+
         @Test
         void deletePatient_WhenPatientExists_ShouldReturn204() throws Exception {
                 doNothing().when(patientService).delete(1L);
@@ -210,6 +452,100 @@ class PatientControllerTest {
                 verify(patientService).delete(1L);
         }
 
+        @Test
+        void restorePatient_WhenDeletedPatientExists_ShouldReturn200() throws Exception {
+                PatientDto restoredDto = createPatientDto(1L, "John", "Doe");
+                when(patientService.restore(1L)).thenReturn(restoredDto);
+
+                mockMvc.perform(post("/api/patient/1/restore"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.id").value(1L));
+
+                verify(patientService).restore(1L);
+        }
+
+        @Test
+        void bulkPatchPatients_WithFilter_ShouldReturnAffectedCount() throws Exception {
+                when(patientService.patchAll(any(BulkPatchRequest.class))).thenReturn(new BulkOperationResponse(42L));
+
+                mockMvc.perform(post("/api/patient/bulk-patch")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"filter\":{\"city\":\"Springfield\"},\"changes\":{\"city\":\"Boston\",\"state\":\"MA\"}}"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.affected").value(42L));
+
+                verify(patientService).patchAll(any(BulkPatchRequest.class));
+        }
+
+        @Test
+        void bulkPatchPatients_WithoutChanges_ShouldReturn400() throws Exception {
+                mockMvc.perform(post("/api/patient/bulk-patch")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"ids\":[1,2],\"changes\":{}}"))
+                                .andExpect(status().isBadRequest());
+
+                verify(patientService, never()).patchAll(any(BulkPatchRequest.class));
+        }
+
+        @Test
+        void bulkDeletePatients_WithIds_ShouldReturnAffectedCount() throws Exception {
+                when(patientService.deleteAll(any())).thenReturn(new BulkOperationResponse(2L));
+
+                mockMvc.perform(post("/api/patient/bulk-delete")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"ids\":[1,2]}"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.affected").value(2L));
+        }
+
+        @Test
+        void bulkDeletePatients_WithIdsAndFilter_ShouldReturn400() throws Exception {
+                mockMvc.perform(post("/api/patient/bulk-delete")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"ids\":[1],\"filter\":{\"state\":\"NY\"}}"))
+                                .andExpect(status().isBadRequest());
+
+                verify(patientService, never()).deleteAll(any());
+        }
+
+        @Test
+        void bulkCreatePatients_ShouldReturnCreatedPatients() throws Exception {
+                PatientDto created = createPatientDto(5L, "Jane", "Smith");
+                when(patientService.createAll(any())).thenReturn(List.of(created));
+
+                mockMvc.perform(post("/api/patient/bulk-create")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"patients\":[{\"firstName\":\"Jane\",\"lastName\":\"Smith\",\"email\":\"jane@example.com\"}]}"))
+                                .andExpect(status().isCreated())
+                                .andExpect(jsonPath("$[0].id").value(5L));
+        }
+
+        @Test
+        void bulkCreatePatients_WithInvalidItems_ShouldReturn400WithItemErrors() throws Exception {
+                when(patientService.createAll(any())).thenThrow(new BulkValidationException(List.of(
+                                new ItemValidationError(1, "email", "Email should be valid"),
+                                new ItemValidationError(1, null, "Either phone number or email must be provided"))));
+
+                mockMvc.perform(post("/api/patient/bulk-create")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"patients\":[{\"firstName\":\"A\",\"lastName\":\"B\",\"phoneNumber\":\"1\"},"
+                                                + "{\"firstName\":\"C\",\"lastName\":\"D\",\"email\":\"bad\"}]}"))
+                                .andExpect(status().isBadRequest())
+                                .andExpect(jsonPath("$.title").value("Validation Failed"))
+                                .andExpect(jsonPath("$.itemErrors[0].index").value(1))
+                                .andExpect(jsonPath("$.itemErrors[0].field").value("email"));
+        }
+
+        @Test
+        void bulkCreatePatients_WithEmptyList_ShouldReturn400() throws Exception {
+                mockMvc.perform(post("/api/patient/bulk-create")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"patients\":[]}"))
+                                .andExpect(status().isBadRequest());
+
+                verify(patientService, never()).createAll(any());
+        }
+
         private PatientDto createPatientDto(Long id, String firstName, String lastName) {
                 PatientDto dto = new PatientDto();
                 dto.setId(id);
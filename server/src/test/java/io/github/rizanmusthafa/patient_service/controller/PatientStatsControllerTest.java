@@ -0,0 +1,47 @@
+package io.github.rizanmusthafa.patient_service.controller;
+
+import io.github.rizanmusthafa.patient_service.dto.LocationGrouping;
+import io.github.rizanmusthafa.patient_service.exception.InvalidParameterException;
+import io.github.rizanmusthafa.patient_service.service.PatientStatsService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(PatientStatsController.class)
+class PatientStatsControllerTest {
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @MockBean
+        private PatientStatsService patientStatsService;
+
+        @Test
+        void getStats_WhenFromIsAfterTo_ShouldReturnBadRequest() throws Exception {
+                LocalDate from = LocalDate.of(2024, 2, 1);
+                LocalDate to = LocalDate.of(2024, 1, 1);
+                when(patientStatsService.getStats(LocationGrouping.STATE, from, to))
+                                .thenThrow(new InvalidParameterException("'from' (2024-02-01) must not be after 'to' (2024-01-01)"));
+
+                mockMvc.perform(get("/api/patient/stats").param("from", "2024-02-01").param("to", "2024-01-01"))
+                                .andExpect(status().isBadRequest())
+                                .andExpect(jsonPath("$.title").value("Invalid Parameter"))
+                                .andExpect(jsonPath("$.detail").value("'from' (2024-02-01) must not be after 'to' (2024-01-01)"));
+        }
+
+        @Test
+        void getStats_WithInvalidDate_ShouldReturnBadRequest() throws Exception {
+                mockMvc.perform(get("/api/patient/stats").param("from", "yesterday"))
+                                .andExpect(status().isBadRequest());
+
+                verifyNoInteractions(patientStatsService);
+        }
+}
@@ -0,0 +1,151 @@
+package io.github.rizanmusthafa.patient_service.crypto;
+
+import io.github.rizanmusthafa.patient_service.config.EncryptionProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PiiCipherTest {
+
+    private static final String KEY_1 = key(1);
+    private static final String KEY_2 = key(2);
+
+    // Also asserted by PiiDecryptorTest in reactive-read, which must decrypt what this module writes
+    private static final String VECTOR_KEY = "HyAhIiMkJSYnKCkqKywtLi8wMTIzNDU2Nzg5Ojs8PT4=";
+    private static final String VECTOR_PLAINTEXT = "john.doe@example.com";
+    private static final String VECTOR_CIPHERTEXT = "enc:v1:8IRWdQe2iD_fNDdC0zlltx2i9CUV94BL09HQbqWR-GZATspFHoD8NnWi-JzBLyBN";
+
+    private final PiiCipher cipher = cipher("v1", "v1", KEY_1);
+
+    @Test
+    void encrypt_ShouldUseRandomIvAndDecryptToPlaintext() {
+        String first = cipher.encrypt("123 Main Street, Apt ü");
+        String second = cipher.encrypt("123 Main Street, Apt ü");
+
+        assertTrue(first.startsWith("enc:v1:"));
+        assertNotEquals(first, second);
+        assertEquals("123 Main Street, Apt ü", cipher.decrypt(first));
+        assertEquals("123 Main Street, Apt ü", cipher.decrypt(second));
+    }
+
+    @Test
+    void encryptDeterministic_ShouldGiveEqualCiphertextsForEqualValues() {
+        String first = cipher.encryptDeterministic("john.doe@example.com");
+        String second = cipher.encryptDeterministic("john.doe@example.com");
+        String other = cipher.encryptDeterministic("jane.doe@example.com");
+
+        assertEquals(first, second);
+        assertNotEquals(first, other);
+        assertEquals("john.doe@example.com", cipher.decrypt(first));
+    }
+
+    @Test
+    void encryptDeterministic_ShouldBeStableAcrossInstancesWithTheSameKey() {
+        assertEquals(cipher.encryptDeterministic("+1234567890"),
+                cipher("v1", "v1", KEY_1).encryptDeterministic("+1234567890"));
+    }
+
+    @Test
+    void encryptDeterministic_ShouldMatchTheSharedTestVector() {
+        PiiCipher vectorCipher = cipher("v1", "v1", VECTOR_KEY);
+
+        assertEquals(VECTOR_CIPHERTEXT, vectorCipher.encryptDeterministic(VECTOR_PLAINTEXT));
+        assertEquals(VECTOR_PLAINTEXT, vectorCipher.decrypt(VECTOR_CIPHERTEXT));
+    }
+
+    @Test
+    void decrypt_WithPlaintext_ShouldReturnItUnchanged() {
+        assertEquals("john.doe@example.com", cipher.decrypt("john.doe@example.com"));
+        assertEquals("", cipher.decrypt(""));
+    }
+
+    @Test
+    void decrypt_WithTamperedCiphertext_ShouldFail() {
+        String encrypted = cipher.encrypt("secret");
+        int position = "enc:v1:".length();
+        char flipped = encrypted.charAt(position) == 'A' ? 'B' : 'A';
+        String tampered = encrypted.substring(0, position) + flipped + encrypted.substring(position + 1);
+
+        assertThrows(IllegalStateException.class, () -> cipher.decrypt(tampered));
+    }
+
+    @Test
+    void decrypt_WithUnknownKeyId_ShouldFail() {
+        String encrypted = cipher("v2", "v2", KEY_2).encrypt("secret");
+
+        IllegalStateException ex = assertThrows(IllegalStateException.class, () -> cipher.decrypt(encrypted));
+        assertTrue(ex.getMessage().contains("'v2'"));
+    }
+
+    @Test
+    void rotatedKeys_ShouldDecryptOldValuesAndLookUpEveryStoredForm() {
+        String underOldKey = cipher.encryptDeterministic("john.doe@example.com");
+        PiiCipher rotated = cipher("v2", "v1", KEY_1, "v2", KEY_2);
+
+        String underNewKey = rotated.encryptDeterministic("john.doe@example.com");
+        List<String> lookupValues = rotated.lookupValues("john.doe@example.com");
+
+        assertTrue(underNewKey.startsWith("enc:v2:"));
+        assertEquals("john.doe@example.com", rotated.decrypt(underOldKey));
+        assertEquals(3, lookupValues.size());
+        assertTrue(lookupValues.containsAll(List.of(underOldKey, underNewKey, "john.doe@example.com")));
+    }
+
+    @Test
+    void encryptAndDecrypt_FromManyThreads_ShouldNotInterfere() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int thread = 0; thread < 8; thread++) {
+                String value = "patient" + thread + "@example.com";
+                results.add(executor.submit(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        if (!value.equals(cipher.decrypt(cipher.encryptDeterministic(value)))
+                                || !value.equals(cipher.decrypt(cipher.encrypt(value)))) {
+                            return false;
+                        }
+                    }
+                    return true;
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void constructor_WithInvalidConfiguration_ShouldFailFast() {
+        assertThrows(IllegalStateException.class, () -> new PiiCipher(new EncryptionProperties()));
+        assertThrows(IllegalStateException.class, () -> cipher("v1", "v1", "c2hvcnQ="));
+        assertThrows(IllegalStateException.class, () -> cipher("v1", "v1", ""));
+        assertThrows(IllegalStateException.class, () -> cipher("v2", "v1", KEY_1));
+    }
+
+    private static PiiCipher cipher(String activeKeyId, String... keyIdsAndKeys) {
+        EncryptionProperties properties = new EncryptionProperties();
+        properties.setActiveKeyId(activeKeyId);
+        for (int i = 0; i < keyIdsAndKeys.length; i += 2) {
+            properties.getKeys().put(keyIdsAndKeys[i], keyIdsAndKeys[i + 1]);
+        }
+        return new PiiCipher(properties);
+    }
+
+    private static String key(int seed) {
+        byte[] key = new byte[32];
+        for (int i = 0; i < key.length; i++) {
+            key[i] = (byte) (seed * 31 + i);
+        }
+        return Base64.getEncoder().encodeToString(key);
+    }
+}
@@ -0,0 +1,77 @@
+package io.github.rizanmusthafa.patient_service.mapper;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.github.rizanmusthafa.patient_service.dto.PatientDto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PatientDtoSerializerTest {
+
+    // Same settings Spring Boot applies to its ObjectMapper
+    private final ObjectMapper reflective = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private final ObjectMapper custom = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .addModule(new SimpleModule().addSerializer(new PatientDtoSerializer()))
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    @Test
+    void serialize_MatchesReflectiveOutput() throws Exception {
+        PatientDto dto = new PatientDto(1L, "John", "Doe", "123 Main St, \"Apt 4\"", "New York", "NY", "10001",
+                "+1234567890", "john.doe@example.com",
+                LocalDateTime.of(2024, 1, 15, 10, 30, 0),
+                LocalDateTime.of(2024, 1, 15, 10, 30, 5, 123_456_000));
+
+        assertEquals(reflective.writeValueAsString(dto), custom.writeValueAsString(dto));
+    }
+
+    @Test
+    void serialize_WithNulls_MatchesReflectiveOutput() throws Exception {
+        PatientDto dto = new PatientDto(null, "Jane", "Ünïcødé", null, null, null, null, null, null, null, null);
+
+        assertEquals(reflective.writeValueAsString(dto), custom.writeValueAsString(dto));
+    }
+
+    @Test
+    void serialize_InList_MatchesReflectiveOutput() throws Exception {
+        List<PatientDto> dtos = List.of(
+                new PatientDto(1L, "A", "B", null, null, null, null, "1", null, LocalDateTime.of(1, 1, 1, 0, 0), null),
+                new PatientDto(2L, "C", "D", null, null, null, null, null, "c@d.e", null, LocalDateTime.of(9999, 12, 31, 23, 59, 59, 999_999_999)));
+
+        assertEquals(reflective.writeValueAsString(dtos), custom.writeValueAsString(dtos));
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, 1, 10, 100_000_000, 120_000_000, 123_456_789, 999_999_999})
+    void formatIsoLocalDateTime_MatchesDateTimeFormatter(int nano) {
+        LocalDateTime value = LocalDateTime.of(2024, 2, 29, 7, 5, 9, nano);
+        char[] buffer = new char[29];
+
+        int length = PatientDtoSerializer.formatIsoLocalDateTime(value, buffer);
+
+        assertEquals(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value), new String(buffer, 0, length));
+    }
+
+    @Test
+    void serialize_YearOutsideFastPath_MatchesReflectiveOutput() throws Exception {
+        PatientDto dto = new PatientDto(3L, "E", "F", null, null, null, null, "1", null,
+                LocalDateTime.of(10_000, 1, 1, 0, 0), LocalDateTime.of(-1, 6, 1, 12, 0));
+
+        assertEquals(reflective.writeValueAsString(dto), custom.writeValueAsString(dto));
+    }
+}
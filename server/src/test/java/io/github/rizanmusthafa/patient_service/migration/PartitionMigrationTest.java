@@ -0,0 +1,116 @@
+package io.github.rizanmusthafa.patient_service.migration;
+
+import io.github.rizanmusthafa.patient_service.config.EncryptionProperties;
+import io.github.rizanmusthafa.patient_service.crypto.PiiCipher;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs V3's copy and swap against a real database holding more rows than one copy batch.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class PartitionMigrationTest {
+
+    private static final int ROWS = 25_000;
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @AfterEach
+    void cleanDatabase() {
+        Flyway.configure()
+                .dataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword())
+                .cleanDisabled(false)
+                .load()
+                .clean();
+    }
+
+    @Test
+    void v3_ShouldCopyEveryRowAndSwapInThePartitionedTable() throws SQLException {
+        flyway("1").migrate();
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    INSERT INTO patients (first_name, last_name, city, email)
+                    SELECT 'First' || n, 'Last' || n, 'City' || (n % 20), 'p' || n || '@example.com'
+                    FROM generate_series(1, %d) n
+                    """.formatted(ROWS));
+            // Gaps in the id range must not stop the copy early
+            statement.execute("DELETE FROM patients WHERE id BETWEEN 9000 AND 11000");
+        }
+        long expectedRows = ROWS - 2_001;
+
+        flyway("3").migrate();
+
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            assertEquals(expectedRows, queryLong(statement, "SELECT COUNT(*) FROM patients"));
+            assertEquals(0, queryLong(statement, """
+                    SELECT COUNT(*) FROM patients_legacy l
+                    WHERE NOT EXISTS (SELECT 1 FROM patients p WHERE p.id = l.id
+                                      AND p.first_name = l.first_name AND p.email = l.email)
+                    """));
+            assertEquals("p", queryString(statement, "SELECT relkind::text FROM pg_class WHERE relname = 'patients'"));
+            assertEquals(16, queryLong(statement, "SELECT COUNT(*) FROM pg_inherits WHERE inhparent = 'patients'::regclass"));
+            assertEquals("patients", queryString(statement,
+                    "SELECT conrelid::regclass::text FROM pg_constraint WHERE conname = 'patients_pkey' AND contype = 'p'"));
+            assertEquals("public.patients_id_seq", queryString(statement, "SELECT pg_get_serial_sequence('patients', 'id')"));
+            assertEquals(0, queryLong(statement,
+                    "SELECT COUNT(*) FROM pg_proc WHERE proname = 'mirror_patients_to_partitioned'"));
+
+            long newId = queryLong(statement,
+                    "INSERT INTO patients (first_name, last_name) VALUES ('New', 'Patient') RETURNING id");
+            assertTrue(newId > ROWS);
+        }
+    }
+
+    @Test
+    void v11_ShouldDropTheLegacyTable() throws SQLException {
+        flyway("latest").migrate();
+
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            assertNull(queryString(statement, "SELECT to_regclass('patients_legacy')::text"));
+        }
+    }
+
+    private static Flyway flyway(String target) {
+        EncryptionProperties encryption = new EncryptionProperties();
+        encryption.getKeys().put("v1", Base64.getEncoder().encodeToString(new byte[32]));
+        return Flyway.configure()
+                .dataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword())
+                .locations("classpath:db/migration")
+                .javaMigrations(new V3__Copy_patients_into_partitions(),
+                        new V10__Encrypt_patient_pii(new PiiCipher(encryption)))
+                .target(target)
+                .load();
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+    }
+
+    private static long queryLong(Statement statement, String sql) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getLong(1);
+        }
+    }
+
+    private static String queryString(Statement statement, String sql) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery(sql)) {
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package io.github.rizanmusthafa.patient_service.migration;
+
+import io.github.rizanmusthafa.patient_service.config.EncryptionProperties;
+import io.github.rizanmusthafa.patient_service.crypto.PiiCipher;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs every write path the V6 triggers handle and checks the rollups against counts
+ * computed from the patients themselves.
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class PatientRollupTriggersTest {
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    private static final String LOCATION_ROLLUP = """
+            SELECT state || '/' || city || '=' || SUM(patient_count)
+            FROM patient_location_counts
+            GROUP BY state, city
+            HAVING SUM(patient_count) <> 0
+            ORDER BY state, city
+            """;
+    private static final String LOCATION_ACTUAL = """
+            SELECT COALESCE(state, '') || '/' || COALESCE(city, '') || '=' || COUNT(*)
+            FROM patients
+            WHERE deleted_at IS NULL
+            GROUP BY COALESCE(state, ''), COALESCE(city, '')
+            ORDER BY COALESCE(state, ''), COALESCE(city, '')
+            """;
+    private static final String DAILY_ROLLUP = """
+            SELECT day || '=' || SUM(created_count)
+            FROM patient_daily_counts
+            GROUP BY day
+            ORDER BY day
+            """;
+    private static final String DAILY_ACTUAL = """
+            SELECT created_at::date || '=' || COUNT(*)
+            FROM (SELECT created_at FROM patients UNION ALL SELECT created_at FROM patients_archive) registered
+            GROUP BY created_at::date
+            ORDER BY created_at::date
+            """;
+
+    @BeforeAll
+    static void migrate() {
+        EncryptionProperties encryption = new EncryptionProperties();
+        encryption.getKeys().put("v1", Base64.getEncoder().encodeToString(new byte[32]));
+        Flyway.configure()
+                .dataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword())
+                .locations("classpath:db/migration")
+                .javaMigrations(new V3__Copy_patients_into_partitions(),
+                        new V10__Encrypt_patient_pii(new PiiCipher(encryption)))
+                .load()
+                .migrate();
+    }
+
+    @Test
+    void rollups_ShouldMatchThePatientsAfterEveryKindOfWrite() throws SQLException {
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            // Bulk insert in one statement, then single inserts in their own transactions
+            statement.execute("""
+                    INSERT INTO patients (first_name, last_name, city, state, created_at)
+                    SELECT 'First' || n, 'Last' || n,
+                           CASE WHEN n % 3 = 0 THEN 'Boston' ELSE 'New York' END,
+                           CASE WHEN n % 3 = 0 THEN 'MA' ELSE 'NY' END,
+                           TIMESTAMP '2024-01-01 10:00' + (n % 4) * INTERVAL '1 day'
+                    FROM generate_series(1, 300) n
+                    """);
+            statement.execute("INSERT INTO patients (first_name, last_name) VALUES ('No', 'Location')");
+            statement.execute("INSERT INTO patients (first_name, last_name, city, state) VALUES ('A', 'B', 'Austin', 'TX')");
+            assertRollupsMatch(statement);
+            assertTrue(queryLongs(statement, "SELECT COUNT(DISTINCT shard) FROM patient_location_counts").get(0) > 1);
+
+            // Bulk move, an update that keeps the location, soft delete and restore
+            statement.execute("UPDATE patients SET city = 'Cambridge' WHERE city = 'Boston' AND id % 2 = 0");
+            statement.execute("UPDATE patients SET first_name = 'Renamed' WHERE state = 'NY'");
+            statement.execute("UPDATE patients SET deleted_at = TIMESTAMP '2024-01-10 00:00' WHERE id % 5 = 0");
+            statement.execute("UPDATE patients SET deleted_at = NULL WHERE id % 10 = 0");
+            statement.execute("UPDATE patients SET city = NULL, state = NULL WHERE first_name = 'A'");
+            assertRollupsMatch(statement);
+
+            // Archive, as PatientRepository.archiveDeletedBefore does
+            statement.execute("""
+                    WITH moved AS (DELETE FROM patients WHERE deleted_at IS NOT NULL
+                                   RETURNING id, first_name, last_name, address, city, state, zip_code,
+                                             phone_number, email, created_at, updated_at, deleted_at)
+                    INSERT INTO patients_archive (id, first_name, last_name, address, city, state, zip_code,
+                                                  phone_number, email, created_at, updated_at, deleted_at)
+                    SELECT * FROM moved
+                    """);
+            statement.execute("DELETE FROM patients WHERE city = 'Cambridge'");
+            assertRollupsMatch(statement);
+        }
+    }
+
+    private static void assertRollupsMatch(Statement statement) throws SQLException {
+        assertEquals(queryStrings(statement, LOCATION_ACTUAL), queryStrings(statement, LOCATION_ROLLUP));
+        assertEquals(queryStrings(statement, DAILY_ACTUAL), queryStrings(statement, DAILY_ROLLUP));
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+    }
+
+    private static List<String> queryStrings(Statement statement, String sql) throws SQLException {
+        List<String> values = new ArrayList<>();
+        try (ResultSet resultSet = statement.executeQuery(sql)) {
+            while (resultSet.next()) {
+                values.add(resultSet.getString(1));
+            }
+        }
+        return values;
+    }
+
+    private static List<Long> queryLongs(Statement statement, String sql) throws SQLException {
+        List<Long> values = new ArrayList<>();
+        try (ResultSet resultSet = statement.executeQuery(sql)) {
+            while (resultSet.next()) {
+                values.add(resultSet.getLong(1));
+            }
+        }
+        return values;
+    }
+}
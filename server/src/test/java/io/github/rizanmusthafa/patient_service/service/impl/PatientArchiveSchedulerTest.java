@@ -0,0 +1,78 @@
+package io.github.rizanmusthafa.patient_service.service.impl;
+
+import io.github.rizanmusthafa.patient_service.config.ArchiveProperties;
+import io.github.rizanmusthafa.patient_service.repository.PatientRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PatientArchiveSchedulerTest {
+
+    @Mock
+    private PatientRepository patientRepository;
+
+    private ArchiveProperties properties;
+    private PatientArchiveScheduler scheduler;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ArchiveProperties();
+        properties.setRetention(Duration.ofDays(30));
+        properties.setBatchSize(500);
+        properties.setMaxBatchesPerRun(5);
+        scheduler = new PatientArchiveScheduler(patientRepository, properties);
+    }
+
+    @Test
+    void archiveDeletedPatients_ShouldStopAfterTheFirstPartialBatch() {
+        when(patientRepository.archiveDeletedBefore(any(LocalDateTime.class), eq(500))).thenReturn(500, 500, 120);
+
+        scheduler.archiveDeletedPatients();
+
+        verify(patientRepository, times(3)).archiveDeletedBefore(any(LocalDateTime.class), eq(500));
+    }
+
+    @Test
+    void archiveDeletedPatients_ShouldStopAtMaxBatchesPerRun() {
+        when(patientRepository.archiveDeletedBefore(any(LocalDateTime.class), eq(500))).thenReturn(500);
+
+        scheduler.archiveDeletedPatients();
+
+        verify(patientRepository, times(5)).archiveDeletedBefore(any(LocalDateTime.class), eq(500));
+    }
+
+    @Test
+    void archiveDeletedPatients_ShouldUseOneCutoffForTheWholeRun() {
+        ArgumentCaptor<LocalDateTime> cutoffs = ArgumentCaptor.forClass(LocalDateTime.class);
+        when(patientRepository.archiveDeletedBefore(cutoffs.capture(), eq(500))).thenReturn(500, 0);
+        LocalDateTime before = LocalDateTime.now().minusDays(30);
+
+        scheduler.archiveDeletedPatients();
+
+        assertEquals(2, cutoffs.getAllValues().size());
+        assertEquals(cutoffs.getAllValues().get(0), cutoffs.getAllValues().get(1));
+        assertFalse(cutoffs.getValue().isBefore(before));
+        assertFalse(cutoffs.getValue().isAfter(LocalDateTime.now().minusDays(30)));
+    }
+
+    @Test
+    void archiveDeletedPatients_WhenDisabled_ShouldNotTouchTheDatabase() {
+        properties.setEnabled(false);
+
+        scheduler.archiveDeletedPatients();
+
+        verifyNoInteractions(patientRepository);
+    }
+}
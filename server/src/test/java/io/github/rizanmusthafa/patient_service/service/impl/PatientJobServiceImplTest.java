@@ -0,0 +1,328 @@
+package io.github.rizanmusthafa.patient_service.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.github.rizanmusthafa.patient_service.config.EncryptionProperties;
+import io.github.rizanmusthafa.patient_service.config.JobProperties;
+import io.github.rizanmusthafa.patient_service.crypto.PiiCipher;
+import io.github.rizanmusthafa.patient_service.dto.PatientDto;
+import io.github.rizanmusthafa.patient_service.exception.BulkValidationException;
+import io.github.rizanmusthafa.patient_service.exception.JobStateException;
+import io.github.rizanmusthafa.patient_service.mapper.PatientMapper;
+import io.github.rizanmusthafa.patient_service.model.ChunkStatus;
+import io.github.rizanmusthafa.patient_service.model.JobStatus;
+import io.github.rizanmusthafa.patient_service.model.JobType;
+import io.github.rizanmusthafa.patient_service.model.Patient;
+import io.github.rizanmusthafa.patient_service.model.PatientJob;
+import io.github.rizanmusthafa.patient_service.model.PatientJobChunk;
+import io.github.rizanmusthafa.patient_service.repository.PatientJobChunkRepository;
+import io.github.rizanmusthafa.patient_service.repository.PatientJobRepository;
+import io.github.rizanmusthafa.patient_service.repository.PatientRepository;
+import io.github.rizanmusthafa.patient_service.validation.PatientDtoValidator;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PatientJobServiceImplTest {
+
+    private static final long JOB_ID = 7L;
+
+    @Mock
+    private PatientJobRepository jobRepository;
+
+    @Mock
+    private PatientJobChunkRepository chunkRepository;
+
+    @Mock
+    private PatientRepository patientRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path exportDir;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private JobProperties properties;
+    private PiiCipher piiCipher;
+    private PatientJobServiceImpl jobService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new JobProperties();
+        properties.setExportDir(exportDir);
+        properties.setExportChunkSize(10);
+        properties.setImportChunkSize(1);
+        properties.setParallelism(2);
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        EncryptionProperties encryption = new EncryptionProperties();
+        encryption.getKeys().put("v1", Base64.getEncoder().encodeToString(new byte[32]));
+        piiCipher = new PiiCipher(encryption);
+        jobService = new PatientJobServiceImpl(jobRepository, chunkRepository, patientRepository, new PatientMapper(),
+                new PatientDtoValidator(Validation.buildDefaultValidatorFactory().getValidator()), objectMapper,
+                piiCipher, properties, transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        jobService.shutdown();
+    }
+
+    @Test
+    void startExport_ShouldWriteOnePartFilePerIdRangeAndComplete() throws Exception {
+        PatientRepository.IdRange range = mock(PatientRepository.IdRange.class);
+        when(range.getMinId()).thenReturn(1L);
+        when(range.getMaxId()).thenReturn(15L);
+        when(patientRepository.findIdRange()).thenReturn(range);
+        stubJobCreation(JobType.EXPORT, 2);
+        when(chunkRepository.findByJobIdAndStatusNotOrderByChunkNo(JOB_ID, ChunkStatus.DONE))
+                .thenReturn(List.of(chunk(1L, 0, 1, 10), chunk(2L, 1, 11, 15)));
+        when(patientRepository.findByIdRange(1, 10)).thenReturn(List.of(patient(1L, "Main St")));
+        when(patientRepository.findByIdRange(11, 15)).thenReturn(List.of(patient(12L, "1 Elm St, Apt \"B\"")));
+        when(jobRepository.findStatusById(JOB_ID)).thenReturn(Optional.of(JobStatus.RUNNING));
+        when(chunkRepository.markDone(anyLong(), anyInt())).thenReturn(1);
+
+        jobService.startExport();
+
+        verify(jobRepository, timeout(5_000))
+                .transition(eq(JOB_ID), eq(EnumSet.of(JobStatus.RUNNING)), eq(JobStatus.COMPLETED), isNull());
+        verify(chunkRepository).markDone(1L, 1);
+        verify(chunkRepository).markDone(2L, 1);
+        verify(jobRepository, times(2)).recordChunkDone(JOB_ID, 1);
+        String first = Files.readString(exportDir.resolve("job-7/part-000000.csv"));
+        String second = Files.readString(exportDir.resolve("job-7/part-000001.csv"));
+        assertTrue(first.startsWith(PatientCsv.HEADER));
+        assertTrue(first.contains("1,John,Doe,Main St,"));
+        assertTrue(second.startsWith("12,John,Doe,\"1 Elm St, Apt \"\"B\"\"\","));
+        if (exportDir.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            assertEquals("rwx------", PosixFilePermissions.toString(Files.getPosixFilePermissions(exportDir.resolve("job-7"))));
+            assertEquals("rw-------",
+                    PosixFilePermissions.toString(Files.getPosixFilePermissions(exportDir.resolve("job-7/part-000000.csv"))));
+        }
+    }
+
+    @Test
+    void startImport_WhenAChunkFails_ShouldMarkChunkAndJobFailed() throws Exception {
+        List<PatientDto> patients = List.of(dto("Ann"), dto("Bob"));
+        stubJobCreation(JobType.IMPORT, 2);
+        when(jobRepository.findPayloadById(JOB_ID)).thenReturn(objectMapper.writeValueAsString(patients));
+        when(chunkRepository.findByJobIdAndStatusNotOrderByChunkNo(JOB_ID, ChunkStatus.DONE))
+                .thenReturn(List.of(chunk(1L, 0, 0, 1), chunk(2L, 1, 1, 2)));
+        when(patientRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Patient> saved = invocation.getArgument(0);
+            if ("Bob".equals(saved.get(0).getFirstName())) {
+                throw new IllegalStateException("duplicate key");
+            }
+            return saved;
+        });
+        lenient().when(jobRepository.findStatusById(JOB_ID)).thenReturn(Optional.of(JobStatus.RUNNING));
+        lenient().when(chunkRepository.markDone(anyLong(), anyInt())).thenReturn(1);
+
+        jobService.startImport(patients);
+
+        verify(jobRepository, timeout(5_000))
+                .transition(eq(JOB_ID), eq(EnumSet.of(JobStatus.RUNNING)), eq(JobStatus.FAILED), startsWith("Chunk 1 failed"));
+        verify(chunkRepository).markFailed(2L, "duplicate key");
+        verify(jobRepository).savePayload(eq(JOB_ID), anyString());
+    }
+
+    @Test
+    void startImport_WhenChunkWasAlreadyDone_ShouldRollBackItsInserts() throws Exception {
+        List<PatientDto> patients = List.of(dto("Ann"));
+        stubJobCreation(JobType.IMPORT, 1);
+        when(jobRepository.findPayloadById(JOB_ID)).thenReturn(objectMapper.writeValueAsString(patients));
+        when(chunkRepository.findByJobIdAndStatusNotOrderByChunkNo(JOB_ID, ChunkStatus.DONE))
+                .thenReturn(List.of(chunk(1L, 0, 0, 1)));
+        when(chunkRepository.markDone(1L, 1)).thenReturn(0);
+
+        jobService.startImport(patients);
+
+        verify(jobRepository, timeout(5_000)).transition(eq(JOB_ID), eq(EnumSet.of(JobStatus.RUNNING)),
+                eq(JobStatus.FAILED), contains("already completed by another run"));
+        verify(patientRepository).saveAll(anyList());
+        verify(jobRepository, never()).recordChunkDone(anyLong(), anyLong());
+        // The insert and the checkpoint share the transaction that was rolled back
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    void heartbeat_ShouldTouchJobsRunningOnThisInstance() throws Exception {
+        List<PatientDto> patients = List.of(dto("Ann"));
+        stubJobCreation(JobType.IMPORT, 1);
+        when(jobRepository.findPayloadById(JOB_ID)).thenReturn(objectMapper.writeValueAsString(patients));
+        when(chunkRepository.findByJobIdAndStatusNotOrderByChunkNo(JOB_ID, ChunkStatus.DONE))
+                .thenReturn(List.of(chunk(1L, 0, 0, 1)));
+        CountDownLatch chunkStarted = new CountDownLatch(1);
+        CountDownLatch releaseChunk = new CountDownLatch(1);
+        when(patientRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            chunkStarted.countDown();
+            releaseChunk.await();
+            return invocation.getArgument(0);
+        });
+        when(chunkRepository.markDone(1L, 1)).thenReturn(1);
+        when(jobRepository.findStatusById(JOB_ID)).thenReturn(Optional.of(JobStatus.RUNNING));
+
+        jobService.startImport(patients);
+        assertTrue(chunkStarted.await(5, TimeUnit.SECONDS));
+        jobService.heartbeat();
+        releaseChunk.countDown();
+
+        verify(jobRepository).touch(List.of(JOB_ID), JobStatus.RUNNING);
+        verify(jobRepository, timeout(5_000))
+                .transition(eq(JOB_ID), eq(EnumSet.of(JobStatus.RUNNING)), eq(JobStatus.COMPLETED), isNull());
+    }
+
+    @Test
+    void heartbeat_WithoutRunningJobs_ShouldNotTouchTheDatabase() {
+        jobService.heartbeat();
+
+        verifyNoInteractions(jobRepository, transactionManager);
+    }
+
+    @Test
+    void deleteExpiredExports_ShouldDeleteOnlyJobDirectoriesOlderThanTheRetention() throws Exception {
+        properties.setExportRetention(Duration.ofHours(1));
+        Path expired = Files.createDirectories(exportDir.resolve("job-1"));
+        Files.writeString(expired.resolve("part-000000.csv"), PatientCsv.HEADER);
+        Files.setLastModifiedTime(expired, FileTime.from(Instant.now().minus(Duration.ofHours(2))));
+        Path recent = Files.createDirectories(exportDir.resolve("job-2"));
+        Files.writeString(recent.resolve("part-000000.csv"), PatientCsv.HEADER);
+
+        jobService.deleteExpiredExports();
+
+        assertFalse(Files.exists(expired));
+        assertTrue(Files.exists(recent.resolve("part-000000.csv")));
+    }
+
+    @Test
+    void startImport_ShouldStoreThePayloadEncryptedAndDeleteItWhenDone() throws Exception {
+        List<PatientDto> patients = List.of(dto("Ann"));
+        stubJobCreation(JobType.IMPORT, 1);
+        AtomicReference<String> stored = new AtomicReference<>();
+        when(jobRepository.savePayload(eq(JOB_ID), anyString())).thenAnswer(invocation -> {
+            stored.set(invocation.getArgument(1));
+            return 1;
+        });
+        when(jobRepository.findPayloadById(JOB_ID)).thenAnswer(invocation -> stored.get());
+        when(chunkRepository.findByJobIdAndStatusNotOrderByChunkNo(JOB_ID, ChunkStatus.DONE))
+                .thenReturn(List.of(chunk(1L, 0, 0, 1)));
+        when(patientRepository.saveAll(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(chunkRepository.markDone(1L, 1)).thenReturn(1);
+        when(jobRepository.findStatusById(JOB_ID)).thenReturn(Optional.of(JobStatus.RUNNING));
+
+        jobService.startImport(patients);
+
+        verify(jobRepository, timeout(5_000)).savePayload(JOB_ID, null);
+        assertTrue(PiiCipher.isEncrypted(stored.get()));
+        assertFalse(stored.get().contains("Ann"));
+        assertEquals(objectMapper.writeValueAsString(patients), piiCipher.decrypt(stored.get()));
+        verify(patientRepository).saveAll(argThat(saved -> "Ann".equals(saved.iterator().next().getFirstName())));
+    }
+
+    @Test
+    void startImport_WithInvalidPatients_ShouldNotCreateJob() {
+        PatientDto invalid = dto(" ");
+
+        assertThrows(BulkValidationException.class, () -> jobService.startImport(List.of(dto("Ann"), invalid)));
+
+        verify(jobRepository, never()).save(any());
+    }
+
+    @Test
+    void cancel_WhenJobFinished_ShouldThrowJobStateException() {
+        when(jobRepository.transition(eq(JOB_ID), any(), eq(JobStatus.CANCELLED), isNull())).thenReturn(0);
+        when(jobRepository.findById(JOB_ID)).thenReturn(Optional.of(job(JobType.EXPORT, 1, JobStatus.COMPLETED)));
+
+        assertThrows(JobStateException.class, () -> jobService.cancel(JOB_ID));
+    }
+
+    @Test
+    void resume_WhenNotResumable_ShouldThrowJobStateException() {
+        when(jobRepository.claim(eq(JOB_ID), any(), eq(JobStatus.RUNNING), any())).thenReturn(0);
+        when(jobRepository.findById(JOB_ID)).thenReturn(Optional.of(job(JobType.IMPORT, 1, JobStatus.COMPLETED)));
+
+        assertThrows(JobStateException.class, () -> jobService.resume(JOB_ID));
+    }
+
+    private void stubJobCreation(JobType type, int chunks) {
+        when(jobRepository.save(any(PatientJob.class))).thenAnswer(invocation -> {
+            PatientJob job = invocation.getArgument(0);
+            job.setId(JOB_ID);
+            return job;
+        });
+        when(jobRepository.claim(eq(JOB_ID), any(), eq(JobStatus.RUNNING), any())).thenReturn(1);
+        when(jobRepository.findById(JOB_ID)).thenReturn(Optional.of(job(type, chunks, JobStatus.RUNNING)));
+    }
+
+    private static PatientJob job(JobType type, int chunks, JobStatus status) {
+        PatientJob job = new PatientJob(type, chunks);
+        job.setId(JOB_ID);
+        job.setStatus(status);
+        return job;
+    }
+
+    private static PatientJobChunk chunk(Long id, int chunkNo, long start, long end) {
+        PatientJobChunk chunk = new PatientJobChunk(JOB_ID, chunkNo, start, end);
+        chunk.setId(id);
+        return chunk;
+    }
+
+    private static Patient patient(Long id, String address) {
+        Patient patient = new Patient();
+        patient.setId(id);
+        patient.setFirstName("John");
+        patient.setLastName("Doe");
+        patient.setAddress(address);
+        patient.setEmail("john@example.com");
+        return patient;
+    }
+
+    private static PatientDto dto(String firstName) {
+        PatientDto dto = new PatientDto();
+        dto.setFirstName(firstName);
+        dto.setLastName("Smith");
+        dto.setEmail(firstName.trim().toLowerCase() + "x@example.com");
+        return dto;
+    }
+}
@@ -1,29 +1,50 @@
 package io.github.rizanmusthafa.patient_service.service.impl;
 
+import io.github.rizanmusthafa.patient_service.crypto.PiiCipher;
+import io.github.rizanmusthafa.patient_service.dto.BulkDeleteRequest;
+import io.github.rizanmusthafa.patient_service.dto.BulkOperationResponse;
+import io.github.rizanmusthafa.patient_service.dto.BulkPatchChanges;
+import io.github.rizanmusthafa.patient_service.dto.BulkPatchRequest;
 import io.github.rizanmusthafa.patient_service.dto.PageResponse;
 import io.github.rizanmusthafa.patient_service.dto.PatientDto;
+import io.github.rizanmusthafa.patient_service.dto.PatientFilter;
+import io.github.rizanmusthafa.patient_service.dto.PatientLookupResponse;
+import io.github.rizanmusthafa.patient_service.exception.BulkValidationException;
 import io.github.rizanmusthafa.patient_service.exception.PatientNotFoundException;
 import io.github.rizanmusthafa.patient_service.mapper.PatientMapper;
 import io.github.rizanmusthafa.patient_service.model.Patient;
 import io.github.rizanmusthafa.patient_service.repository.PatientRepository;
+import io.github.rizanmusthafa.patient_service.validation.PatientDtoValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -35,6 +56,22 @@ class PatientServiceImplTest {
     @Mock
     private PatientMapper patientMapper;
 
+    @Spy
+    private PatientDtoValidator patientDtoValidator =
+            new PatientDtoValidator(Validation.buildDefaultValidatorFactory().getValidator());
+
+    @Spy
+    private ReadCoalescer readCoalescer = new ReadCoalescer(new SimpleMeterRegistry());
+
+    @Mock
+    private PiiCipher piiCipher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate();
+
     @InjectMocks
     private PatientServiceImpl patientService;
 
@@ -43,6 +80,8 @@ class PatientServiceImplTest {
 
     @BeforeEach
     void setUp() {
+        transactionTemplate.setTransactionManager(transactionManager);
+
         patient = new Patient();
         patient.setId(1L);
         patient.setFirstName("John");
@@ -100,6 +139,31 @@ class PatientServiceImplTest {
         verify(patientMapper).toDto(patient);
     }
 
+    @Test
+    void findAll_WithSort_ShouldAppendIndexTieBreakers() {
+        Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt", "id"));
+        when(patientRepository.findAll(pageable)).thenReturn(new PageImpl<>(List.of(patient), pageable, 1L));
+        when(patientMapper.toDto(patient)).thenReturn(patientDto);
+
+        PageResponse<PatientDto> result = patientService.findAll(0, 10, Sort.by(Sort.Direction.DESC, "createdAt"));
+
+        assertEquals(List.of(patientDto), result.getContent());
+        verify(patientRepository).findAll(pageable);
+    }
+
+    @Test
+    void search_ShouldQueryLowerCasedEscapedPrefixWithIndexedSort() {
+        Pageable pageable = PageRequest.of(0, 100, Sort.by(Sort.Direction.ASC, "lastName", "firstName", "id"));
+        when(patientRepository.searchByNamePrefix("o\\_b%", pageable))
+                .thenReturn(new PageImpl<>(List.of(patient), pageable, 1L));
+        when(patientMapper.toDto(patient)).thenReturn(patientDto);
+
+        PageResponse<PatientDto> result = patientService.search(" O_B ", 0, 100, Sort.by("lastName"));
+
+        assertEquals(List.of(patientDto), result.getContent());
+        verify(patientRepository, never()).findAll(any(Pageable.class));
+    }
+
     @Test
     void findById_WhenPatientExists_ShouldReturnPatientDto() {
         when(patientRepository.findById(1L)).thenReturn(Optional.of(patient));
@@ -111,6 +175,7 @@ class PatientServiceImplTest {
         assertEquals(patientDto, result);
         verify(patientRepository).findById(1L);
         verify(patientMapper).toDto(patient);
+        verify(readCoalescer).execute(eq("findById"), eq(List.of(1L)), any());
     }
 
     @Test
@@ -122,6 +187,66 @@ class PatientServiceImplTest {
         verify(patientMapper, never()).toDto(any());
     }
 
+    @Test
+    void findAllById_ShouldPreserveRequestedOrderAndReportMissingIds() {
+        Patient other = new Patient();
+        other.setId(3L);
+        PatientDto otherDto = new PatientDto();
+        otherDto.setId(3L);
+
+        when(patientRepository.findAllByIdIn(new Long[] {3L, 2L, 1L})).thenReturn(List.of(patient, other));
+        when(patientMapper.toDto(patient)).thenReturn(patientDto);
+        when(patientMapper.toDto(other)).thenReturn(otherDto);
+
+        PatientLookupResponse result = patientService.findAllById(List.of(3L, 2L, 1L, 3L));
+
+        assertEquals(List.of(otherDto, patientDto), result.getPatients());
+        assertEquals(List.of(2L), result.getMissingIds());
+        verify(patientRepository).findAllByIdIn(new Long[] {3L, 2L, 1L});
+    }
+
+    @Test
+    void findByEmail_ShouldMatchEveryStoredFormOfTheEmail() {
+        when(piiCipher.lookupValues("john.doe@example.com"))
+                .thenReturn(List.of("enc:v1:abc", "john.doe@example.com"));
+        when(patientRepository.findAllByEmailIn(new String[] {"enc:v1:abc", "john.doe@example.com"}))
+                .thenReturn(List.of(patient));
+        when(patientMapper.toDto(patient)).thenReturn(patientDto);
+
+        List<PatientDto> result = patientService.findByEmail("john.doe@example.com");
+
+        assertEquals(List.of(patientDto), result);
+    }
+
+    @Test
+    void createAll_WithValidItems_ShouldSaveAll() {
+        Patient newPatient = new Patient();
+        when(patientMapper.toEntity(patientDto)).thenReturn(newPatient);
+        when(patientRepository.saveAll(List.of(newPatient))).thenReturn(List.of(patient));
+        when(patientMapper.toDto(patient)).thenReturn(patientDto);
+
+        List<PatientDto> result = patientService.createAll(List.of(patientDto));
+
+        assertEquals(List.of(patientDto), result);
+    }
+
+    @Test
+    void createAll_WithInvalidItems_ShouldReportAllErrorsAndSaveNothing() {
+        PatientDto invalid = new PatientDto();
+        invalid.setFirstName(" ");
+        invalid.setLastName("Smith");
+        invalid.setEmail("not-an-email");
+
+        BulkValidationException exception = assertThrows(BulkValidationException.class,
+                () -> patientService.createAll(List.of(patientDto, invalid)));
+
+        assertEquals(2, exception.getErrors().size());
+        assertEquals(1, exception.getErrors().get(0).getIndex());
+        assertEquals("firstName", exception.getErrors().get(0).getField());
+        assertEquals("email", exception.getErrors().get(1).getField());
+        verify(patientRepository, never()).saveAll(anyList());
+    }
+
     @Test
     void create_ShouldSaveAndReturnPatientDto() {
         PatientDto newDto = new PatientDto();
@@ -189,6 +314,7 @@ class PatientServiceImplTest {
         verify(patientRepository).findById(1L);
         verify(patientRepository).save(any(Patient.class));
         verify(patientMapper).toDto(updatedPatient);
+        verify(readCoalescer).invalidateAfterCommit();
     }
 
     @Test
@@ -220,6 +346,61 @@ class PatientServiceImplTest {
         verify(patientRepository, never()).deleteById(any());
     }
 
+    @Test
+    void deleteAll_WithIds_ShouldSoftDeleteInChunks() {
+        List<Long> ids = LongStream.rangeClosed(1, PatientServiceImpl.BULK_CHUNK_SIZE + 5).boxed().toList();
+        when(patientRepository.softDeleteAllById(anyList())).thenReturn(PatientServiceImpl.BULK_CHUNK_SIZE, 4);
+
+        BulkOperationResponse result = patientService.deleteAll(new BulkDeleteRequest(ids, null));
+
+        assertEquals(PatientServiceImpl.BULK_CHUNK_SIZE + 4, result.getAffected());
+        verify(patientRepository).softDeleteAllById(ids.subList(0, PatientServiceImpl.BULK_CHUNK_SIZE));
+        verify(patientRepository).softDeleteAllById(ids.subList(PatientServiceImpl.BULK_CHUNK_SIZE, ids.size()));
+        verify(patientRepository, never()).findIdsByFilter(any(), any(), anyLong(), any());
+        verify(transactionManager, times(2)).getTransaction(any());
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    void patchAll_WithFilter_ShouldWalkMatchingIdsAndPatchEachChunk() {
+        List<Long> firstChunk = LongStream.rangeClosed(1, PatientServiceImpl.BULK_CHUNK_SIZE).boxed().toList();
+        BulkPatchChanges changes = new BulkPatchChanges(null, "Boston", "MA", null);
+        BulkPatchRequest request = new BulkPatchRequest(null, new PatientFilter("Springfield", null), changes);
+
+        when(patientRepository.findIdsByFilter("Springfield", null, 0L, Limit.of(PatientServiceImpl.BULK_CHUNK_SIZE)))
+                .thenReturn(firstChunk);
+        when(patientRepository.findIdsByFilter("Springfield", null, (long) PatientServiceImpl.BULK_CHUNK_SIZE,
+                Limit.of(PatientServiceImpl.BULK_CHUNK_SIZE)))
+                .thenReturn(List.of(5000L));
+        when(patientRepository.patchAllById(firstChunk, changes)).thenReturn(PatientServiceImpl.BULK_CHUNK_SIZE);
+        when(patientRepository.patchAllById(List.of(5000L), changes)).thenReturn(1);
+
+        BulkOperationResponse result = patientService.patchAll(request);
+
+        assertEquals(PatientServiceImpl.BULK_CHUNK_SIZE + 1, result.getAffected());
+        verify(patientRepository, times(2)).patchAllById(anyList(), eq(changes));
+    }
+
+    @Test
+    void restore_WhenDeletedPatientExists_ShouldReturnRestoredPatientDto() {
+        when(patientRepository.restoreById(eq(1L), any(LocalDateTime.class))).thenReturn(1);
+        when(patientRepository.findById(1L)).thenReturn(Optional.of(patient));
+        when(patientMapper.toDto(patient)).thenReturn(patientDto);
+
+        PatientDto result = patientService.restore(1L);
+
+        assertEquals(patientDto, result);
+        verify(patientRepository).restoreById(eq(1L), any(LocalDateTime.class));
+    }
+
+    @Test
+    void restore_WhenNoDeletedPatient_ShouldThrowException() {
+        when(patientRepository.restoreById(eq(1L), any(LocalDateTime.class))).thenReturn(0);
+
+        assertThrows(PatientNotFoundException.class, () -> patientService.restore(1L));
+        verify(patientRepository, never()).findById(any());
+    }
+
     @Test
     void patch_WhenPatientExists_ShouldPartiallyUpdateAndReturnPatientDto() {
         PatientDto patchDto = new PatientDto();
@@ -256,4 +437,37 @@ class PatientServiceImplTest {
         verify(patientRepository).findById(1L);
         verify(patientRepository, never()).save(any());
     }
+
+    @Test
+    void patchAll_ShouldApplyPatchesToExistingPatientsInOneBatch() {
+        PatientDto patchDto = new PatientDto();
+        patchDto.setCity("Boston");
+        Map<Long, PatientDto> patches = Map.of(1L, patchDto, 2L, new PatientDto());
+
+        when(patientRepository.findAllByIdForUpdate(patches.keySet())).thenReturn(List.of(patient));
+
+        int applied = patientService.patchAll(patches);
+
+        assertEquals(1, applied);
+        assertEquals("Boston", patient.getCity());
+        assertEquals("John", patient.getFirstName());
+        verify(patientRepository).saveAll(List.of(patient));
+    }
+
+    @Test
+    void patchAll_ShouldSkipPatientsModifiedAfterThePatchWasAccepted() {
+        patient.setUpdatedAt(LocalDateTime.of(2024, 1, 15, 10, 31));
+        PatientDto stalePatch = new PatientDto();
+        stalePatch.setCity("Boston");
+        stalePatch.setUpdatedAt(LocalDateTime.of(2024, 1, 15, 10, 30));
+        Map<Long, PatientDto> patches = Map.of(1L, stalePatch);
+
+        when(patientRepository.findAllByIdForUpdate(patches.keySet())).thenReturn(List.of(patient));
+
+        int applied = patientService.patchAll(patches);
+
+        assertEquals(0, applied);
+        assertNull(patient.getCity());
+        verify(patientRepository).saveAll(List.of());
+    }
 }
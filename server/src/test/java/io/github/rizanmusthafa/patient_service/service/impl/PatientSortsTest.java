@@ -0,0 +1,46 @@
+package io.github.rizanmusthafa.patient_service.service.impl;
+
+import io.github.rizanmusthafa.patient_service.exception.InvalidSortException;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PatientSortsTest {
+
+    @Test
+    void resolve_WhenUnsorted_ShouldStayUnsorted() {
+        assertTrue(PatientSorts.resolve(Sort.unsorted()).isUnsorted());
+    }
+
+    @Test
+    void resolve_WithIndexPrefix_ShouldAppendRemainingIndexColumns() {
+        Sort resolved = PatientSorts.resolve(Sort.by(Sort.Direction.ASC, "lastName"));
+
+        assertEquals(Sort.by(Sort.Direction.ASC, "lastName", "firstName", "id"), resolved);
+    }
+
+    @Test
+    void resolve_WithFullIndexOrderDescending_ShouldKeepDirection() {
+        Sort resolved = PatientSorts.resolve(Sort.by(Sort.Direction.DESC, "lastName", "firstName"));
+
+        assertEquals(Sort.by(Sort.Direction.DESC, "lastName", "firstName", "id"), resolved);
+    }
+
+    @Test
+    void resolve_WithUnindexedProperty_ShouldReject() {
+        assertThrows(InvalidSortException.class, () -> PatientSorts.resolve(Sort.by("address")));
+    }
+
+    @Test
+    void resolve_WithPropertiesOutOfIndexOrder_ShouldReject() {
+        assertThrows(InvalidSortException.class, () -> PatientSorts.resolve(Sort.by("lastName", "createdAt")));
+    }
+
+    @Test
+    void resolve_WithMixedDirections_ShouldReject() {
+        Sort mixed = Sort.by(Sort.Order.asc("lastName"), Sort.Order.desc("firstName"));
+
+        assertThrows(InvalidSortException.class, () -> PatientSorts.resolve(mixed));
+    }
+}
@@ -0,0 +1,76 @@
+package io.github.rizanmusthafa.patient_service.service.impl;
+
+import io.github.rizanmusthafa.patient_service.dto.DailyCount;
+import io.github.rizanmusthafa.patient_service.dto.LocationCount;
+import io.github.rizanmusthafa.patient_service.dto.LocationGrouping;
+import io.github.rizanmusthafa.patient_service.dto.PatientStatsResponse;
+import io.github.rizanmusthafa.patient_service.exception.InvalidParameterException;
+import io.github.rizanmusthafa.patient_service.repository.PatientDailyCountRepository;
+import io.github.rizanmusthafa.patient_service.repository.PatientLocationCountRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PatientStatsServiceImplTest {
+
+    private static final LocalDate FROM = LocalDate.of(2024, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2024, 1, 31);
+
+    @Mock
+    private PatientLocationCountRepository locationCountRepository;
+
+    @Mock
+    private PatientDailyCountRepository dailyCountRepository;
+
+    @InjectMocks
+    private PatientStatsServiceImpl patientStatsService;
+
+    @Test
+    void getStats_ByState_MapsEmptyLocationsToNull() {
+        when(locationCountRepository.countByState()).thenReturn(List.of(
+                new LocationCount("NY", "", 12),
+                new LocationCount("", "", 3)));
+        when(locationCountRepository.sumPatientCount()).thenReturn(15L);
+        when(dailyCountRepository.countByDayBetween(FROM, TO)).thenReturn(List.of());
+
+        PatientStatsResponse result = patientStatsService.getStats(LocationGrouping.STATE, FROM, TO);
+
+        assertEquals(15L, result.getTotalPatients());
+        assertEquals(List.of(new LocationCount("NY", null, 12), new LocationCount(null, null, 3)),
+                result.getByLocation());
+        verify(locationCountRepository, never()).countByCity();
+    }
+
+    @Test
+    void getStats_ByCity_ReturnsCityCountsAndDailyCounts() {
+        when(locationCountRepository.countByCity()).thenReturn(List.of(new LocationCount("NY", "New York", 7)));
+        when(locationCountRepository.sumPatientCount()).thenReturn(7L);
+        when(dailyCountRepository.countByDayBetween(FROM, TO)).thenReturn(List.of(
+                new DailyCount(LocalDate.of(2024, 1, 2), 4L),
+                new DailyCount(LocalDate.of(2024, 1, 5), 3L)));
+
+        PatientStatsResponse result = patientStatsService.getStats(LocationGrouping.CITY, FROM, TO);
+
+        assertEquals("New York", result.getByLocation().get(0).getCity());
+        assertEquals(2, result.getNewPatientsPerDay().size());
+        assertEquals(LocalDate.of(2024, 1, 2), result.getNewPatientsPerDay().get(0).getDay());
+        assertEquals(4L, result.getNewPatientsPerDay().get(0).getCount());
+        verify(locationCountRepository, never()).countByState();
+    }
+
+    @Test
+    void getStats_WhenFromIsAfterTo_ShouldRejectTheRange() {
+        assertThrows(InvalidParameterException.class,
+                () -> patientStatsService.getStats(LocationGrouping.STATE, TO, FROM));
+        verifyNoInteractions(locationCountRepository, dailyCountRepository);
+    }
+}
@@ -0,0 +1,160 @@
+package io.github.rizanmusthafa.patient_service.service.impl;
+
+import io.github.rizanmusthafa.patient_service.exception.PatientNotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReadCoalescerTest {
+
+    private static final int CALLERS = 8;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReadCoalescer readCoalescer;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        readCoalescer = new ReadCoalescer(meterRegistry);
+    }
+
+    @Test
+    void execute_WithConcurrentIdenticalReads_ShouldRunOneReadAndShareItsResult() throws Exception {
+        AtomicInteger reads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<String> read = () -> {
+            reads.incrementAndGet();
+            await(release);
+            return "patient-1";
+        };
+
+        List<Future<String>> results = runConcurrently(() -> readCoalescer.execute("findById", List.of(1L), read));
+        waitForCoalesced(CALLERS - 1);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertEquals("patient-1", result.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, reads.get());
+        assertEquals(1, meterRegistry.get("patient.reads.executed").tag("operation", "findById").counter().count());
+    }
+
+    @Test
+    void execute_WhenReadFails_ShouldRethrowTheSameExceptionToAllCallers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<String> read = () -> {
+            await(release);
+            throw new PatientNotFoundException("Patient not found with id: 1");
+        };
+
+        List<Future<String>> results = runConcurrently(() -> readCoalescer.execute("findById", List.of(1L), read));
+        waitForCoalesced(CALLERS - 1);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            Exception e = assertThrows(Exception.class, () -> result.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(PatientNotFoundException.class, e.getCause());
+        }
+    }
+
+    @Test
+    void execute_WithDifferentKeys_ShouldNotShareReads() {
+        assertEquals("page-0", readCoalescer.execute("findAll", List.of(0, 10), () -> "page-0"));
+        assertEquals("page-1", readCoalescer.execute("findAll", List.of(1, 10), () -> "page-1"));
+
+        assertEquals(2, meterRegistry.get("patient.reads.executed").tag("operation", "findAll").counter().count());
+    }
+
+    @Test
+    void execute_AfterReadCompleted_ShouldRunANewRead() {
+        AtomicInteger reads = new AtomicInteger();
+
+        readCoalescer.execute("findById", List.of(1L), reads::incrementAndGet);
+        readCoalescer.execute("findById", List.of(1L), reads::incrementAndGet);
+
+        assertEquals(2, reads.get());
+    }
+
+    @Test
+    void invalidateAfterCommit_ShouldStartANewReadForLaterCallers() throws Exception {
+        AtomicInteger reads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        Supplier<Integer> read = () -> {
+            int n = reads.incrementAndGet();
+            await(release);
+            return n;
+        };
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<Integer> first = executor.submit(() -> readCoalescer.execute("findById", List.of(1L), read));
+            while (reads.get() == 0) {
+                Thread.onSpinWait();
+            }
+
+            readCoalescer.invalidateAfterCommit();
+            release.countDown();
+
+            assertEquals(2, readCoalescer.execute("findById", List.of(1L), read));
+            assertEquals(1, first.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void execute_InsideTransaction_ShouldNotJoinReadsInFlight() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            AtomicInteger reads = new AtomicInteger();
+            readCoalescer.execute("findById", List.of(1L), reads::incrementAndGet);
+
+            assertEquals(1, reads.get());
+            assertTrue(meterRegistry.find("patient.reads.executed").counters().isEmpty());
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+    }
+
+    private <T> List<Future<T>> runConcurrently(Callable<T> call) {
+        ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+        List<Future<T>> results = new ArrayList<>(CALLERS);
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(call));
+        }
+        executor.shutdown();
+        return results;
+    }
+
+    private void waitForCoalesced(int callers) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (meterRegistry.find("patient.reads.coalesced").counters().stream()
+                .mapToDouble(Counter::count).sum() < callers) {
+            assertTrue(System.nanoTime() < deadline, "callers did not join the read in flight");
+            Thread.sleep(10);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
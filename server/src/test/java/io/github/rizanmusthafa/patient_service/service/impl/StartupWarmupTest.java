@@ -0,0 +1,116 @@
+package io.github.rizanmusthafa.patient_service.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.github.rizanmusthafa.patient_service.config.WarmupProperties;
+import io.github.rizanmusthafa.patient_service.dto.LocationGrouping;
+import io.github.rizanmusthafa.patient_service.dto.PageResponse;
+import io.github.rizanmusthafa.patient_service.dto.PatientDto;
+import io.github.rizanmusthafa.patient_service.mapper.PatientMapper;
+import io.github.rizanmusthafa.patient_service.service.PatientService;
+import io.github.rizanmusthafa.patient_service.service.PatientStatsService;
+import io.github.rizanmusthafa.patient_service.validation.PatientDtoValidator;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StartupWarmupTest {
+
+    @Mock
+    private DataSource dataSource;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private PatientService patientService;
+
+    @Mock
+    private PatientStatsService patientStatsService;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private WarmupProperties properties;
+    private StartupWarmup warmup;
+
+    @BeforeEach
+    void setUp() {
+        properties = new WarmupProperties();
+        properties.setIterations(10);
+        properties.setQueryIterations(3);
+        properties.setPreloadPatients(2);
+        warmup = new StartupWarmup(properties, dataSource, patientService, patientStatsService, new PatientMapper(),
+                new PatientDtoValidator(Validation.buildDefaultValidatorFactory().getValidator()), objectMapper);
+    }
+
+    @Test
+    void run_ShouldOpenPoolRunQueriesAndPreloadNewestPatients() throws SQLException {
+        when(dataSource.getConnection()).thenReturn(connection);
+        PageResponse<PatientDto> page = page(patient(1L), patient(2L));
+        when(patientService.findAll(anyInt(), anyInt(), any(Sort.class))).thenReturn(page);
+
+        warmup.run(null);
+
+        verify(connection).close();
+        verify(patientService, times(3)).findAll(0, 20, Sort.unsorted());
+        verify(patientService, times(3)).findAll(0, 20, Sort.by("lastName"));
+        verify(patientService, times(3)).search(eq("a"), eq(0), eq(20), any(Sort.class));
+        verify(patientStatsService, times(3)).getStats(eq(LocationGrouping.STATE), any(), any());
+        verify(patientService).findAll(0, 2, Sort.by(Sort.Direction.DESC, "createdAt"));
+        // One by-id read per query round; preloading reads the newest patients as one page
+        verify(patientService, times(3)).findById(anyLong());
+    }
+
+    @Test
+    void run_WhenDatabaseIsDown_ShouldStillCompleteWithoutThrowing() throws SQLException {
+        when(dataSource.getConnection()).thenThrow(new SQLException("Connection refused"));
+        when(patientService.findAll(anyInt(), anyInt(), any(Sort.class)))
+                .thenThrow(new IllegalStateException("Connection refused"));
+
+        assertDoesNotThrow(() -> warmup.run(null));
+
+        verify(patientService, never()).findById(anyLong());
+    }
+
+    @Test
+    void run_WhenDisabled_ShouldDoNothing() {
+        properties.setEnabled(false);
+
+        warmup.run(null);
+
+        verifyNoInteractions(dataSource, patientService, patientStatsService);
+    }
+
+    private static PageResponse<PatientDto> page(PatientDto... patients) {
+        return new PageResponse<>(List.of(patients), 0, 20, patients.length, 1, true, true);
+    }
+
+    private static PatientDto patient(Long id) {
+        LocalDateTime now = LocalDateTime.now();
+        return new PatientDto(id, "John", "Doe", "123 Main St", "New York", "NY", "10001", "+1234567890",
+                "john.doe@example.com", now, now);
+    }
+}
@@ -0,0 +1,131 @@
+package io.github.rizanmusthafa.patient_service.service.impl;
+
+import io.github.rizanmusthafa.patient_service.config.AsyncPatchProperties;
+import io.github.rizanmusthafa.patient_service.dto.PatchQueueStatus;
+import io.github.rizanmusthafa.patient_service.dto.PatientDto;
+import io.github.rizanmusthafa.patient_service.exception.PatchQueueFullException;
+import io.github.rizanmusthafa.patient_service.service.PatientService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class WriteBehindPatientPatchQueueTest {
+
+    @Mock
+    private PatientService patientService;
+
+    private AsyncPatchProperties properties;
+    private WriteBehindPatientPatchQueue queue;
+
+    @BeforeEach
+    void setUp() {
+        properties = new AsyncPatchProperties();
+        properties.setEnabled(true);
+        properties.setCapacity(2);
+        properties.setBatchSize(10);
+        queue = new WriteBehindPatientPatchQueue(patientService, properties);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_ShouldCoalescePatchesForSamePatient() {
+        queue.enqueue(1L, patch("Boston", null));
+        queue.enqueue(1L, patch(null, "MA"));
+        queue.enqueue(1L, patch("Cambridge", null));
+        when(patientService.patchAll(anyMap())).thenReturn(1);
+
+        queue.flush();
+
+        ArgumentCaptor<Map<Long, PatientDto>> batch = ArgumentCaptor.forClass(Map.class);
+        verify(patientService).patchAll(batch.capture());
+        assertEquals(1, batch.getValue().size());
+        assertEquals("Cambridge", batch.getValue().get(1L).getCity());
+        assertEquals("MA", batch.getValue().get(1L).getState());
+
+        PatchQueueStatus status = queue.status();
+        assertEquals(0, status.getPending());
+        assertEquals(1L, status.getFlushed());
+        assertNotNull(status.getLastFlushAt());
+    }
+
+    @Test
+    void enqueue_WhenFull_ShouldRejectNewPatientsButAcceptQueuedOnes() {
+        queue.enqueue(1L, patch("Boston", null));
+        queue.enqueue(2L, patch("Denver", null));
+
+        assertThrows(PatchQueueFullException.class, () -> queue.enqueue(3L, patch("Austin", null)));
+        assertDoesNotThrow(() -> queue.enqueue(2L, patch(null, "CO")));
+        assertEquals(2, queue.status().getPending());
+    }
+
+    @Test
+    void flush_WhenBatchFails_ShouldRetryIndividuallyAndDropRejectedPatches() {
+        queue.enqueue(1L, patch("Boston", null));
+        queue.enqueue(2L, patch("Denver", null));
+        when(patientService.patchAll(anyMap())).thenAnswer(invocation -> {
+            Map<Long, PatientDto> batch = invocation.getArgument(0);
+            if (batch.size() > 1) {
+                throw new IllegalStateException("constraint violation");
+            }
+            if (batch.containsKey(2L)) {
+                throw new IllegalStateException("rejected");
+            }
+            return 1;
+        });
+
+        queue.flush();
+
+        PatchQueueStatus status = queue.status();
+        assertEquals(0, status.getPending());
+        assertEquals(1L, status.getFlushed());
+        assertEquals(1L, status.getDropped());
+        assertEquals(1L, status.getFailedBatches());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void flush_ShouldStampPatchesWithTheTimeTheFirstWasAccepted() {
+        LocalDateTime before = LocalDateTime.now();
+        queue.enqueue(1L, patch("Boston", null));
+        queue.enqueue(1L, patch(null, "MA"));
+        when(patientService.patchAll(anyMap())).thenReturn(1);
+
+        queue.flush();
+
+        ArgumentCaptor<Map<Long, PatientDto>> batch = ArgumentCaptor.forClass(Map.class);
+        verify(patientService).patchAll(batch.capture());
+        LocalDateTime acceptedAt = batch.getValue().get(1L).getUpdatedAt();
+        assertNotNull(acceptedAt);
+        assertFalse(acceptedAt.isBefore(before));
+    }
+
+    @Test
+    void discard_ShouldDropThePendingPatchSoItIsNeverWritten() {
+        queue.enqueue(1L, patch("Boston", null));
+
+        queue.discard(1L);
+        queue.flush();
+
+        verify(patientService, never()).patchAll(anyMap());
+        assertEquals(0, queue.status().getPending());
+        assertEquals(1L, queue.status().getDropped());
+    }
+
+    private PatientDto patch(String city, String state) {
+        PatientDto dto = new PatientDto();
+        dto.setCity(city);
+        dto.setState(state);
+        return dto;
+    }
+}
@@ -0,0 +1,112 @@
+package io.github.rizanmusthafa.patient_service.tracing;
+
+import io.github.rizanmusthafa.patient_service.config.TracingProperties;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.micrometer.tracing.handler.DefaultTracingObservationHandler;
+import io.micrometer.tracing.otel.bridge.OtelCurrentTraceContext;
+import io.micrometer.tracing.otel.bridge.OtelTracer;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SimpleSpanProcessor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@ExtendWith(OutputCaptureExtension.class)
+class SlowObservationLoggerTest {
+
+    private static final String SQL = "select p.id from patients p where p.id = ?";
+
+    private final InMemorySpanExporter spanExporter = InMemorySpanExporter.create();
+    private final SdkTracerProvider tracerProvider = SdkTracerProvider.builder()
+            .addSpanProcessor(SimpleSpanProcessor.create(spanExporter))
+            .build();
+
+    @AfterEach
+    void tearDown() {
+        tracerProvider.close();
+    }
+
+    @Test
+    void onStop_WhenQueryExceedsThreshold_ShouldLogSqlWithTraceId(CapturedOutput output) {
+        ObservationRegistry registry = registry(Duration.ZERO);
+
+        Observation.createNotStarted(SlowObservationLogger.JDBC_QUERY, registry)
+                .highCardinalityKeyValue("jdbc.query[0]", SQL)
+                .highCardinalityKeyValue("jdbc.row-affected", "1")
+                .observe(() -> {
+                });
+
+        SpanData span = spanExporter.getFinishedSpanItems().get(0);
+        assertTrue(output.getOut().contains("slow_operation name=jdbc.query"));
+        assertTrue(output.getOut().contains("trace_id=" + span.getTraceId()));
+        assertTrue(output.getOut().contains("jdbc.query[0]=\"" + SQL + "\""));
+        assertTrue(output.getOut().contains("jdbc.row-affected=\"1\""));
+    }
+
+    @Test
+    void onStop_ForNestedRequestServiceAndQuery_ShouldLogAllWithOneTraceId(CapturedOutput output) {
+        ObservationRegistry registry = registry(Duration.ZERO);
+
+        Observation request = Observation.start(SlowObservationLogger.HTTP_SERVER_REQUESTS, registry);
+        try (Observation.Scope scope = request.openScope()) {
+            Observation.createNotStarted(SlowObservationLogger.PATIENT_SERVICE, registry)
+                    .observe(() -> Observation.createNotStarted(SlowObservationLogger.JDBC_QUERY, registry)
+                            .observe(() -> {
+                            }));
+        }
+        request.stop();
+
+        List<SpanData> spans = spanExporter.getFinishedSpanItems();
+        assertEquals(3, spans.size());
+        String traceId = spans.get(0).getTraceId();
+        assertTrue(spans.stream().allMatch(span -> traceId.equals(span.getTraceId())));
+        assertEquals(3, output.getOut().split("trace_id=" + traceId, -1).length - 1);
+    }
+
+    @Test
+    void onStop_WhenBelowThreshold_ShouldNotLog(CapturedOutput output) {
+        ObservationRegistry registry = registry(Duration.ofHours(1));
+
+        Observation.createNotStarted(SlowObservationLogger.HTTP_SERVER_REQUESTS, registry).observe(() -> {
+        });
+
+        assertEquals(1, spanExporter.getFinishedSpanItems().size());
+        assertFalse(output.getOut().contains("slow_operation"));
+    }
+
+    @Test
+    void onStop_ForUntimedObservation_ShouldNotLog(CapturedOutput output) {
+        ObservationRegistry registry = registry(Duration.ZERO);
+
+        Observation.createNotStarted("patient.jobs.chunk", registry).observe(() -> {
+        });
+
+        assertFalse(output.getOut().contains("slow_operation"));
+    }
+
+    private ObservationRegistry registry(Duration threshold) {
+        TracingProperties properties = new TracingProperties();
+        properties.setSlowRequestThreshold(threshold);
+        properties.setSlowServiceThreshold(threshold);
+        properties.setSlowQueryThreshold(threshold);
+
+        OtelTracer tracer = new OtelTracer(tracerProvider.get("patient-service-test"), new OtelCurrentTraceContext(),
+                event -> {
+                });
+        ObservationRegistry registry = ObservationRegistry.create();
+        registry.observationConfig()
+                .observationHandler(new DefaultTracingObservationHandler(tracer))
+                .observationHandler(new SlowObservationLogger(properties));
+        return registry;
+    }
+}
@@ -0,0 +1,112 @@
+package io.github.rizanmusthafa.patient_service.validation;
+
+import io.github.rizanmusthafa.patient_service.dto.ItemValidationError;
+import io.github.rizanmusthafa.patient_service.dto.PatientDto;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PatientDtoValidatorTest {
+
+    private final Validator beanValidator = Validation.buildDefaultValidatorFactory().getValidator();
+    private final PatientDtoValidator validator = new PatientDtoValidator(beanValidator);
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "", "john.doe@example.com", "a@b", "a+tag@sub.example.co.uk", "o'brien@example.com",
+            "first.last@ex-ample.com", "x@1.2.3.4", "user@[192.168.0.1]", "\"quoted local\"@example.com",
+            "jöhn@exämple.com", "plainaddress", "@example.com", "john@", "john..doe@example.com",
+            ".john@example.com", "john.@example.com", "john@-example.com", "john@example-.com",
+            "john@example..com", "john@example.com.", "john doe@example.com", "john@exa mple.com",
+            "john@@example.com", "a@b@example.com", "john@example_domain.com", " ",
+            "aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa@example.com",
+            "john@aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa.com"
+    })
+    void validate_EmailMatchesBeanValidation(String email) {
+        PatientDto dto = patient("John", "Doe", "555", email);
+
+        assertEquals(beanValidationMessages(dto), messages(dto));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", " ", "\t\n", " x ", "\u00A0", "\u2003x"})
+    void validate_BlankChecksMatchBeanValidation(String value) {
+        PatientDto dto = patient(value, value, value, null);
+
+        assertEquals(beanValidationMessages(dto), messages(dto));
+    }
+
+    @Test
+    void validate_ReportsAllViolationsOfAnItem() {
+        PatientDto dto = patient(null, " ", null, null);
+        List<String> fields = new ArrayList<>();
+
+        int violations = validator.validate(dto, 0, (index, field, message) -> fields.add(field));
+
+        assertEquals(3, violations);
+        assertEquals(Arrays.asList("firstName", "lastName", null), fields);
+    }
+
+    @Test
+    void validate_NullItem_IsRejected() {
+        List<ItemValidationError> errors = validator.validateAll(Arrays.asList(patient("A", "B", "1", null), null));
+
+        assertEquals(List.of(new ItemValidationError(1, null, PatientDtoValidator.PATIENT_REQUIRED)), errors);
+    }
+
+    @Test
+    void validateAll_LargeList_ReportsErrorsInIndexOrder() {
+        int size = PatientDtoValidator.PARALLEL_THRESHOLD * 3;
+        List<PatientDto> dtos = IntStream.range(0, size)
+                .mapToObj(i -> i % 1000 == 7 ? patient("A", "", null, "bad") : patient("A", "B", "1", "a@b.c"))
+                .collect(Collectors.toList());
+
+        List<ItemValidationError> errors = validator.validateAll(dtos);
+
+        List<Integer> expected = IntStream.range(0, size).filter(i -> i % 1000 == 7).boxed().toList();
+        List<Integer> reported = errors.stream().map(ItemValidationError::getIndex).distinct().toList();
+        assertEquals(expected, reported);
+        assertEquals(expected.size() * 2, errors.size());
+        assertEquals(errors.stream().sorted(Comparator.comparingInt(ItemValidationError::getIndex)).toList(), errors);
+    }
+
+    @Test
+    void validateAll_AllValid_ReturnsEmpty() {
+        assertTrue(validator.validateAll(List.of(patient("A", "B", "1", null), patient("C", "D", null, "c@d"))).isEmpty());
+    }
+
+    private Set<String> messages(PatientDto dto) {
+        Set<String> messages = new HashSet<>();
+        validator.validate(dto, 0, (index, field, message) -> messages.add(message));
+        return messages;
+    }
+
+    private Set<String> beanValidationMessages(PatientDto dto) {
+        return beanValidator.validate(dto).stream()
+                .map(ConstraintViolation::getMessage)
+                .collect(Collectors.toSet());
+    }
+
+    private static PatientDto patient(String firstName, String lastName, String phoneNumber, String email) {
+        PatientDto dto = new PatientDto();
+        dto.setFirstName(firstName);
+        dto.setLastName(lastName);
+        dto.setPhoneNumber(phoneNumber);
+        dto.setEmail(email);
+        return dto;
+    }
+}